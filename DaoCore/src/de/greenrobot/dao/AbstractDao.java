@@ -18,7 +18,13 @@ package de.greenrobot.dao;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import android.database.CrossProcessCursor;
 import android.database.Cursor;
@@ -48,6 +54,9 @@ public abstract class AbstractDao<T, K> {
 
     protected final AbstractDaoSession session;
     protected final int pkOrdinal;
+    protected final ChangeTracker changeTracker;
+
+    private volatile boolean multiRowInsert;
 
     public AbstractDao(DaoConfig config) {
         this(config, null);
@@ -64,12 +73,26 @@ public abstract class AbstractDao<T, K> {
         }
         statements = config.statements;
         pkOrdinal = config.pkProperty != null ? config.pkProperty.ordinal : -1;
+        changeTracker = ChangeTracker.forDatabase(db);
     }
 
     public AbstractDaoSession getSession() {
         return session;
     }
 
+    /** Gets the tracker of changes to the database used by this DAO, which also manages query observations. */
+    public ChangeTracker getChangeTracker() {
+        return changeTracker;
+    }
+
+    /**
+     * Marks the table of this DAO as changed, so observed queries reading it get refreshed. Inside a transaction, this
+     * takes effect after the outermost transaction ended (see {@link ChangeTracker}).
+     */
+    protected void notifyTableChanged() {
+        changeTracker.notifyTableChanged(db, config.tablename);
+    }
+
     TableStatements getStatements() {
         return config.statements;
     }
@@ -98,6 +121,23 @@ public abstract class AbstractDao<T, K> {
         return config.nonPkColumns;
     }
 
+    /**
+     * Enables multi-row INSERT statements ("VALUES (...),(...),...") for insertInTx and insertOrReplaceInTx, which
+     * insert hundreds of entities per statement. Requires SQLite 3.7.11 or newer (Android 4.1), thus disabled by
+     * default.<br/>
+     * <br/>
+     * To set PKs after inserting, greenDAO relies on SQLite assigning consecutive row IDs to the rows of a single
+     * statement. If this cannot be guaranteed for a batch (e.g. some entities have a PK and some don't, or when
+     * replacing), the entities of the batch are inserted one by one.
+     */
+    public void setMultiRowInsertEnabled(boolean multiRowInsert) {
+        this.multiRowInsert = multiRowInsert;
+    }
+
+    public boolean isMultiRowInsertEnabled() {
+        return multiRowInsert;
+    }
+
     /**
      * Loads and entity for the given PK.
      * 
@@ -122,9 +162,136 @@ public abstract class AbstractDao<T, K> {
         return loadUniqueAndCloseCursor(cursor);
     }
 
+    /**
+     * Loads an entity for the given numeric PK. Unlike {@link #load(Object)}, the key is neither boxed nor converted to
+     * a String, which makes this the preferred method for entities with Long PKs.
+     * 
+     * @param key
+     *            a PK value
+     * @return The entity or null, if no entity matched the PK value
+     */
+    public T load(long key) {
+        assertSinglePk();
+        if (!config.keyIsNumeric) {
+            throw new DaoException(this + " (" + config.tablename + ") does not have a numeric primary key");
+        }
+        if (identityScopeLong != null) {
+            T entity = identityScopeLong.get2(key);
+            if (entity != null) {
+                return entity;
+            }
+        }
+        return rawQueryUniqueByLong(statements.getSelectByKey(), key);
+    }
+
+    /**
+     * Loads the entities for the given PKs. Entities already present in the identity scope are not queried again; the
+     * others are loaded using queries with up to 999 keys each ("WHERE pk IN (?,?,...)").
+     * 
+     * @param keys
+     *            PK values; null values are ignored
+     * @return The entities in the order of the given keys; keys without a matching entity are skipped
+     */
+    public List<T> loadByKeys(Collection<K> keys) {
+        Map<K, T> entities = loadByKeysInternal(keys);
+        List<T> list = new ArrayList<T>(entities.size());
+        for (K key : keys) {
+            T entity = entities.get(key);
+            if (entity != null) {
+                list.add(entity);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Like {@link #loadByKeys(Collection)}, but returns a map from PK to entity.
+     * 
+     * @return The entities mapped by their PKs in the order of the given keys; keys without a matching entity are not
+     *         contained
+     */
+    public Map<K, T> loadByKeysAsMap(Collection<K> keys) {
+        Map<K, T> entities = loadByKeysInternal(keys);
+        Map<K, T> map = new LinkedHashMap<K, T>(entities.size() * 4 / 3 + 1);
+        for (K key : keys) {
+            T entity = entities.get(key);
+            if (entity != null) {
+                map.put(key, entity);
+            }
+        }
+        return map;
+    }
+
+    private Map<K, T> loadByKeysInternal(Collection<K> keys) {
+        assertSinglePk();
+        Map<K, T> entities = new HashMap<K, T>(keys.size() * 4 / 3 + 1);
+        Set<K> missingKeys = new LinkedHashSet<K>();
+        for (K key : keys) {
+            if (key == null || entities.containsKey(key)) {
+                continue;
+            }
+            T entity = null;
+            if (identityScopeLong != null) {
+                entity = identityScopeLong.get2((Long) key);
+            } else if (identityScope != null) {
+                entity = identityScope.get(key);
+            }
+            if (entity != null) {
+                entities.put(key, entity);
+            } else {
+                missingKeys.add(key);
+            }
+        }
+
+        int chunkSize = SqlUtils.MAX_VARIABLE_NUMBER;
+        List<K> chunk = new ArrayList<K>(Math.min(missingKeys.size(), chunkSize));
+        for (K key : missingKeys) {
+            chunk.add(key);
+            if (chunk.size() == chunkSize) {
+                loadByKeysChunk(chunk, entities);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            loadByKeysChunk(chunk, entities);
+        }
+        return entities;
+    }
+
+    /** Loads the given keys with a single query; Long keys are bound natively, others as Strings. */
+    private void loadByKeysChunk(List<K> keys, Map<K, T> entities) {
+        int count = keys.size();
+        String sql = statements.getSelectByKeys(count);
+        Cursor cursor;
+        if (keys.get(0) instanceof Long) {
+            long[] args = new long[count];
+            for (int i = 0; i < count; i++) {
+                args[i] = (Long) keys.get(i);
+            }
+            cursor = db.rawQueryWithFactory(new LongArgCursorFactory(args), sql, null, null);
+        } else {
+            String[] args = new String[count];
+            for (int i = 0; i < count; i++) {
+                args[i] = keys.get(i).toString();
+            }
+            cursor = db.rawQuery(sql, args);
+        }
+        List<T> loaded = loadAllAndCloseCursor(cursor);
+        for (T entity : loaded) {
+            entities.put(getKey(entity), entity);
+        }
+    }
+
     public T loadByRowId(long rowId) {
-        String[] idArray = new String[] { Long.toString(rowId) };
-        Cursor cursor = db.rawQuery(statements.getSelectByRowId(), idArray);
+        return rawQueryUniqueByLong(statements.getSelectByRowId(), rowId);
+    }
+
+    /**
+     * Runs the given SQL having a single long parameter. The SQL string should be constant (e.g. from
+     * {@link TableStatements}), so SQLite's per-connection statement cache can skip parsing it again.
+     */
+    private T rawQueryUniqueByLong(String sql, long arg) {
+        Cursor cursor = db.rawQueryWithFactory(new LongArgCursorFactory(arg), sql, null, null);
         return loadUniqueAndCloseCursor(cursor);
     }
 
@@ -162,6 +329,27 @@ public abstract class AbstractDao<T, K> {
         }
     }
 
+    /** Reads all keys of the given cursor, which must select the PK as its only column; it is closed afterwards. */
+    protected List<K> loadKeysAndCloseCursor(Cursor keyCursor) {
+        try {
+            List<K> keys = new ArrayList<K>(keyCursor.getCount());
+            while (keyCursor.moveToNext()) {
+                // readKey expects the PK at offset + pkOrdinal, but it is the first and only column here
+                keys.add(readKey(keyCursor, -pkOrdinal));
+            }
+            return keys;
+        } finally {
+            keyCursor.close();
+        }
+    }
+
+    /** Removes the entities with the given keys from the identity scope (if any) in a single locked pass. */
+    protected void detachKeys(List<K> keys) {
+        if (identityScope != null) {
+            identityScope.remove(keys);
+        }
+    }
+
     protected List<T> loadAllAndCloseCursor(Cursor cursor) {
         try {
             return loadAllFromCursor(cursor);
@@ -170,6 +358,68 @@ public abstract class AbstractDao<T, K> {
         }
     }
 
+    /**
+     * Returns the SELECT (with a trailing space) joining all to-one relations with LEFT JOINs, or null if the entity
+     * has no to-one relations. DAOs generated for entities with to-one relations override this.
+     */
+    protected String getSelectDeep() {
+        return null;
+    }
+
+    /** Returns the tables of the to-one targets joined by {@link #getSelectDeep()}; DAOs overriding it override this. */
+    protected String[] getDeepTablenames() {
+        return new String[0];
+    }
+
+    /** Loads the entity and its to-one relations from the current row of a cursor using {@link #getSelectDeep()}. */
+    protected T loadCurrentDeep(Cursor cursor, boolean lock) {
+        throw new DaoException(this + " (" + config.tablename + ") does not support deep loading");
+    }
+
+    /** Reads all available rows of a cursor using {@link #getSelectDeep()}, including the to-one relations. */
+    public List<T> loadAllDeepFromCursor(Cursor cursor) {
+        int count = cursor.getCount();
+        List<T> list = new ArrayList<T>(count);
+        if (cursor.moveToFirst()) {
+            if (identityScope != null) {
+                identityScope.lock();
+                identityScope.reserveRoom(count);
+            }
+            try {
+                do {
+                    list.add(loadCurrentDeep(cursor, false));
+                } while (cursor.moveToNext());
+            } finally {
+                if (identityScope != null) {
+                    identityScope.unlock();
+                }
+            }
+        }
+        return list;
+    }
+
+    protected List<T> loadDeepAllAndCloseCursor(Cursor cursor) {
+        try {
+            return loadAllDeepFromCursor(cursor);
+        } finally {
+            cursor.close();
+        }
+    }
+
+    protected T loadDeepUniqueAndCloseCursor(Cursor cursor) {
+        try {
+            boolean available = cursor.moveToFirst();
+            if (!available) {
+                return null;
+            } else if (!cursor.isLast()) {
+                throw new DaoException("Expected unique result, but count was " + cursor.getCount());
+            }
+            return loadCurrentDeep(cursor, true);
+        } finally {
+            cursor.close();
+        }
+    }
+
     /**
      * Inserts the given entities in the database using a transaction.
      * 
@@ -201,7 +451,12 @@ public abstract class AbstractDao<T, K> {
      */
     public void insertInTx(Iterable<T> entities, boolean setPrimaryKey) {
         SQLiteStatement stmt = statements.getInsertStatement();
-        executeInsertInTx(stmt, entities, setPrimaryKey);
+        if (multiRowInsert && statements.getMultiRowInsertCount() > 1) {
+            SQLiteStatement multiRowStmt = statements.getMultiRowInsertStatement();
+            executeMultiRowInsertInTx(multiRowStmt, stmt, entities, setPrimaryKey, false);
+        } else {
+            executeInsertInTx(stmt, entities, setPrimaryKey);
+        }
     }
 
     /**
@@ -215,7 +470,12 @@ public abstract class AbstractDao<T, K> {
      */
     public void insertOrReplaceInTx(Iterable<T> entities, boolean setPrimaryKey) {
         SQLiteStatement stmt = statements.getInsertOrReplaceStatement();
-        executeInsertInTx(stmt, entities, setPrimaryKey);
+        if (multiRowInsert && statements.getMultiRowInsertCount() > 1) {
+            SQLiteStatement multiRowStmt = statements.getMultiRowInsertOrReplaceStatement();
+            executeMultiRowInsertInTx(multiRowStmt, stmt, entities, setPrimaryKey, true);
+        } else {
+            executeInsertInTx(stmt, entities, setPrimaryKey);
+        }
     }
 
     /**
@@ -247,13 +507,7 @@ public abstract class AbstractDao<T, K> {
                 }
                 try {
                     for (T entity : entities) {
-                        bindValues(stmt, entity);
-                        if (setPrimaryKey) {
-                            long rowId = stmt.executeInsert();
-                            updateKeyAfterInsertAndAttach(entity, rowId, false);
-                        } else {
-                            stmt.execute();
-                        }
+                        insertInsideTx(stmt, entity, setPrimaryKey);
                     }
                 } finally {
                     if (identityScope != null) {
@@ -265,6 +519,109 @@ public abstract class AbstractDao<T, K> {
                 db.endTransaction();
             }
         }
+        notifyTableChanged();
+    }
+
+    private void executeMultiRowInsertInTx(SQLiteStatement multiRowStmt, SQLiteStatement stmt, Iterable<T> entities,
+            boolean setPrimaryKey, boolean replace) {
+        int rowCount = statements.getMultiRowInsertCount();
+        List<T> rows = new ArrayList<T>(rowCount);
+        synchronized (multiRowStmt) {
+            synchronized (stmt) {
+                db.beginTransaction();
+                try {
+                    if (identityScope != null) {
+                        identityScope.lock();
+                    }
+                    try {
+                        for (T entity : entities) {
+                            rows.add(entity);
+                            if (rows.size() == rowCount) {
+                                insertRowsInsideTx(multiRowStmt, stmt, rows, setPrimaryKey, replace);
+                                rows.clear();
+                            }
+                        }
+                        // Remainder does not fill a multi-row statement
+                        for (T entity : rows) {
+                            insertInsideTx(stmt, entity, setPrimaryKey);
+                        }
+                    } finally {
+                        if (identityScope != null) {
+                            identityScope.unlock();
+                        }
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+            }
+        }
+        notifyTableChanged();
+    }
+
+    private void insertInsideTx(SQLiteStatement stmt, T entity, boolean setPrimaryKey) {
+        bindValues(stmt, entity);
+        if (setPrimaryKey) {
+            long rowId = stmt.executeInsert();
+            updateKeyAfterInsertAndAttach(entity, rowId, false);
+        } else {
+            stmt.execute();
+        }
+    }
+
+    /** Inserts a full batch of rows with one statement; identity scope must be locked by the caller. */
+    private void insertRowsInsideTx(SQLiteStatement multiRowStmt, SQLiteStatement stmt, List<T> rows,
+            boolean setPrimaryKey, boolean replace) {
+        if (setPrimaryKey && !canDeriveRowIds(rows, replace)) {
+            for (T entity : rows) {
+                insertInsideTx(stmt, entity, true);
+            }
+            return;
+        }
+        multiRowStmt.clearBindings();
+        int columnCount = config.allColumns.length;
+        int offset = 0;
+        for (T entity : rows) {
+            bindValues(multiRowStmt, entity, offset);
+            offset += columnCount;
+        }
+        if (setPrimaryKey) {
+            long lastRowId = multiRowStmt.executeInsert();
+            int size = rows.size();
+            for (int i = 0; i < size; i++) {
+                T entity = rows.get(i);
+                K key = getKey(entity);
+                long rowId;
+                if (key == null) {
+                    rowId = lastRowId != -1 ? lastRowId - (size - 1 - i) : -1;
+                } else if (key instanceof Long) {
+                    rowId = (Long) key;
+                } else {
+                    // Not used by updateKeyAfterInsert for non-Long PKs
+                    rowId = lastRowId;
+                }
+                updateKeyAfterInsertAndAttach(entity, rowId, false);
+            }
+        } else {
+            multiRowStmt.execute();
+        }
+    }
+
+    /**
+     * Row IDs of a multi-row insert are known if all entities bring their PK, or if none does and rows are not
+     * replaced (SQLite assigns consecutive row IDs in that case).
+     */
+    private boolean canDeriveRowIds(List<T> rows, boolean replace) {
+        boolean hasKey = false;
+        boolean hasNoKey = false;
+        for (T entity : rows) {
+            if (getKey(entity) != null) {
+                hasKey = true;
+            } else {
+                hasNoKey = true;
+            }
+        }
+        return !hasNoKey || (!hasKey && !replace);
     }
 
     /**
@@ -284,10 +641,13 @@ public abstract class AbstractDao<T, K> {
      */
     public long insertWithoutSettingPk(T entity) {
         SQLiteStatement stmt = statements.getInsertStatement();
+        long rowId;
         synchronized (stmt) {
             bindValues(stmt, entity);
-            return stmt.executeInsert();
+            rowId = stmt.executeInsert();
         }
+        notifyTableChanged();
+        return rowId;
     }
 
     /**
@@ -305,6 +665,7 @@ public abstract class AbstractDao<T, K> {
             bindValues(stmt, entity);
             rowId = stmt.executeInsert();
         }
+        notifyTableChanged();
         updateKeyAfterInsertAndAttach(entity, rowId, true);
         return rowId;
     }
@@ -427,6 +788,7 @@ public abstract class AbstractDao<T, K> {
         // db.execSQL(sql);
 
         db.execSQL("DELETE FROM '" + config.tablename + "'");
+        notifyTableChanged();
         if (identityScope != null) {
             identityScope.clear();
         }
@@ -449,68 +811,112 @@ public abstract class AbstractDao<T, K> {
         synchronized (stmt) {
             deleteByKeyInsideSynchronized(key, stmt);
         }
+        notifyTableChanged();
         if (identityScope != null) {
             identityScope.remove(key);
         }
     }
 
     private void deleteByKeyInsideSynchronized(K key, SQLiteStatement stmt) {
+        bindKey(stmt, 1, key);
+        stmt.execute();
+    }
+
+    private void bindKey(SQLiteStatement stmt, int index, K key) {
         if (key instanceof Long) {
-            stmt.bindLong(1, (Long) key);
+            stmt.bindLong(index, (Long) key);
         } else {
-            stmt.bindString(1, key.toString());
+            stmt.bindString(index, key.toString());
         }
-        stmt.execute();
     }
 
     /**
-     * Deletes the given entities in the database using a transaction.
+     * Deletes the given entities in the database using a transaction. Rows are deleted in chunks of up to 999 keys per
+     * statement ("WHERE pk IN (?,?,...)").
      * 
      * @param entities
      *            The entities to delete.
      */
     public void deleteInTx(Iterable<T> entities) {
         assertSinglePk();
-        SQLiteStatement stmt = statements.getDeleteStatement();
-        synchronized (stmt) {
+        List<K> keys = new ArrayList<K>();
+        for (T entity : entities) {
+            keys.add(getKeyVerified(entity));
+        }
+        executeDeleteInTx(keys);
+    }
+
+    /**
+     * Deletes the given entities in the database using a transaction.
+     * 
+     * @param entities
+     *            The entities to delete.
+     */
+    public void deleteInTx(T... entities) {
+        deleteInTx(Arrays.asList(entities));
+    }
+
+    /**
+     * Deletes all entities with the given PKs in the database using a transaction. Rows are deleted in chunks of up to
+     * 999 keys per statement ("WHERE pk IN (?,?,...)").
+     * 
+     * @param keys
+     *            Keys of the entities to delete.
+     */
+    public void deleteByKeyInTx(Iterable<K> keys) {
+        assertSinglePk();
+        List<K> keyList = new ArrayList<K>();
+        for (K key : keys) {
+            if (key == null) {
+                throw new DaoException("Keys may not be null");
+            }
+            keyList.add(key);
+        }
+        executeDeleteInTx(keyList);
+    }
+
+    private void executeDeleteInTx(List<K> keys) {
+        int size = keys.size();
+        if (size == 0) {
+            return;
+        }
+        SQLiteStatement inStmt = statements.getDeleteInStatement();
+        int chunkSize = statements.getDeleteInCount();
+        synchronized (inStmt) {
             db.beginTransaction();
             try {
-                List<K> keysToRemoveFromIdentityScope = null;
-                if (identityScope != null) {
-                    identityScope.lock();
-                    keysToRemoveFromIdentityScope = new ArrayList<K>();
+                int index = 0;
+                for (; index + chunkSize <= size; index += chunkSize) {
+                    deleteChunkInsideSynchronized(inStmt, keys, index, chunkSize);
                 }
-                try {
-                    for (T entity : entities) {
-                        K key = getKeyVerified(entity);
-                        deleteByKeyInsideSynchronized(key, stmt);
-                        if (keysToRemoveFromIdentityScope != null) {
-                            keysToRemoveFromIdentityScope.add(key);
-                        }
-                    }
-                } finally {
-                    if (identityScope != null) {
-                        identityScope.unlock();
+                int remaining = size - index;
+                if (remaining == 1) {
+                    SQLiteStatement stmt = statements.getDeleteStatement();
+                    synchronized (stmt) {
+                        deleteByKeyInsideSynchronized(keys.get(index), stmt);
                     }
+                } else if (remaining > 1) {
+                    // Unused placeholders of the cached statement stay NULL, which never matches in IN (...)
+                    deleteChunkInsideSynchronized(inStmt, keys, index, remaining);
                 }
                 db.setTransactionSuccessful();
-                if (keysToRemoveFromIdentityScope != null && identityScope != null) {
-                    identityScope.remove(keysToRemoveFromIdentityScope);
+                if (identityScope != null) {
+                    identityScope.remove(keys);
                 }
             } finally {
                 db.endTransaction();
             }
         }
+        notifyTableChanged();
     }
 
-    /**
-     * Deletes the given entities in the database using a transaction.
-     * 
-     * @param entities
-     *            The entities to delete.
-     */
-    public void deleteInTx(T... entities) {
-        deleteInTx(Arrays.asList(entities));
+    /** Binds count keys starting at offset; clearing the bindings before sets the remaining placeholders to NULL. */
+    private void deleteChunkInsideSynchronized(SQLiteStatement stmt, List<K> keys, int offset, int count) {
+        stmt.clearBindings();
+        for (int i = 0; i < count; i++) {
+            bindKey(stmt, i + 1, keys.get(offset + i));
+        }
+        stmt.execute();
     }
 
     /** Resets all locally changed properties of the entity by reloading the values from the database. */
@@ -541,22 +947,45 @@ public abstract class AbstractDao<T, K> {
         synchronized (stmt) {
             updateInsideSynchronized(entity, stmt, true);
         }
+        notifyTableChanged();
     }
 
     public QueryBuilder<T> queryBuilder() {
         return new QueryBuilder<T>(this);
     }
 
+    /**
+     * Resolves the given to-many relation for all given entities at once: the targets are loaded with IN queries (in
+     * chunks) instead of one query per entity, grouped by their reference, and set in the entities, so the generated
+     * getters do not query anymore. Relations are available in the ToManyRelations class of the generated DAO.
+     */
+    public void resolveToMany(List<T> entities, ToManyRelation<T, ?> relation) {
+        resolveRelation(entities, relation);
+    }
+
+    /**
+     * Resolves the given to-one relation for all given entities at once: the distinct FK values are collected, targets
+     * already in the target DAO's identity scope are reused, and the others are loaded with IN queries (in chunks). The
+     * targets are set in the entities, so the generated getters do not load them again. This is an alternative to deep
+     * loading (loadDeep and queryDeep), which joins all target columns into each row. Relations are available in the
+     * ToOneRelations class of the generated DAO; call this once per relation to resolve.
+     */
+    public void resolveToOne(List<T> entities, ToOneRelation<T, ?> relation) {
+        resolveRelation(entities, relation);
+    }
+
+    void resolveRelation(List<T> entities, AbstractRelation<T, ?> relation) {
+        if (session == null) {
+            throw new DaoException("Resolving relations requires a DAO session");
+        }
+        relation.resolve(session, entities);
+    }
+
     protected void updateInsideSynchronized(T entity, SQLiteStatement stmt, boolean lock) {
         // To do? Check if it's worth not to bind PKs here (performance).
         bindValues(stmt, entity);
-        int index = config.allColumns.length + 1;
         K key = getKey(entity);
-        if (key instanceof Long) {
-            stmt.bindLong(index, (Long) key);
-        } else {
-            stmt.bindString(index, key.toString());
-        }
+        bindKey(stmt, config.allColumns.length + 1, key);
         stmt.execute();
         attachEntity(key, entity, lock);
     }
@@ -617,6 +1046,7 @@ public abstract class AbstractDao<T, K> {
                 db.endTransaction();
             }
         }
+        notifyTableChanged();
     }
 
     /**
@@ -668,7 +1098,22 @@ public abstract class AbstractDao<T, K> {
     abstract protected void readEntity(Cursor cursor, T entity, int offset);
 
     /** Binds the entity's values to the statement. Make sure to synchronize the statement outside of the method. */
-    abstract protected void bindValues(SQLiteStatement stmt, T entity);
+    protected void bindValues(SQLiteStatement stmt, T entity) {
+        stmt.clearBindings();
+        bindValues(stmt, entity, 0);
+    }
+
+    /**
+     * Binds the entity's values to the statement starting after the given parameter offset (used for multi-row
+     * statements). Unlike {@link #bindValues(SQLiteStatement, Object)}, this does not clear existing bindings. Make
+     * sure to synchronize the statement outside of the method.<br/>
+     * DAOs generated before multi-row inserts existed override only {@link #bindValues(SQLiteStatement, Object)}; for
+     * those, this default throws, so do not enable multi-row inserts for them.
+     */
+    protected void bindValues(SQLiteStatement stmt, T entity, int offset) {
+        throw new DaoException(this + " (" + config.tablename
+                + ") does not support binding with an offset; regenerate the DAO to use multi-row inserts");
+    }
 
     /**
      * Updates the entity's key if possible (only for Long PKs currently). This method must always return the entity's
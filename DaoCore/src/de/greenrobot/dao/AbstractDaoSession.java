@@ -44,10 +44,12 @@ import android.database.sqlite.SQLiteDatabase;
 public class AbstractDaoSession {
     private final SQLiteDatabase db;
     private final Map<Class<?>, AbstractDao<?, ?>> entityToDao;
+    private final ChangeTracker changeTracker;
 
     public AbstractDaoSession(SQLiteDatabase db) {
         this.db = db;
         this.entityToDao = new HashMap<Class<?>, AbstractDao<?, ?>>();
+        changeTracker = ChangeTracker.forDatabase(db);
     }
 
     protected <T> void registerDao(Class<T> entityClass, AbstractDao<T, ?> dao) {
@@ -133,7 +135,8 @@ public class AbstractDaoSession {
     }
 
     /**
-     * Run the given Runnable inside a database transaction. If you except a result, consider callInTx.
+     * Run the given Runnable inside a database transaction. If you except a result, consider callInTx. Observed queries
+     * (see {@link ChangeTracker}) are refreshed once after the outermost transaction, not for each change inside it.
      */
     public void runInTx(Runnable runnable) {
         db.beginTransaction();
@@ -142,6 +145,7 @@ public class AbstractDaoSession {
             db.setTransactionSuccessful();
         } finally {
             db.endTransaction();
+            changeTracker.onTransactionEnded(db);
         }
     }
 
@@ -157,6 +161,7 @@ public class AbstractDaoSession {
             return result;
         } finally {
             db.endTransaction();
+            changeTracker.onTransactionEnded(db);
         }
     }
 
@@ -177,9 +182,15 @@ public class AbstractDaoSession {
             return result;
         } finally {
             db.endTransaction();
+            changeTracker.onTransactionEnded(db);
         }
     }
 
+    /** Gets the tracker of changes to the database, which also manages query observations. */
+    public ChangeTracker getChangeTracker() {
+        return changeTracker;
+    }
+
     /** Gets the SQLiteDatabase for custom database access. Not needed for greenDAO entities. */
     public SQLiteDatabase getDatabase() {
         return db;
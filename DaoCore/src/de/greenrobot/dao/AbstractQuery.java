@@ -15,50 +15,311 @@
  */
 package de.greenrobot.dao;
 
-import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteCursor;
+import android.database.sqlite.SQLiteCursorDriver;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteDatabase.CursorFactory;
+import android.database.sqlite.SQLiteProgram;
+import android.database.sqlite.SQLiteQuery;
 
 /**
- * A repeatable query returning entities.
+ * A repeatable query returning entities. Parameters are kept in typed slots (null, long, double, String, and byte[]
+ * for blobs) and bound natively, so numbers are not compared as text.<br/>
+ * <br/>
+ * Query instances are not thread-safe and may only be used by the thread that created them (owner thread). Use
+ * forCurrentThread() to get an instance for another thread; the SQL is shared among those instances.
  * 
  * @author Markus
  * 
  * @param <T>
  *            The enitity class the query will return results for.
  */
-// TODO support long, double, blob types directly
 abstract class AbstractQuery<T> {
+    private static final int TYPE_NULL = 0;
+    private static final int TYPE_LONG = 1;
+    private static final int TYPE_DOUBLE = 2;
+    private static final int TYPE_STRING = 3;
+    private static final int TYPE_BLOB = 4;
+    /** Values of a large IN condition; binds the key of the values inserted into the temporary table. */
+    private static final int TYPE_IN_VALUES = 5;
+
     protected final AbstractDao<T, ?> dao;
     protected final String sql;
-    protected final String[] parameters;
+    protected final Thread ownerThread;
+
+    private final int[] parameterTypes;
+    private final long[] longParameters;
+    private final double[] doubleParameters;
+    /** String, byte[], and InValues parameters. */
+    private final Object[] objectParameters;
 
-    protected AbstractQuery(AbstractDao<T, ?> dao, String sql, Collection<Object> valueList) {
+    private CursorFactory cursorFactory;
+
+    protected AbstractQuery(AbstractDao<T, ?> dao, String sql, Object[] initialValues) {
         this.dao = dao;
         this.sql = sql;
+        ownerThread = Thread.currentThread();
 
-        parameters = new String[valueList.size()];
-        int idx = 0;
-        for (Object object : valueList) {
-            if (object != null) {
-                parameters[idx] = object.toString();
-            } else {
-                parameters[idx] = null;
-            }
-            idx++;
+        int count = initialValues.length;
+        parameterTypes = new int[count];
+        longParameters = new long[count];
+        doubleParameters = new double[count];
+        objectParameters = new Object[count];
+        resetParameters(initialValues);
+    }
+
+    /** Sets all parameters to the given values, which were used to build the query. */
+    void resetParameters(Object[] initialValues) {
+        for (int i = 0; i < initialValues.length; i++) {
+            setParameterValue(i, initialValues[i]);
+        }
+    }
+
+    protected void checkThread() {
+        if (Thread.currentThread() != ownerThread) {
+            throw new DaoException(
+                    "Method may be called only in owner thread, use forCurrentThread to get an instance for this thread");
         }
     }
 
-    // public void compile() {
-    // // TODO implement compile
-    // }
+    /** Hook to prevent setting some parameters (e.g. limit and offset) using the setParameter methods. */
+    protected void checkParameterIndex(int index) {
+    }
 
     /**
-     * Sets the parameter (0 based) using the position in which it was added during building the query.
+     * Sets the parameter (0 based) using the position in which it was added during building the query. Numbers,
+     * Booleans (1 or 0), Dates (milliseconds), and byte arrays (blobs) are bound natively; other objects are bound
+     * using their String representation.
      */
     public void setParameter(int index, Object parameter) {
-        if (parameter != null) {
-            parameters[index] = parameter.toString();
+        checkThread();
+        checkParameterIndex(index);
+        checkNotInValues(index);
+        setParameterValue(index, parameter);
+    }
+
+    /** Sets the parameter (0 based) using the position in which it was added during building the query. */
+    public void setParameter(int index, long parameter) {
+        checkThread();
+        checkParameterIndex(index);
+        checkNotInValues(index);
+        setLongParameter(index, parameter);
+    }
+
+    /** Sets the parameter (0 based) using the position in which it was added during building the query. */
+    public void setParameter(int index, double parameter) {
+        checkThread();
+        checkParameterIndex(index);
+        checkNotInValues(index);
+        parameterTypes[index] = TYPE_DOUBLE;
+        doubleParameters[index] = parameter;
+        objectParameters[index] = null;
+    }
+
+    private void checkNotInValues(int index) {
+        if (parameterTypes[index] == TYPE_IN_VALUES) {
+            throw new DaoException("Parameter " + index + " holds the values of an IN condition and cannot be set");
+        }
+    }
+
+    protected void setLongParameter(int index, long parameter) {
+        parameterTypes[index] = TYPE_LONG;
+        longParameters[index] = parameter;
+        objectParameters[index] = null;
+    }
+
+    private void setParameterValue(int index, Object parameter) {
+        if (parameter == null) {
+            parameterTypes[index] = TYPE_NULL;
+            objectParameters[index] = null;
+        } else if (parameter instanceof Long || parameter instanceof Integer || parameter instanceof Short
+                || parameter instanceof Byte) {
+            setLongParameter(index, ((Number) parameter).longValue());
+        } else if (parameter instanceof Double || parameter instanceof Float) {
+            parameterTypes[index] = TYPE_DOUBLE;
+            doubleParameters[index] = ((Number) parameter).doubleValue();
+            objectParameters[index] = null;
+        } else if (parameter instanceof Boolean) {
+            setLongParameter(index, ((Boolean) parameter) ? 1 : 0);
+        } else if (parameter instanceof Date) {
+            setLongParameter(index, ((Date) parameter).getTime());
+        } else if (parameter instanceof InValues) {
+            parameterTypes[index] = TYPE_IN_VALUES;
+            objectParameters[index] = parameter;
+        } else if (parameter instanceof byte[]) {
+            parameterTypes[index] = TYPE_BLOB;
+            objectParameters[index] = parameter;
         } else {
-            parameters[index] = null;
+            parameterTypes[index] = TYPE_STRING;
+            objectParameters[index] = parameter.toString();
+        }
+    }
+
+    /** Returns the current parameter values as Long, Double, String, byte[], or null objects. */
+    Object[] getParameterValues() {
+        Object[] values = new Object[parameterTypes.length];
+        for (int i = 0; i < values.length; i++) {
+            switch (parameterTypes[i]) {
+            case TYPE_LONG:
+                values[i] = longParameters[i];
+                break;
+            case TYPE_DOUBLE:
+                values[i] = doubleParameters[i];
+                break;
+            default:
+                values[i] = objectParameters[i];
+            }
+        }
+        return values;
+    }
+
+    /** Binds all parameters to the given statement or query. Bindings of the program are cleared before. */
+    protected void bindParameters(SQLiteProgram program) {
+        bindParameters(program, 1);
+    }
+
+    /**
+     * Binds all parameters to the given statement or query starting at the given (1 based) bind index, e.g. if the SQL
+     * has other arguments preceding the query parameters. Bindings of the program are cleared before.
+     */
+    protected void bindParameters(SQLiteProgram program, int firstBindIndex) {
+        program.clearBindings();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            int bindIndex = firstBindIndex + i;
+            switch (parameterTypes[i]) {
+            case TYPE_LONG:
+                program.bindLong(bindIndex, longParameters[i]);
+                break;
+            case TYPE_DOUBLE:
+                program.bindDouble(bindIndex, doubleParameters[i]);
+                break;
+            case TYPE_STRING:
+                program.bindString(bindIndex, (String) objectParameters[i]);
+                break;
+            case TYPE_BLOB:
+                program.bindBlob(bindIndex, (byte[]) objectParameters[i]);
+                break;
+            case TYPE_IN_VALUES:
+                program.bindLong(bindIndex, longParameters[i]);
+                break;
+            default:
+                program.bindNull(bindIndex);
+            }
+        }
+    }
+
+    /** Runs the SQL of this query binding the typed parameters. */
+    protected Cursor rawQuery() {
+        return rawQuery(sql);
+    }
+
+    /**
+     * Runs the given SQL binding the typed parameters; the SQL must use the same parameters as this query. If the query
+     * has large IN conditions, call this between {@link #insertInValues()} and {@link #endInValues(long[])} and read
+     * the cursor completely before ending.
+     */
+    protected Cursor rawQuery(String sqlWithSameParameters) {
+        checkThread();
+        if (cursorFactory == null) {
+            cursorFactory = new ParameterCursorFactory();
+        }
+        return dao.db.rawQueryWithFactory(cursorFactory, sqlWithSameParameters, null, null);
+    }
+
+    /** Loads the keys selected by the given SQL, which must use the same parameters as this query. */
+    protected <K> List<K> loadKeys(AbstractDao<T, K> dao, String keysSql) {
+        long[] inValueKeys = insertInValues();
+        try {
+            return dao.loadKeysAndCloseCursor(rawQuery(keysSql));
+        } finally {
+            endInValues(inValueKeys);
+        }
+    }
+
+    /** Number of large IN conditions, whose values are selected from the temporary table. */
+    private int countInValues() {
+        int count = 0;
+        for (int type : parameterTypes) {
+            if (type == TYPE_IN_VALUES) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Throws for large IN conditions, which are not supported by cursors kept open after the execution (lazy lists and
+     * iterators): their values only exist during the transaction of the execution.
+     */
+    protected void checkNoInValues() {
+        if (countInValues() > 0) {
+            throw new DaoException("IN conditions with more than " + QueryBuilder.IN_TEMP_TABLE_THRESHOLD
+                    + " values are not supported by lazy lists and iterators; use list() instead");
+        }
+    }
+
+    /**
+     * Inserts the values of large IN conditions into the temporary table and binds their keys with the next
+     * bindParameters call. If there are any, a transaction is begun to use the same connection for the execution
+     * (temporary tables are private to a connection). Because SQLiteDatabase transactions use the connection for
+     * writes, other writers (and readers without WAL) are blocked until {@link #endInValues(long[])}, which must be
+     * called in a finally block after the execution and after reading cursors completely.
+     * 
+     * @return the keys of the inserted values, or null if there are no large IN conditions
+     */
+    protected long[] insertInValues() {
+        int count = countInValues();
+        if (count == 0) {
+            return null;
+        }
+        long[] keys = new long[count];
+        SQLiteDatabase db = dao.db;
+        db.beginTransaction();
+        try {
+            int keyIndex = 0;
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if (parameterTypes[i] == TYPE_IN_VALUES) {
+                    long key = ((InValues) objectParameters[i]).insert(db);
+                    longParameters[i] = key;
+                    keys[keyIndex++] = key;
+                }
+            }
+        } catch (RuntimeException e) {
+            db.endTransaction();
+            throw e;
+        }
+        return keys;
+    }
+
+    /**
+     * Deletes the values inserted by {@link #insertInValues()} and ends its transaction. It is marked successful even if
+     * the execution failed, so the transaction of a caller is not rolled back because of it.
+     */
+    protected void endInValues(long[] inValueKeys) {
+        if (inValueKeys != null) {
+            SQLiteDatabase db = dao.db;
+            try {
+                InValues.delete(db, inValueKeys);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        }
+    }
+
+    private class ParameterCursorFactory implements CursorFactory {
+        @SuppressWarnings("deprecation")
+        @Override
+        public Cursor newCursor(SQLiteDatabase db, SQLiteCursorDriver masterQuery, String editTable,
+                SQLiteQuery query) {
+            // The query is not executed before the cursor is filled, so binding here is fine
+            bindParameters(query);
+            // Constructor without the db parameter requires API level 11
+            return new SQLiteCursor(db, masterQuery, editTable, query);
         }
     }
 
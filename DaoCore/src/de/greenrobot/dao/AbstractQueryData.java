@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Data shared by all thread local instances of a query (SQL, initial parameters) and a weak map of these instances.
+ * Internal class used by greenDAO.
+ * 
+ * @param <T>
+ *            The enitity class the query will return results for.
+ * @param <Q>
+ *            The query class
+ */
+abstract class AbstractQueryData<T, Q extends AbstractQuery<T>> {
+    final String sql;
+    final AbstractDao<T, ?> dao;
+    final Object[] initialValues;
+    /** Query instances by thread ID; queries are only weakly referenced, so unused instances get garbage collected. */
+    final Map<Long, WeakReference<Q>> queriesForThreads;
+
+    AbstractQueryData(AbstractDao<T, ?> dao, String sql, Object[] initialValues) {
+        this.dao = dao;
+        this.sql = sql;
+        this.initialValues = initialValues;
+        queriesForThreads = new HashMap<Long, WeakReference<Q>>();
+    }
+
+    /** Just an optimized version, which performs faster if the current thread is already the query's owner thread. */
+    Q forCurrentThread(Q query) {
+        if (Thread.currentThread() == query.ownerThread) {
+            query.resetParameters(initialValues);
+            return query;
+        } else {
+            return forCurrentThread();
+        }
+    }
+
+    Q forCurrentThread() {
+        Thread currentThread = Thread.currentThread();
+        long threadId = currentThread.getId();
+        synchronized (queriesForThreads) {
+            WeakReference<Q> queryRef = queriesForThreads.get(threadId);
+            Q query = queryRef != null ? queryRef.get() : null;
+            // Thread IDs may be reused after a thread terminated, so check the owner as well
+            if (query == null || query.ownerThread != currentThread) {
+                gc();
+                query = createQuery();
+                queriesForThreads.put(threadId, new WeakReference<Q>(query));
+            } else {
+                query.resetParameters(initialValues);
+            }
+            return query;
+        }
+    }
+
+    /** Creates a new query instance owned by the current thread. */
+    abstract protected Q createQuery();
+
+    /** Removes entries of garbage collected queries; caller must synchronize on queriesForThreads. */
+    void gc() {
+        Iterator<Entry<Long, WeakReference<Q>>> iterator = queriesForThreads.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry<Long, WeakReference<Q>> entry = iterator.next();
+            if (entry.getValue().get() == null) {
+                iterator.remove();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+/**
+ * Base class for queries returning data (entities or projections), which may use a limit and an offset.
+ * 
+ * @param <T>
+ *            The enitity class the query will return results for.
+ */
+abstract class AbstractQueryWithLimit<T> extends AbstractQuery<T> {
+    protected final int limitPosition;
+    protected final int offsetPosition;
+
+    protected AbstractQueryWithLimit(AbstractDao<T, ?> dao, String sql, Object[] initialValues, int limitPosition,
+            int offsetPosition) {
+        super(dao, sql, initialValues);
+        this.limitPosition = limitPosition;
+        this.offsetPosition = offsetPosition;
+    }
+
+    @Override
+    protected void checkParameterIndex(int index) {
+        if (index >= 0 && (index == limitPosition || index == offsetPosition)) {
+            throw new IllegalArgumentException("Illegal parameter index: " + index);
+        }
+    }
+
+    /**
+     * Sets the limit of the maximum number of results returned by this Query. {@link QueryBuilder#limit(int) must have
+     * been called on the QueryBuilder that created this Query object.
+     */
+    public void setLimit(int limit) {
+        checkThread();
+        if (limitPosition == -1) {
+            throw new IllegalStateException("Limit must be set with QueryBuilder before it can be used here");
+        }
+        setLongParameter(limitPosition, limit);
+    }
+
+    /**
+     * Sets the offset for results returned by this Query. {@link QueryBuilder#offset(int) must have been called on the
+     * QueryBuilder that created this Query object.
+     */
+    public void setOffset(int offset) {
+        checkThread();
+        if (offsetPosition == -1) {
+            throw new IllegalStateException("Offset must be set with QueryBuilder before it can be used here");
+        }
+        setLongParameter(offsetPosition, offset);
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import java.util.List;
+
+/**
+ * A relation of a source entity, which can be resolved for many source entities at once instead of one query per entity
+ * (N+1 queries); see {@link QueryBuilder#prefetch(AbstractRelation)}. Instances are generated into the source entity's
+ * DAO (classes ToOneRelations and ToManyRelations).
+ * 
+ * @param <SRC>
+ *            Entity type owning the relation
+ * @param <DST>
+ *            Entity type of the relation target(s)
+ */
+public abstract class AbstractRelation<SRC, DST> {
+    private final String name;
+    private final Class<DST> targetEntityClass;
+
+    protected AbstractRelation(String name, Class<DST> targetEntityClass) {
+        this.name = name;
+        this.targetEntityClass = targetEntityClass;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<DST> getTargetEntityClass() {
+        return targetEntityClass;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected AbstractDao<DST, ?> getTargetDao(AbstractDaoSession session) {
+        return (AbstractDao<DST, ?>) session.getDao(targetEntityClass);
+    }
+
+    /** Resolves the relation for all given source entities at once. */
+    abstract void resolve(AbstractDaoSession session, List<SRC> entities);
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " '" + name + "' to " + targetEntityClass.getSimpleName();
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteStatement;
+
+/**
+ * A repeatable query computing a single aggregate value (e.g. SUM or MAX of a property) in the database.
+ * 
+ * @param <T>
+ *            The enitity class the query aggregates.
+ * @see QueryBuilder#buildAggregate(Property, Function)
+ */
+public class AggregateQuery<T> extends AbstractQuery<T> {
+
+    /** Aggregate functions supported by {@link QueryBuilder#buildAggregate(Property, Function)}. */
+    public enum Function {
+        SUM("SUM("), MIN("MIN("), MAX("MAX("), AVG("AVG("), COUNT("COUNT("), COUNT_DISTINCT("COUNT(DISTINCT ");
+
+        final String sqlPrefix;
+
+        private Function(String sqlPrefix) {
+            this.sqlPrefix = sqlPrefix;
+        }
+
+        /** The kind of the result column (see {@link ProjectionResult}) when applied to the given property. */
+        int getColumnKind(Property property) {
+            switch (this) {
+            case COUNT:
+            case COUNT_DISTINCT:
+                return ProjectionResult.KIND_LONG;
+            case AVG:
+                return ProjectionResult.KIND_DOUBLE;
+            case SUM:
+                int kind = ProjectionQuery.getColumnKind(property);
+                return kind == ProjectionResult.KIND_LONG ? kind : ProjectionResult.KIND_DOUBLE;
+            default:
+                return ProjectionQuery.getColumnKind(property);
+            }
+        }
+    }
+
+    private final static class QueryData<T2> extends AbstractQueryData<T2, AggregateQuery<T2>> {
+
+        QueryData(AbstractDao<T2, ?> dao, String sql, Object[] initialValues) {
+            super(dao, sql, initialValues);
+        }
+
+        @Override
+        protected AggregateQuery<T2> createQuery() {
+            return new AggregateQuery<T2>(this, dao, sql, initialValues);
+        }
+    }
+
+    static <T2> AggregateQuery<T2> create(AbstractDao<T2, ?> dao, String sql, Object[] initialValues) {
+        QueryData<T2> queryData = new QueryData<T2>(dao, sql, initialValues);
+        return queryData.forCurrentThread();
+    }
+
+    private final QueryData<T> queryData;
+    private SQLiteStatement compiledStatement;
+
+    private AggregateQuery(QueryData<T> queryData, AbstractDao<T, ?> dao, String sql, Object[] initialValues) {
+        super(dao, sql, initialValues);
+        this.queryData = queryData;
+    }
+
+    /** See {@link Query#forCurrentThread()}. */
+    public AggregateQuery<T> forCurrentThread() {
+        return queryData.forCurrentThread(this);
+    }
+
+    /**
+     * Returns the aggregate as long, which suits COUNT and SUM, MIN or MAX of integral properties. If there are no
+     * matching rows, SUM, MIN, MAX and AVG return 0.
+     */
+    public synchronized long longValue() {
+        checkThread();
+        long[] inValueKeys = insertInValues();
+        try {
+            if (compiledStatement == null) {
+                compiledStatement = dao.db.compileStatement(sql);
+            }
+            bindParameters(compiledStatement);
+            long value = compiledStatement.simpleQueryForLong();
+            return value;
+        } finally {
+            endInValues(inValueKeys);
+        }
+    }
+
+    /**
+     * Returns the aggregate as double, which suits AVG and SUM, MIN or MAX of floating point properties. If there are no
+     * matching rows, SUM, MIN, MAX and AVG return 0.
+     */
+    public double doubleValue() {
+        // SQLiteStatement cannot return a double, so use a cursor
+        long[] inValueKeys = insertInValues();
+        try {
+            Cursor cursor = rawQuery();
+            try {
+                if (!cursor.moveToFirst()) {
+                    throw new DaoException("No result for aggregate query");
+                }
+                return cursor.getDouble(0);
+            } finally {
+                cursor.close();
+            }
+        } finally {
+            endInValues(inValueKeys);
+        }
+    }
+
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import android.database.sqlite.SQLiteDatabase;
+
+/**
+ * Tracks changes made through greenDAO to the tables of a database and re-executes observed queries (see
+ * {@link Query#observe(QueryObserver)}). Each write bumps a version counter of the written table; an observed query is
+ * re-executed only if the version of a table it reads has changed since its last execution.<br/>
+ * <br/>
+ * Notifications are debounced (see {@link #setDebounceMillis(long)}). Changes made inside a transaction are kept
+ * pending for the writing thread (like SQLiteDatabase transactions, pending changes are per thread) and are applied
+ * only after the outermost transaction ended, so observers never see uncommitted data and importing thousands of
+ * entities in a single transaction triggers a single refresh. This happens automatically for transactions run by
+ * greenDAO, e.g. {@link AbstractDaoSession#runInTx(Runnable)}, the DAO's ...InTx methods, and bulk delete and update
+ * queries. If you call SQLiteDatabase.beginTransaction() yourself, call {@link #onTransactionEnded(SQLiteDatabase)}
+ * after endTransaction(); otherwise, the changes are applied with the next write of that thread outside of a
+ * transaction. Queries are re-executed and observers are called on a background thread owned by the tracker.<br/>
+ * <br/>
+ * There is one tracker per SQLiteDatabase, shared by all DAOs and sessions using it. Writes bypassing greenDAO (e.g. raw
+ * SQL) are not detected; call {@link #notifyTableChanged(String)} after those.<br/>
+ * <br/>
+ * This class is thread-safe.
+ */
+public class ChangeTracker {
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 50;
+
+    private static final Map<SQLiteDatabase, ChangeTracker> trackers = new WeakHashMap<SQLiteDatabase, ChangeTracker>();
+
+    /** Gets the tracker for the given database, creating it on first access. */
+    public static ChangeTracker forDatabase(SQLiteDatabase db) {
+        synchronized (trackers) {
+            ChangeTracker tracker = trackers.get(db);
+            if (tracker == null) {
+                tracker = new ChangeTracker();
+                trackers.put(db, tracker);
+            }
+            return tracker;
+        }
+    }
+
+    /** Versions by table name; guarded by this. */
+    private final Map<String, long[]> versions = new HashMap<String, long[]>();
+    private final List<QueryObservation<?>> observations = new CopyOnWriteArrayList<QueryObservation<?>>();
+    private final Runnable dispatchRunnable = new Runnable() {
+        @Override
+        public void run() {
+            dispatch();
+        }
+    };
+
+    /** Tables changed by the current thread inside a transaction that has not ended yet. */
+    private final ThreadLocal<Set<String>> pendingTables = new ThreadLocal<Set<String>>() {
+        @Override
+        protected Set<String> initialValue() {
+            return new HashSet<String>();
+        }
+    };
+
+    private volatile long debounceMillis = DEFAULT_DEBOUNCE_MILLIS;
+
+    /** A dispatch is scheduled; guarded by this. */
+    private boolean dispatchPending;
+    /** Created with the first observation; guarded by this. */
+    private ScheduledThreadPoolExecutor executor;
+
+    ChangeTracker() {
+    }
+
+    /** Returns the version of the given table, which is incremented with each change; initially 0. */
+    public synchronized long getVersion(String tablename) {
+        long[] version = versions.get(tablename);
+        return version != null ? version[0] : 0;
+    }
+
+    synchronized long[] getVersions(String[] tablenames) {
+        long[] result = new long[tablenames.length];
+        for (int i = 0; i < tablenames.length; i++) {
+            long[] version = versions.get(tablenames[i]);
+            result[i] = version != null ? version[0] : 0;
+        }
+        return result;
+    }
+
+    /**
+     * Marks the given table as changed, which will refresh observed queries reading it. Call it yourself after
+     * modifying a table using raw SQL, once the change was committed.
+     */
+    public synchronized void notifyTableChanged(String tablename) {
+        incrementVersion(tablename);
+        if (!observations.isEmpty()) {
+            scheduleDispatch();
+        }
+    }
+
+    /**
+     * Called by greenDAO for all its writes. Inside a transaction of the current thread, the change is kept pending
+     * until the outermost transaction ended.
+     */
+    void notifyTableChanged(SQLiteDatabase db, String tablename) {
+        pendingTables.get().add(tablename);
+        onTransactionEnded(db);
+    }
+
+    /**
+     * Applies the changes greenDAO made inside transactions of the current thread, if the outermost transaction has
+     * ended. Call this after ending a transaction you began yourself using SQLiteDatabase.beginTransaction().
+     */
+    public void onTransactionEnded(SQLiteDatabase db) {
+        if (db.inTransaction()) {
+            return;
+        }
+        Set<String> tablenames = pendingTables.get();
+        if (!tablenames.isEmpty()) {
+            synchronized (this) {
+                for (String tablename : tablenames) {
+                    incrementVersion(tablename);
+                }
+                if (!observations.isEmpty()) {
+                    scheduleDispatch();
+                }
+            }
+            tablenames.clear();
+        }
+    }
+
+    /** Caller must synchronize on this. */
+    private void incrementVersion(String tablename) {
+        long[] version = versions.get(tablename);
+        if (version == null) {
+            versions.put(tablename, new long[] { 1 });
+        } else {
+            version[0]++;
+        }
+    }
+
+    /** Time to wait after a change before observed queries are refreshed; further changes are coalesced meanwhile. */
+    public void setDebounceMillis(long debounceMillis) {
+        if (debounceMillis < 0) {
+            throw new IllegalArgumentException("Debounce time must not be negative: " + debounceMillis);
+        }
+        this.debounceMillis = debounceMillis;
+    }
+
+    public long getDebounceMillis() {
+        return debounceMillis;
+    }
+
+    /** Number of active (not canceled) observations. */
+    public int getObservationCount() {
+        return observations.size();
+    }
+
+    /** Adds the observation and executes its query initially. */
+    <T> void observe(final QueryObservation<T> observation) {
+        observations.add(observation);
+        synchronized (this) {
+            getExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    refresh(observation);
+                }
+            });
+        }
+    }
+
+    void removeObservation(QueryObservation<?> observation) {
+        observations.remove(observation);
+    }
+
+    /** Caller must synchronize on this. */
+    private void scheduleDispatch() {
+        if (!dispatchPending) {
+            dispatchPending = true;
+            getExecutor().schedule(dispatchRunnable, debounceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Caller must synchronize on this. */
+    private ScheduledThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "greenDAO change tracker");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            // Let the thread terminate if there is nothing to do
+            executor.setKeepAliveTime(10, TimeUnit.SECONDS);
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    /** Runs on the executor thread. */
+    private void dispatch() {
+        synchronized (this) {
+            dispatchPending = false;
+        }
+        for (QueryObservation<?> observation : observations) {
+            refresh(observation);
+        }
+    }
+
+    private void refresh(QueryObservation<?> observation) {
+        try {
+            observation.refreshIfChanged(this);
+        } catch (RuntimeException e) {
+            DaoLog.e("Could not refresh observed query", e);
+        }
+    }
+
+}
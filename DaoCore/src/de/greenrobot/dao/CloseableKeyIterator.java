@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import java.io.Closeable;
+import java.util.NoSuchElementException;
+
+import android.database.Cursor;
+
+/**
+ * Iterates over primitive keys read from a cursor one by one (see {@link Query#listKeysAsIterator()}). Make sure to
+ * close it to close the underlying cursor; this happens automatically once all keys were iterated.
+ */
+public class CloseableKeyIterator implements Closeable {
+    private final Cursor cursor;
+    private boolean hasNext;
+
+    CloseableKeyIterator(Cursor cursor) {
+        this.cursor = cursor;
+        moveToNext();
+    }
+
+    private void moveToNext() {
+        hasNext = cursor.moveToNext();
+        if (!hasNext) {
+            cursor.close();
+        }
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    public long nextKey() {
+        if (!hasNext) {
+            throw new NoSuchElementException();
+        }
+        long key = cursor.getLong(0);
+        moveToNext();
+        return key;
+    }
+
+    @Override
+    public void close() {
+        cursor.close();
+    }
+
+}
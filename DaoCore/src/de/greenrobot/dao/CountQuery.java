@@ -1,29 +1,52 @@
 package de.greenrobot.dao;
 
-import java.util.Collection;
-
-import android.database.Cursor;
+import android.database.sqlite.SQLiteStatement;
 
 public class CountQuery<T> extends AbstractQuery<T> {
 
-    protected CountQuery(AbstractDao<T, ?> dao, String sql, Collection<Object> valueList) {
-        super(dao, sql, valueList);
+    private final static class QueryData<T2> extends AbstractQueryData<T2, CountQuery<T2>> {
+
+        QueryData(AbstractDao<T2, ?> dao, String sql, Object[] initialValues) {
+            super(dao, sql, initialValues);
+        }
+
+        @Override
+        protected CountQuery<T2> createQuery() {
+            return new CountQuery<T2>(this, dao, sql, initialValues);
+        }
+    }
+
+    static <T2> CountQuery<T2> create(AbstractDao<T2, ?> dao, String sql, Object[] initialValues) {
+        QueryData<T2> queryData = new QueryData<T2>(dao, sql, initialValues);
+        return queryData.forCurrentThread();
+    }
+
+    private final QueryData<T> queryData;
+    private SQLiteStatement compiledStatement;
+
+    private CountQuery(QueryData<T> queryData, AbstractDao<T, ?> dao, String sql, Object[] initialValues) {
+        super(dao, sql, initialValues);
+        this.queryData = queryData;
+    }
+
+    /** See {@link Query#forCurrentThread()}. */
+    public CountQuery<T> forCurrentThread() {
+        return queryData.forCurrentThread(this);
     }
 
     /** Returns the count (number of results matching the query). Uses SELECT COUNT (*) sematics. */
-    public long count() {
-        Cursor cursor = dao.db.rawQuery(sql, parameters);
+    public synchronized long count() {
+        checkThread();
+        long[] inValueKeys = insertInValues();
         try {
-            if (!cursor.moveToNext()) {
-                throw new DaoException("No result for count");
-            } else if (!cursor.isLast()) {
-                throw new DaoException("Unexpected row count: " + cursor.getCount());
-            } else if (cursor.getColumnCount() != 1) {
-                throw new DaoException("Unexpected column count: " + cursor.getColumnCount());
+            if (compiledStatement == null) {
+                compiledStatement = dao.db.compileStatement(sql);
             }
-            return cursor.getLong(0);
+            bindParameters(compiledStatement);
+            long count = compiledStatement.simpleQueryForLong();
+            return count;
         } finally {
-            cursor.close();
+            endInValues(inValueKeys);
         }
     }
 
@@ -16,7 +16,9 @@
 package de.greenrobot.dao;
 
 import java.util.Collection;
+import java.util.List;
 
+import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteStatement;
 
 /**
@@ -30,10 +32,91 @@ import android.database.sqlite.SQLiteStatement;
  */
 public class DeleteQuery<T> extends AbstractQuery<T> {
 
+    private final static class QueryData<T2> extends AbstractQueryData<T2, DeleteQuery<T2>> {
+        private final String keysSql;
+
+        QueryData(AbstractDao<T2, ?> dao, String sql, String keysSql, Object[] initialValues) {
+            super(dao, sql, initialValues);
+            this.keysSql = keysSql;
+        }
+
+        @Override
+        protected DeleteQuery<T2> createQuery() {
+            return new DeleteQuery<T2>(this, dao, sql, keysSql, initialValues);
+        }
+    }
+
+    /**
+     * @param keysSql
+     *            Selects the PKs of the rows to delete (same parameters); null if there is no single PK
+     */
+    static <T2> DeleteQuery<T2> create(AbstractDao<T2, ?> dao, String sql, String keysSql, Object[] initialValues) {
+        QueryData<T2> queryData = new QueryData<T2>(dao, sql, keysSql, initialValues);
+        return queryData.forCurrentThread();
+    }
+
+    private final QueryData<T> queryData;
+    private final String keysSql;
     private SQLiteStatement compiledStatement;
 
+    /**
+     * @deprecated Use {@link QueryBuilder#buildDelete()} instead, which also detaches deleted entities from the identity
+     *             scope. Like any query, an instance created here may only be used by the thread that created it (see
+     *             {@link #forCurrentThread()}). This constructor will be removed.
+     */
+    @Deprecated
     public DeleteQuery(AbstractDao<T, ?> dao, String sql, Collection<Object> valueList) {
-        super(dao, sql, valueList);
+        this(new QueryData<T>(dao, sql, null, valueList.toArray()));
+    }
+
+    private DeleteQuery(QueryData<T> queryData) {
+        this(queryData, queryData.dao, queryData.sql, queryData.keysSql, queryData.initialValues);
+    }
+
+    private DeleteQuery(QueryData<T> queryData, AbstractDao<T, ?> dao, String sql, String keysSql,
+            Object[] initialValues) {
+        super(dao, sql, initialValues);
+        this.queryData = queryData;
+        this.keysSql = keysSql;
+    }
+
+    /** See {@link Query#forCurrentThread()}. */
+    public DeleteQuery<T> forCurrentThread() {
+        return queryData.forCurrentThread(this);
+    }
+
+    /**
+     * Deletes all matching entities and detaches them from the identity scope (aka session/cache): the keys of the
+     * matching rows are selected first, and after the delete they are removed from the identity scope with a single
+     * lock acquisition, so other cached entities stay in place. Runs in a transaction. Without an identity scope, this is equivalent to
+     * {@link #executeDeleteWithoutDetachingEntities()}.
+     */
+    public synchronized void executeDelete() {
+        checkThread();
+        if (dao.identityScope == null) {
+            executeDeleteWithoutDetachingEntities();
+            return;
+        }
+        SQLiteDatabase db = dao.db;
+        db.beginTransaction();
+        try {
+            if (keysSql != null) {
+                executeDeleteAndDetachKeys(dao);
+            } else {
+                executeDeleteWithoutDetachingEntities();
+                dao.identityScope.clear();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        dao.changeTracker.onTransactionEnded(db);
+    }
+
+    private <K> void executeDeleteAndDetachKeys(AbstractDao<T, K> dao) {
+        List<K> keys = loadKeys(dao, keysSql);
+        executeDeleteWithoutDetachingEntities();
+        dao.detachKeys(keys);
     }
 
     /**
@@ -42,20 +125,18 @@ public class DeleteQuery<T> extends AbstractQuery<T> {
      * primary key, but not using queries.
      */
     public synchronized void executeDeleteWithoutDetachingEntities() {
-        if (compiledStatement != null) {
-            compiledStatement.clearBindings();
-        } else {
-            compiledStatement = dao.db.compileStatement(sql);
-        }
-        for (int i = 0; i < parameters.length; i++) {
-            String value = parameters[i];
-            if (value != null) {
-                compiledStatement.bindString(i + 1, value);
-            } else {
-                compiledStatement.bindNull(i + 1);
+        checkThread();
+        long[] inValueKeys = insertInValues();
+        try {
+            if (compiledStatement == null) {
+                compiledStatement = dao.db.compileStatement(sql);
             }
+            bindParameters(compiledStatement);
+            compiledStatement.execute();
+        } finally {
+            endInValues(inValueKeys);
         }
-        compiledStatement.execute();
+        dao.notifyTableChanged();
     }
 
 }
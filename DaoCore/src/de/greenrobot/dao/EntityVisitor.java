@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+/**
+ * Receives entities one by one when streaming query results; see {@link Query#forEach(EntityVisitor)}.
+ * 
+ * @param <T>
+ *            Entity type
+ */
+public interface EntityVisitor<T> {
+    /**
+     * Called for each entity in the order of the query results.
+     * 
+     * @return false to stop visiting (the underlying cursor is closed anyway)
+     */
+    boolean visit(T entity);
+}
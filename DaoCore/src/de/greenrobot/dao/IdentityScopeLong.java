@@ -27,11 +27,11 @@ import java.util.concurrent.locks.ReentrantLock;
  * @param <T>
  */
 public class IdentityScopeLong<T> implements IdentityScope<Long, T> {
-    private final LongHashMap<Reference<T>> map;
+    private final LongOpenHashMap<Reference<T>> map;
     private final ReentrantLock lock;
 
     public IdentityScopeLong() {
-        map = new LongHashMap<Reference<T>>();
+        map = new LongOpenHashMap<Reference<T>>();
         lock = new ReentrantLock();
     }
 
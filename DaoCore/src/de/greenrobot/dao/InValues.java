@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+/**
+ * The values of an IN or NOT IN condition exceeding {@link QueryBuilder#IN_TEMP_TABLE_THRESHOLD}. Instead of the
+ * values, the query binds a key as a single parameter. For each execution, the values are inserted with a new key
+ * into one temporary table shared by all conditions, and deleted again afterwards (see
+ * {@link AbstractQuery#insertInValues()}).
+ */
+final class InValues {
+    private static final String TABLE = "GREENDAO_IN_VALUES";
+    private static final AtomicLong KEYS = new AtomicLong();
+
+    final Object[] values;
+
+    InValues(Object[] values) {
+        this.values = values;
+    }
+
+    /** Appends a sub select of the values having the key bound to the next parameter. */
+    static void appendSubSelect(StringBuilder builder) {
+        builder.append("(SELECT V FROM temp.").append(TABLE).append(" WHERE K=?)");
+    }
+
+    /**
+     * Inserts the values using a new key, which is returned. The temporary table is created if it does not exist yet
+     * for the connection used.
+     */
+    long insert(SQLiteDatabase db) {
+        db.execSQL("CREATE TEMP TABLE IF NOT EXISTS " + TABLE + " (K INTEGER NOT NULL, V, PRIMARY KEY (K, V))");
+        long key = KEYS.incrementAndGet();
+        SQLiteStatement stmt = db.compileStatement("INSERT OR IGNORE INTO temp." + TABLE + " VALUES (?,?)");
+        try {
+            for (Object value : values) {
+                stmt.bindLong(1, key);
+                DatabaseUtils.bindObjectToProgram(stmt, 2, value);
+                stmt.execute();
+            }
+        } finally {
+            stmt.close();
+        }
+        return key;
+    }
+
+    /** Deletes the values inserted using the given keys. */
+    static void delete(SQLiteDatabase db, long[] keys) {
+        StringBuilder builder = new StringBuilder("DELETE FROM temp.").append(TABLE).append(" WHERE K IN (");
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(keys[i]);
+        }
+        db.execSQL(builder.append(')').toString());
+    }
+
+}
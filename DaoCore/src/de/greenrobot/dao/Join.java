@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+/**
+ * A join of the entity queried by a {@link QueryBuilder} (source) and another entity (destination). Add conditions for
+ * the destination entity using its properties to filter the query results. Only entities of the source are returned.
+ * 
+ * @param <SRC>
+ *            Entity type of the QueryBuilder
+ * @param <ENTITY>
+ *            Entity type joined by this join
+ */
+public class Join<SRC, ENTITY> {
+
+    final String sourceTablePrefix;
+    final AbstractDao<ENTITY, ?> daoDestination;
+
+    final Property joinPropertySource;
+    final Property joinPropertyDestination;
+
+    final String tablePrefix;
+    final WhereCollector<ENTITY> whereCollector;
+
+    Join(String sourceTablePrefix, Property sourceJoinProperty, AbstractDao<ENTITY, ?> daoDestination,
+            Property destinationJoinProperty, String joinTablePrefix) {
+        this.sourceTablePrefix = sourceTablePrefix;
+        this.joinPropertySource = sourceJoinProperty;
+        this.daoDestination = daoDestination;
+        this.joinPropertyDestination = destinationJoinProperty;
+        tablePrefix = joinTablePrefix;
+        whereCollector = new WhereCollector<ENTITY>(daoDestination, joinTablePrefix);
+    }
+
+    /**
+     * Adds the given conditions to the where clause using an logical AND. To create new conditions, use the properties
+     * given in the generated dao classes of the joined entity.
+     */
+    public Join<SRC, ENTITY> where(WhereCondition cond, WhereCondition... condMore) {
+        whereCollector.add(cond, condMore);
+        return this;
+    }
+
+    /**
+     * Adds the given conditions to the where clause using an logical OR. To create new conditions, use the properties
+     * given in the generated dao classes of the joined entity.
+     */
+    public Join<SRC, ENTITY> whereOr(WhereCondition cond1, WhereCondition cond2, WhereCondition... condMore) {
+        whereCollector.add(or(cond1, cond2, condMore));
+        return this;
+    }
+
+    /**
+     * Creates a WhereCondition by combining the given conditions using OR. The returned WhereCondition must be used
+     * inside {@link #where(WhereCondition, WhereCondition...)} or
+     * {@link #whereOr(WhereCondition, WhereCondition, WhereCondition...)}.
+     */
+    public WhereCondition or(WhereCondition cond1, WhereCondition cond2, WhereCondition... condMore) {
+        return whereCollector.combineWhereConditions(" OR ", cond1, cond2, condMore);
+    }
+
+    /**
+     * Creates a WhereCondition by combining the given conditions using AND. The returned WhereCondition must be used
+     * inside {@link #where(WhereCondition, WhereCondition...)} or
+     * {@link #whereOr(WhereCondition, WhereCondition, WhereCondition...)}.
+     */
+    public WhereCondition and(WhereCondition cond1, WhereCondition cond2, WhereCondition... condMore) {
+        return whereCollector.combineWhereConditions(" AND ", cond1, cond2, condMore);
+    }
+
+    /** Usually you don't need this value; just in case you are mixing custom SQL (e.g. orderRaw) with joins. */
+    public String getTablePrefix() {
+        return tablePrefix;
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An unmodifiable list that loads its entities page by page using keyset queries (see {@link KeysetPager}) when they
+ * are accessed. Unlike {@link LazyList}, no cursor is kept open between accesses, so there is nothing to close. Only
+ * a few recently used pages ({@link #CACHED_PAGES}) are kept in memory, plus the order property values of the last
+ * entity of each page seen so far: the latter grows by one small array per page, so memory is O(pages) but not
+ * O(entities). Accessing a page whose predecessors were not loaded before loads those predecessors first (to find the
+ * page's starting point), so sequential access is the intended use.<br/>
+ * The size is counted when the list is created. The list is not a snapshot: pages reflect the data at the time they
+ * are loaded. If rows were deleted meanwhile, accessing positions beyond the remaining rows throws a DaoException.
+ * The list is thread-safe.
+ * 
+ * @param <T>
+ *            The enitity class the list contains.
+ * @see QueryBuilder#listLazyKeyset(int)
+ */
+public class KeysetLazyList<T> extends AbstractList<T> {
+    /** Number of pages kept in memory. */
+    public static final int CACHED_PAGES = 2;
+
+    private final KeysetPager<T> pager;
+    private final int size;
+    private final int pageSize;
+    /** Order property values of the last entity of each loaded page (index = page number). */
+    private final List<Object[]> pageEnds;
+    private final Map<Integer, List<T>> pages;
+    private final ReentrantLock lock;
+
+    @SuppressWarnings("serial")
+    KeysetLazyList(KeysetPager<T> pager, int size) {
+        this.pager = pager;
+        this.size = size;
+        pageSize = pager.getPageSize();
+        pageEnds = new ArrayList<Object[]>();
+        // Access order makes the eldest entry the least recently used one
+        pages = new LinkedHashMap<Integer, List<T>>(CACHED_PAGES * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > CACHED_PAGES;
+            }
+        };
+        lock = new ReentrantLock();
+    }
+
+    @Override
+    public T get(int location) {
+        if (location < 0 || location >= size) {
+            throw new IndexOutOfBoundsException("Location " + location + " of size " + size);
+        }
+        int pageNumber = location / pageSize;
+        int indexInPage = location % pageSize;
+        lock.lock();
+        try {
+            List<T> page = pages.get(pageNumber);
+            if (page == null) {
+                page = loadPage(pageNumber);
+            }
+            if (indexInPage >= page.size()) {
+                throw new DaoException("No entity at " + location + ", rows were deleted after the list was created");
+            }
+            return page.get(indexInPage);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Loads the given page and all pages before it whose end is unknown; the lock must be held. */
+    private List<T> loadPage(int pageNumber) {
+        int nextPageNumber = Math.min(pageEnds.size(), pageNumber);
+        while (true) {
+            Object[] seekValues = nextPageNumber > 0 ? pageEnds.get(nextPageNumber - 1) : null;
+            Object[] lastValues = new Object[pager.getOrderPropertyCount()];
+            List<T> page = pager.loadPageForCurrentThread(seekValues, lastValues);
+            pages.put(nextPageNumber, page);
+            if (nextPageNumber == pageNumber) {
+                if (!page.isEmpty() && pageEnds.size() == pageNumber) {
+                    pageEnds.add(lastValues);
+                }
+                return page;
+            }
+            if (page.size() < pageSize) {
+                throw new DaoException("Page " + pageNumber + " does not exist anymore, rows were deleted after the"
+                        + " list was created");
+            }
+            pageEnds.add(lastValues);
+            nextPageNumber++;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** Number of pages whose end is known, i.e. pages that can be loaded with a single query. */
+    public int getKnownPageCount() {
+        return pageEnds.size();
+    }
+
+}
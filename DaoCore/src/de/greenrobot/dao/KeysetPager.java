@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import android.database.Cursor;
+
+/**
+ * Fetches query results page by page using keyset pagination: the order property values of the last entity of a page
+ * are remembered and used as the starting point ("seek") of the next page. In contrast to {@link Query#setOffset(int)},
+ * the cost of fetching a page does not grow with the number of preceding rows. Like queries, a pager may only be used
+ * by the thread that created it.
+ * 
+ * @param <T>
+ *            The enitity class the pager returns results for.
+ * @see QueryBuilder#buildKeysetPager(int)
+ */
+public class KeysetPager<T> {
+    private final Query<T> firstPageQuery;
+    private final Query<T> nextPageQuery;
+    private final Property[] properties;
+    private final int[] columnKinds;
+    private final int firstSeekParameter;
+    private final int[] seekParameterColumns;
+    private final int pageSize;
+
+    /** Order property values (Long, Double or String) of the last entity of the previous page. */
+    private final Object[] lastValues;
+    private boolean started;
+    private boolean exhausted;
+
+    KeysetPager(Query<T> firstPageQuery, Query<T> nextPageQuery, Property[] properties, int firstSeekParameter,
+            int[] seekParameterColumns, int pageSize) {
+        this.firstPageQuery = firstPageQuery;
+        this.nextPageQuery = nextPageQuery;
+        this.properties = properties;
+        this.firstSeekParameter = firstSeekParameter;
+        this.seekParameterColumns = seekParameterColumns;
+        this.pageSize = pageSize;
+        columnKinds = new int[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            columnKinds[i] = ProjectionQuery.getColumnKind(properties[i]);
+        }
+        lastValues = new Object[properties.length];
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Returns false if a previous page contained less entities than the page size, so there are no more entities to
+     * fetch. Note: a page may be empty even if this returns true.
+     */
+    public boolean hasNextPage() {
+        return !exhausted;
+    }
+
+    /** Returns the next page; an empty list if there are no more entities. */
+    public List<T> nextPage() {
+        if (exhausted) {
+            return new ArrayList<T>();
+        }
+        List<T> page = loadPage(started ? nextPageQuery : firstPageQuery, started ? lastValues : null, lastValues);
+        if (page.size() < pageSize) {
+            exhausted = true;
+        }
+        if (!page.isEmpty()) {
+            started = true;
+        }
+        return page;
+    }
+
+    int getOrderPropertyCount() {
+        return properties.length;
+    }
+
+    /**
+     * Loads the page following the given seek values (the first page if null). If the page is not empty, the order
+     * property values of its last entity are stored in lastValuesOut.
+     */
+    List<T> loadPage(Query<T> query, Object[] seekValues, Object[] lastValuesOut) {
+        if (seekValues != null) {
+            for (int i = 0; i < seekParameterColumns.length; i++) {
+                int column = seekParameterColumns[i];
+                int index = firstSeekParameter + i;
+                switch (columnKinds[column]) {
+                case ProjectionResult.KIND_LONG:
+                    query.setParameter(index, ((Long) seekValues[column]).longValue());
+                    break;
+                case ProjectionResult.KIND_DOUBLE:
+                    query.setParameter(index, ((Double) seekValues[column]).doubleValue());
+                    break;
+                default:
+                    query.setParameter(index, seekValues[column]);
+                }
+            }
+        }
+
+        List<T> page;
+        long[] inValueKeys = query.insertInValues();
+        try {
+            Cursor cursor = query.rawQuery();
+            try {
+                if (query.isDeep()) {
+                    page = query.dao.loadAllDeepFromCursor(cursor);
+                } else {
+                    page = query.dao.loadAllFromCursor(cursor);
+                }
+                if (!page.isEmpty()) {
+                    if (!cursor.moveToLast()) {
+                        throw new DaoException("Could not move to last row");
+                    }
+                    rememberLastRow(cursor, lastValuesOut);
+                }
+            } finally {
+                cursor.close();
+            }
+        } finally {
+            query.endInValues(inValueKeys);
+        }
+        query.resolvePrefetchRelations(page);
+        return page;
+    }
+
+    /** Loads the page following the given seek values using query instances for the current thread. */
+    List<T> loadPageForCurrentThread(Object[] seekValues, Object[] lastValuesOut) {
+        Query<T> query = seekValues != null ? nextPageQuery.forCurrentThread() : firstPageQuery.forCurrentThread();
+        return loadPage(query, seekValues, lastValuesOut);
+    }
+
+    private void rememberLastRow(Cursor cursor, Object[] values) {
+        for (int i = 0; i < properties.length; i++) {
+            // Entity queries select all columns in property order
+            int columnIndex = properties[i].ordinal;
+            if (cursor.isNull(columnIndex)) {
+                throw new DaoException("Keyset paging does not support NULL values (order property "
+                        + properties[i].name + ")");
+            }
+            switch (columnKinds[i]) {
+            case ProjectionResult.KIND_LONG:
+                values[i] = cursor.getLong(columnIndex);
+                break;
+            case ProjectionResult.KIND_DOUBLE:
+                values[i] = cursor.getDouble(columnIndex);
+                break;
+            default:
+                values[i] = cursor.getString(columnIndex);
+            }
+        }
+    }
+
+    /** Starts over with the first page. */
+    public void reset() {
+        started = false;
+        exhausted = false;
+    }
+
+}
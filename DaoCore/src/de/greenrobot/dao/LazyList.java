@@ -19,9 +19,14 @@ import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.ReentrantLock;
 
 import android.database.Cursor;
@@ -33,7 +38,12 @@ import android.database.Cursor;
  * (e.g. features that require the entire list). Cached lists close the cursor automatically once you queried all
  * entities. However, to avoid leaked cursors, you should not rely on this behavior: if an exception occurs before the
  * entire list is read, you should close the lazy list (and thus the underlying cursor) on your own to be on the safe
- * side.
+ * side.<br/>
+ * Windowed lazy lists keep only a limited number of recently accessed entities in memory (least recently used ones are
+ * evicted and loaded again from the cursor if accessed again), so memory stays bounded for huge results. Like
+ * uncached lists, they do not close the cursor automatically and do not support features requiring the entire list.
+ * <br/>
+ * Cached lazy lists may read ahead: see {@link #setReadAhead(int, Executor)}.
  * 
  * @author Markus
  * 
@@ -122,20 +132,50 @@ public class LazyList<E> implements List<E>, Closeable {
 
     private final AbstractDao<E, ?> dao;
     private final Cursor cursor;
-    private final List<E> entities;
+    /** Slots of cached lists; hits are a single volatile read, misses load under the lock. */
+    private final AtomicReferenceArray<E> entities;
+    private final Map<Integer, E> window;
     private final int size;
     private final ReentrantLock lock;
     private volatile int loadedCount;
 
+    private volatile int readAheadCount;
+    private volatile Executor readAheadExecutor;
+    private final AtomicBoolean readAheadPending = new AtomicBoolean();
+    /** Positions loaded by the last read ahead (start inclusive, end exclusive). */
+    private volatile int readAheadStart;
+    private volatile int readAheadEnd;
+
     LazyList(AbstractDao<E, ?> dao, Cursor cursor, boolean cacheEntities) {
+        this(dao, cursor, cacheEntities ? Integer.MAX_VALUE : 0);
+    }
+
+    /**
+     * @param windowCapacity
+     *            Maximum number of entities kept in memory: 0 for an uncached list; a capacity not smaller than the
+     *            cursor's row count results in a cached list.
+     */
+    @SuppressWarnings("serial")
+    LazyList(AbstractDao<E, ?> dao, Cursor cursor, final int windowCapacity) {
+        if (windowCapacity < 0) {
+            throw new DaoException("Illegal window capacity: " + windowCapacity);
+        }
         this.dao = dao;
         this.cursor = cursor;
         size = cursor.getCount();
-        if (cacheEntities) {
-            entities = new ArrayList<E>(size);
-            for (int i = 0; i < size; i++) {
-                entities.add(null);
-            }
+        if (windowCapacity > 0 && windowCapacity < size) {
+            // Accessed entries are put again, so the eldest entry is the least recently used one
+            window = new LinkedHashMap<Integer, E>(Math.min(windowCapacity, 1024) * 4 / 3 + 1) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, E> eldest) {
+                    return size() > windowCapacity;
+                }
+            };
+        } else {
+            window = null;
+        }
+        if (windowCapacity > 0 && windowCapacity >= size) {
+            entities = new AtomicReferenceArray<E>(size);
         } else {
             entities = null;
         }
@@ -149,37 +189,144 @@ public class LazyList<E> implements List<E>, Closeable {
     /** Loads the remaining entities (if any) that were not loaded before. Applies to cached lazy lists only. */
     public void loadRemaining() {
         checkCached();
-        int size = entities.size();
         for (int i = 0; i < size; i++) {
             get(i);
         }
     }
 
+    /** Returns the index of the first (or last) loaded entity equal to the given object, or -1. */
+    private int indexOfLoaded(Object object, boolean last) {
+        for (int n = 0; n < size; n++) {
+            int i = last ? size - 1 - n : n;
+            E entity = entities.get(i);
+            if (object == null ? entity == null : object.equals(entity)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Loads all entities and returns them in a new list. */
+    private List<E> loadAllAsList() {
+        loadRemaining();
+        List<E> list = new ArrayList<E>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(entities.get(i));
+        }
+        return list;
+    }
+
     protected void checkCached() {
         if (entities == null) {
             throw new DaoException("This operation only works with cached lazy lists");
         }
     }
 
-    /** Like get but does not load the entity if it was not loaded before. */
+    /**
+     * Like get but does not load the entity if it was not loaded before (or was evicted from the window of a windowed
+     * list).
+     */
     public E peak(int location) {
         if (entities != null) {
             return entities.get(location);
+        } else if (window != null) {
+            lock.lock();
+            try {
+                return window.get(location);
+            } finally {
+                lock.unlock();
+            }
         } else {
             return null;
         }
     }
 
+    /**
+     * Lets get (and thus iterators) trigger loading of the next count positions on the given executor, so entities are
+     * usually loaded before they are accessed (e.g. when scrolling through a list on the UI thread). A read ahead holds
+     * the lock while loading its batch; gets of already loaded positions never wait for it. Applies to cached lazy
+     * lists only.
+     * 
+     * @param count
+     *            Number of positions to load ahead of the accessed one; 0 disables read ahead
+     */
+    public void setReadAhead(int count, Executor executor) {
+        checkCached();
+        if (count < 0) {
+            throw new DaoException("Illegal read ahead count: " + count);
+        }
+        if (count > 0 && executor == null) {
+            throw new DaoException("Read ahead requires an executor");
+        }
+        readAheadExecutor = executor;
+        readAheadCount = count;
+    }
+
+    /** Schedules loading the positions after location unless they are (being) loaded by a previous read ahead. */
+    private void scheduleReadAhead(int location) {
+        final int start = location + 1;
+        int count = readAheadCount;
+        if (start >= size || (start >= readAheadStart && start + count / 2 < readAheadEnd)) {
+            return;
+        }
+        if (loadedCount == size || !readAheadPending.compareAndSet(false, true)) {
+            return;
+        }
+        final int end = Math.min(size, start + count);
+        readAheadStart = start;
+        readAheadEnd = end;
+        try {
+            readAheadExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        readAhead(start, end);
+                    } finally {
+                        readAheadPending.set(false);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            readAheadPending.set(false);
+            throw e;
+        }
+    }
+
+    private void readAhead(int start, int end) {
+        lock.lock();
+        try {
+            for (int i = start; i < end && !cursor.isClosed(); i++) {
+                loadIntoSlot(i);
+            }
+        } catch (RuntimeException e) {
+            DaoLog.w("Could not read ahead at " + start + "-" + end, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** True if only a limited number of entities is kept in memory (see class description). */
+    public boolean isWindowed() {
+        return window != null;
+    }
+
     @Override
     /** Closes the underlying cursor: do not try to get entities not loaded (using get) before. */
     public void close() {
-        cursor.close();
+        // Waits for a read ahead using the cursor
+        lock.lock();
+        try {
+            cursor.close();
+        } finally {
+            lock.unlock();
+        }
     }
 
     public boolean isClosed() {
         return cursor.isClosed();
     }
 
+    /** Number of entities currently held in memory (for windowed lists at most the window capacity). */
     public int getLoadedCount() {
         return loadedCount;
     }
@@ -215,14 +362,18 @@ public class LazyList<E> implements List<E>, Closeable {
 
     @Override
     public boolean contains(Object object) {
-        loadRemaining();
-        return entities.contains(object);
+        return indexOf(object) != -1;
     }
 
     @Override
     public boolean containsAll(Collection<?> collection) {
         loadRemaining();
-        return entities.containsAll(collection);
+        for (Object object : collection) {
+            if (indexOfLoaded(object, false) == -1) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -232,25 +383,56 @@ public class LazyList<E> implements List<E>, Closeable {
             if (entity == null) {
                 lock.lock();
                 try {
-                    entity = entities.get(location);
-                    if (entity == null) {
-                        entity = loadEntity(location);
-                        entities.set(location, entity);
-                        loadedCount++;
-                        if (loadedCount == size) {
-                            cursor.close();
-                        }
-                    }
+                    entity = loadIntoSlot(location);
                 } finally {
                     lock.unlock();
                 }
             }
+            if (readAheadCount > 0) {
+                scheduleReadAhead(location);
+            }
             return entity;
+        } else if (window != null) {
+            if (location < 0 || location >= size) {
+                throw new IndexOutOfBoundsException("Location " + location + " of size " + size);
+            }
+            lock.lock();
+            try {
+                E entity = window.remove(location);
+                if (entity == null) {
+                    entity = loadEntity(location);
+                }
+                window.put(location, entity);
+                loadedCount = window.size();
+                return entity;
+            } finally {
+                lock.unlock();
+            }
         } else {
-            return loadEntity(location);
+            // The cursor position is shared, so loading must not interleave
+            lock.lock();
+            try {
+                return loadEntity(location);
+            } finally {
+                lock.unlock();
+            }
         }
     }
 
+    /** Returns the cached entity or loads it into its slot; the lock must be held. */
+    private E loadIntoSlot(int location) {
+        E entity = entities.get(location);
+        if (entity == null) {
+            entity = loadEntity(location);
+            entities.set(location, entity);
+            loadedCount++;
+            if (loadedCount == size) {
+                cursor.close();
+            }
+        }
+        return entity;
+    }
+
     protected E loadEntity(int location) {
         cursor.moveToPosition(location);
         E entity = dao.loadCurrent(cursor, 0, true);
@@ -263,7 +445,7 @@ public class LazyList<E> implements List<E>, Closeable {
     @Override
     public int indexOf(Object object) {
         loadRemaining();
-        return entities.indexOf(object);
+        return indexOfLoaded(object, false);
     }
 
     @Override
@@ -279,7 +461,7 @@ public class LazyList<E> implements List<E>, Closeable {
     @Override
     public int lastIndexOf(Object object) {
         loadRemaining();
-        return entities.lastIndexOf(object);
+        return indexOfLoaded(object, true);
     }
 
     @Override
@@ -330,22 +512,29 @@ public class LazyList<E> implements List<E>, Closeable {
     @Override
     public List<E> subList(int start, int end) {
         checkCached();
+        if (start < 0 || end > size || start > end) {
+            throw new IndexOutOfBoundsException("Sub list " + start + "-" + end + " of size " + size);
+        }
+        List<E> list = new ArrayList<E>(end - start);
         for (int i = start; i < end; i++) {
-            entities.get(i);
+            list.add(get(i));
         }
-        return entities.subList(start, end);
+        return list;
     }
 
     @Override
     public Object[] toArray() {
         loadRemaining();
-        return entities.toArray();
+        Object[] array = new Object[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = entities.get(i);
+        }
+        return array;
     }
 
     @Override
     public <T> T[] toArray(T[] array) {
-        loadRemaining();
-        return entities.toArray(array);
+        return loadAllAsList().toArray(array);
     }
 
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteCursor;
+import android.database.sqlite.SQLiteCursorDriver;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteDatabase.CursorFactory;
+import android.database.sqlite.SQLiteQuery;
+
+/**
+ * Internal class used by greenDAO: binds long arguments to a query without converting them to Strings. Use with
+ * {@link SQLiteDatabase#rawQueryWithFactory(CursorFactory, String, String[], String)} and null selection args.
+ */
+final class LongArgCursorFactory implements CursorFactory {
+
+    private final long[] args;
+
+    LongArgCursorFactory(long... args) {
+        this.args = args;
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public Cursor newCursor(SQLiteDatabase db, SQLiteCursorDriver masterQuery, String editTable, SQLiteQuery query) {
+        // The query is not executed before the cursor is filled, so binding here is fine
+        for (int i = 0; i < args.length; i++) {
+            query.bindLong(i + 1, args[i]);
+        }
+        // Constructor without the db parameter requires API level 11
+        return new SQLiteCursor(db, masterQuery, editTable, query);
+    }
+
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import java.util.Arrays;
+
+/**
+ * A minimalistic hash map for long keys using open addressing with linear probing: keys and values are stored in
+ * parallel arrays, so no entry object is allocated per key. The capacity is a power of two, so indexes are computed by
+ * masking. Removing uses backward shift deletion (no tombstones). Null values are not supported.
+ * 
+ * @param <T>
+ *            The class to store.
+ */
+public final class LongOpenHashMap<T> {
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    public LongOpenHashMap() {
+        this(16);
+    }
+
+    public LongOpenHashMap(int capacity) {
+        allocate(tableSizeFor(capacity));
+    }
+
+    private void allocate(int tableSize) {
+        keys = new long[tableSize];
+        values = new Object[tableSize];
+        mask = tableSize - 1;
+        // Max load 0.75
+        threshold = tableSize - (tableSize >> 2);
+    }
+
+    /** Smallest power of two that is at least the given capacity (min. 4, so a slot always stays empty). */
+    private static int tableSizeFor(int capacity) {
+        if (capacity > 1 << 30) {
+            throw new DaoException("Capacity too large: " + capacity);
+        }
+        int tableSize = 4;
+        while (tableSize < capacity) {
+            tableSize <<= 1;
+        }
+        return tableSize;
+    }
+
+    private int indexFor(long key) {
+        int hash = (int) (key ^ (key >>> 32)) * 0x9e3779b9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(long key) {
+        for (int index = indexFor(key);; index = (index + 1) & mask) {
+            Object value = values[index];
+            if (value == null) {
+                return null;
+            } else if (keys[index] == key) {
+                return (T) value;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T put(long key, T value) {
+        if (value == null) {
+            throw new DaoException("Null values are not supported");
+        }
+        int index = indexFor(key);
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                T oldValue = (T) values[index];
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        if (size > threshold) {
+            setCapacity(2 * values.length);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T remove(long key) {
+        int index = indexFor(key);
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                T oldValue = (T) values[index];
+                shiftBack(index);
+                size--;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /** Fills the gap at the given index by moving back following entries that would not be found anymore. */
+    private void shiftBack(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            Object value = values[index];
+            if (value == null) {
+                break;
+            }
+            // The entry may move to the gap unless its home index lies cyclically in (gap, index]
+            int home = indexFor(keys[index]);
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = keys[index];
+                values[gap] = value;
+                gap = index;
+            }
+        }
+        values[gap] = null;
+    }
+
+    public void clear() {
+        size = 0;
+        Arrays.fill(values, null);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Resizes the table to at least the given capacity (rounded up to a power of two); never drops entries. */
+    public void setCapacity(int newCapacity) {
+        int tableSize = tableSizeFor(newCapacity);
+        while (size > tableSize - (tableSize >> 2)) {
+            tableSize <<= 1;
+        }
+        if (tableSize == values.length) {
+            return;
+        }
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(tableSize);
+        for (int i = 0; i < oldValues.length; i++) {
+            Object value = oldValues[i];
+            if (value != null) {
+                int index = indexFor(oldKeys[i]);
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = value;
+            }
+        }
+    }
+
+    /** Grows the table so the given number of entries fits without resizing (at a load of at most 0.75). */
+    public void reserveRoom(int entryCount) {
+        int capacity = entryCount + entryCount / 3 + 1;
+        if (capacity > values.length) {
+            setCapacity(capacity);
+        }
+    }
+
+    public void logStats() {
+        int probes = 0;
+        int maxProbes = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                int distance = (i - indexFor(keys[i])) & mask;
+                probes += distance;
+                maxProbes = Math.max(maxProbes, distance);
+            }
+        }
+        DaoLog.d("load: " + ((float) size) / values.length + ", size: " + size + ", capa: " + values.length
+                + ", avg probe distance: " + ((float) probes) / size + ", max probe distance: " + maxProbes);
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import java.util.Date;
+
+import android.database.Cursor;
+
+/**
+ * A repeatable query selecting only some properties (columns) of an entity. Results are read straight from the cursor
+ * into primitive column arrays ({@link #list()}) or handed row by row to a {@link RowHandler} ({@link #forEachRow}):
+ * no entities are created and the identity scope is not touched.
+ * 
+ * @param <T>
+ *            The enitity class the query selects properties from.
+ * @see QueryBuilder#select(Property...)
+ */
+public class ProjectionQuery<T> extends AbstractQueryWithLimit<T> {
+
+    /** Callback for {@link ProjectionQuery#forEachRow(RowHandler)}. */
+    public interface RowHandler {
+        /**
+         * Called for each row. The row object is reused for all rows and must not be kept outside of this call.
+         * 
+         * @return false to stop iterating
+         */
+        boolean handleRow(ProjectionRow row);
+    }
+
+    private final static class QueryData<T2> extends AbstractQueryData<T2, ProjectionQuery<T2>> {
+        private final int[] columnKinds;
+        private final int limitPosition;
+        private final int offsetPosition;
+
+        QueryData(AbstractDao<T2, ?> dao, String sql, Object[] initialValues, int[] columnKinds, int limitPosition,
+                int offsetPosition) {
+            super(dao, sql, initialValues);
+            this.columnKinds = columnKinds;
+            this.limitPosition = limitPosition;
+            this.offsetPosition = offsetPosition;
+        }
+
+        @Override
+        protected ProjectionQuery<T2> createQuery() {
+            return new ProjectionQuery<T2>(this, dao, sql, initialValues, columnKinds, limitPosition, offsetPosition);
+        }
+    }
+
+    static <T2> ProjectionQuery<T2> create(AbstractDao<T2, ?> dao, String sql, Object[] initialValues,
+            int[] columnKinds, int limitPosition, int offsetPosition) {
+        QueryData<T2> queryData = new QueryData<T2>(dao, sql, initialValues, columnKinds, limitPosition,
+                offsetPosition);
+        return queryData.forCurrentThread();
+    }
+
+    static int getColumnKind(Property property) {
+        Class<?> type = property.type;
+        if (type == long.class || type == Long.class || type == int.class || type == Integer.class
+                || type == short.class || type == Short.class || type == byte.class || type == Byte.class
+                || type == boolean.class || type == Boolean.class || type == Date.class) {
+            return ProjectionResult.KIND_LONG;
+        } else if (type == double.class || type == Double.class || type == float.class || type == Float.class) {
+            return ProjectionResult.KIND_DOUBLE;
+        } else if (type == String.class) {
+            return ProjectionResult.KIND_STRING;
+        } else if (type == byte[].class) {
+            return ProjectionResult.KIND_BLOB;
+        } else {
+            throw new DaoException("Property " + property.name + " of type " + type + " cannot be projected");
+        }
+    }
+
+    private final QueryData<T> queryData;
+    private final int[] columnKinds;
+
+    private ProjectionQuery(QueryData<T> queryData, AbstractDao<T, ?> dao, String sql, Object[] initialValues,
+            int[] columnKinds, int limitPosition, int offsetPosition) {
+        super(dao, sql, initialValues, limitPosition, offsetPosition);
+        this.queryData = queryData;
+        this.columnKinds = columnKinds;
+    }
+
+    /** See {@link Query#forCurrentThread()}. */
+    public ProjectionQuery<T> forCurrentThread() {
+        return queryData.forCurrentThread(this);
+    }
+
+    /**
+     * Executes the query and reads all selected columns into primitive arrays (longs for integral, boolean and date
+     * properties, doubles for floating point properties, Strings and byte arrays).
+     */
+    public ProjectionResult list() {
+        long[] inValueKeys = insertInValues();
+        try {
+            Cursor cursor = rawQuery();
+            try {
+                return new ProjectionResult(cursor, columnKinds);
+            } finally {
+                cursor.close();
+            }
+        } finally {
+            endInValues(inValueKeys);
+        }
+    }
+
+    /**
+     * Executes the query and passes each row to the given handler, reusing a single {@link ProjectionRow} for all rows.
+     * Nothing is accumulated in memory, which makes this suitable for very large results.
+     */
+    public void forEachRow(RowHandler handler) {
+        long[] inValueKeys = insertInValues();
+        try {
+            Cursor cursor = rawQuery();
+            try {
+                ProjectionRow row = new ProjectionRow(cursor);
+                while (cursor.moveToNext()) {
+                    if (!handler.handleRow(row)) {
+                        break;
+                    }
+                }
+            } finally {
+                cursor.close();
+            }
+        } finally {
+            endInValues(inValueKeys);
+        }
+    }
+
+}
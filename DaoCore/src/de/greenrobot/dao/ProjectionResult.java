@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import android.database.Cursor;
+
+/**
+ * Column-wise result of a {@link ProjectionQuery}. Each selected property is stored in a single array: long[] for
+ * integral, boolean and date properties (booleans as 0/1, dates as milliseconds), double[] for floating point
+ * properties, String[] and byte[][]. Column indexes follow the order of the properties passed to
+ * {@link QueryBuilder#select(Property...)}.
+ */
+public class ProjectionResult {
+    static final int KIND_LONG = 1;
+    static final int KIND_DOUBLE = 2;
+    static final int KIND_STRING = 3;
+    static final int KIND_BLOB = 4;
+
+    private final int size;
+    private final int[] columnKinds;
+    private final Object[] columns;
+    /** Null flags for long and double columns (String and blob columns just contain null). */
+    private final boolean[][] nulls;
+
+    ProjectionResult(Cursor cursor, int[] columnKinds) {
+        this.columnKinds = columnKinds;
+        int count = cursor.getCount();
+        int columnCount = columnKinds.length;
+        columns = new Object[columnCount];
+        nulls = new boolean[columnCount][];
+        for (int i = 0; i < columnCount; i++) {
+            switch (columnKinds[i]) {
+            case KIND_LONG:
+                columns[i] = new long[count];
+                nulls[i] = new boolean[count];
+                break;
+            case KIND_DOUBLE:
+                columns[i] = new double[count];
+                nulls[i] = new boolean[count];
+                break;
+            case KIND_STRING:
+                columns[i] = new String[count];
+                break;
+            case KIND_BLOB:
+                columns[i] = new byte[count][];
+                break;
+            default:
+                throw new DaoException("Unknown column kind: " + columnKinds[i]);
+            }
+        }
+
+        int row = 0;
+        while (cursor.moveToNext()) {
+            for (int i = 0; i < columnCount; i++) {
+                if (cursor.isNull(i)) {
+                    if (nulls[i] != null) {
+                        nulls[i][row] = true;
+                    }
+                    continue;
+                }
+                switch (columnKinds[i]) {
+                case KIND_LONG:
+                    ((long[]) columns[i])[row] = cursor.getLong(i);
+                    break;
+                case KIND_DOUBLE:
+                    ((double[]) columns[i])[row] = cursor.getDouble(i);
+                    break;
+                case KIND_STRING:
+                    ((String[]) columns[i])[row] = cursor.getString(i);
+                    break;
+                case KIND_BLOB:
+                    ((byte[][]) columns[i])[row] = cursor.getBlob(i);
+                    break;
+                }
+            }
+            row++;
+        }
+        if (row != count) {
+            throw new DaoException("Expected " + count + " rows, but cursor returned " + row);
+        }
+        size = count;
+    }
+
+    /** Number of rows. */
+    public int size() {
+        return size;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /** Returns the values of a column holding integral, boolean or date values; null values are 0. */
+    public long[] getLongs(int column) {
+        checkKind(column, KIND_LONG);
+        return (long[]) columns[column];
+    }
+
+    /** Returns the values of a column holding floating point values; null values are 0. */
+    public double[] getDoubles(int column) {
+        checkKind(column, KIND_DOUBLE);
+        return (double[]) columns[column];
+    }
+
+    public String[] getStrings(int column) {
+        checkKind(column, KIND_STRING);
+        return (String[]) columns[column];
+    }
+
+    public byte[][] getBlobs(int column) {
+        checkKind(column, KIND_BLOB);
+        return (byte[][]) columns[column];
+    }
+
+    public boolean isNull(int row, int column) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " (size: " + size + ")");
+        }
+        boolean[] nullFlags = nulls[column];
+        return nullFlags != null ? nullFlags[row] : ((Object[]) columns[column])[row] == null;
+    }
+
+    private void checkKind(int column, int kind) {
+        if (columnKinds[column] != kind) {
+            throw new DaoException("Column " + column + " is not of the requested type");
+        }
+    }
+
+}
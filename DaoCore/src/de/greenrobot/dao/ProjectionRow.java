@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import android.database.Cursor;
+
+/**
+ * The current row of a projection; column indexes follow the order of the properties passed to
+ * {@link QueryBuilder#select(Property...)}. Values are read directly from the underlying cursor. The same object is
+ * reused for all rows, so do not keep references to it.
+ * 
+ * @see ProjectionQuery#forEachRow(ProjectionQuery.RowHandler)
+ */
+public class ProjectionRow {
+    private final Cursor cursor;
+
+    ProjectionRow(Cursor cursor) {
+        this.cursor = cursor;
+    }
+
+    /** Position of the current row, starting at 0. */
+    public int getPosition() {
+        return cursor.getPosition();
+    }
+
+    public int getColumnCount() {
+        return cursor.getColumnCount();
+    }
+
+    public boolean isNull(int column) {
+        return cursor.isNull(column);
+    }
+
+    /** Returns the column value as long; 0 if it is null. */
+    public long getLong(int column) {
+        return cursor.getLong(column);
+    }
+
+    /** Returns the column value as double; 0 if it is null. */
+    public double getDouble(int column) {
+        return cursor.getDouble(column);
+    }
+
+    public String getString(int column) {
+        return cursor.getString(column);
+    }
+
+    public byte[] getBlob(int column) {
+        return cursor.getBlob(column);
+    }
+
+}
@@ -18,6 +18,8 @@ package de.greenrobot.dao;
 
 import java.util.Collection;
 
+import de.greenrobot.dao.WhereCondition.InCondition;
+import de.greenrobot.dao.WhereCondition.MatchCondition;
 import de.greenrobot.dao.WhereCondition.PropertyCondition;
 
 /**
@@ -31,13 +33,21 @@ public class Property {
     public final String name;
     public final boolean primaryKey;
     public final String columnName;
+    /** Name of the full-text search (FTS) table containing this property's column, or null. */
+    public final String fullTextSearchTable;
 
     public Property(int ordinal, Class<?> type, String name, boolean primaryKey, String columnName) {
+        this(ordinal, type, name, primaryKey, columnName, null);
+    }
+
+    public Property(int ordinal, Class<?> type, String name, boolean primaryKey, String columnName,
+            String fullTextSearchTable) {
         this.ordinal = ordinal;
         this.type = type;
         this.name = name;
         this.primaryKey = primaryKey;
         this.columnName = columnName;
+        this.fullTextSearchTable = fullTextSearchTable;
     }
 
     /** Creates an "equal ('=')" condition  for this property. */
@@ -55,17 +65,30 @@ public class Property {
         return new PropertyCondition(this, " LIKE ?", value);
     }
 
+    /**
+     * Creates a full-text search "MATCH" condition for this property, e.g. "green*" or "green NEAR dao" (see SQLite FTS
+     * query syntax). The property must be generated with full-text search enabled; the search uses the FTS index
+     * instead of scanning the table like {@link #like(String)}.
+     */
+    public WhereCondition match(String query) {
+        if (fullTextSearchTable == null) {
+            throw new DaoException("Property '" + name + "' is not part of a full-text search table");
+        }
+        return new MatchCondition(this, query);
+    }
+
     /** Creates an "BETWEEN ... AND ..." condition  for this property. */
     public WhereCondition between(Object value1, Object value2) {
         Object[] values = { value1, value2 };
         return new PropertyCondition(this, " BETWEEN ? AND ?", values);
     }
 
-    /** Creates an "IN (..., ..., ...)" condition  for this property. */
+    /**
+     * Creates an "IN (..., ..., ...)" condition  for this property. Large numbers of values are handled using a temporary
+     * table (see {@link QueryBuilder#IN_TEMP_TABLE_THRESHOLD}).
+     */
     public WhereCondition in(Object... inValues) {
-        StringBuilder condition = new StringBuilder(" IN (");
-        SqlUtils.appendPlaceholders(condition, inValues.length).append(')');
-        return new PropertyCondition(this, condition.toString(), inValues);
+        return new InCondition(this, false, inValues);
     }
 
     /** Creates an "IN (..., ..., ...)" condition  for this property. */
@@ -73,11 +96,12 @@ public class Property {
         return in(inValues.toArray());
     }
 
-    /** Creates an "NOT IN (..., ..., ...)" condition  for this property. */
+    /**
+     * Creates an "NOT IN (..., ..., ...)" condition  for this property. Large numbers of values are handled using a
+     * temporary table (see {@link QueryBuilder#IN_TEMP_TABLE_THRESHOLD}).
+     */
     public WhereCondition notIn(Object... notInValues) {
-        StringBuilder condition = new StringBuilder(" NOT IN (");
-        SqlUtils.appendPlaceholders(condition, notInValues.length).append(')');
-        return new PropertyCondition(this, condition.toString(), notInValues);
+        return new InCondition(this, true, notInValues);
     }
 
     /** Creates an "NOT IN (..., ..., ...)" condition  for this property. */
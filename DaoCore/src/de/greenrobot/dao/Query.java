@@ -15,7 +15,7 @@
  */
 package de.greenrobot.dao;
 
-import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import android.database.Cursor;
@@ -28,98 +28,259 @@ import android.database.Cursor;
  * @param <T>
  *            The enitity class the query will return results for.
  */
-// TODO support long, double and other types, not just Strings, for parameters
 // TODO Make parameters setable by Property (if unique in paramaters)
-// TODO Query for PKs/ROW IDs
-public class Query<T> extends AbstractQuery<T> {
-    private int limitPosition = -1;
-    private int offsetPosition = -1;
+public class Query<T> extends AbstractQueryWithLimit<T> {
+    private final static class QueryData<T2> extends AbstractQueryData<T2, Query<T2>> {
+        private final String keysSql;
+        private final String[] tablenames;
+        private final List<AbstractRelation<T2, ?>> prefetchRelations;
+        private final boolean deep;
+        private final int limitPosition;
+        private final int offsetPosition;
 
-    Query(AbstractDao<T, ?> dao, String sql, Collection<Object> valueList) {
-        super(dao, sql, valueList);
-    }
+        QueryData(AbstractDao<T2, ?> dao, String sql, String keysSql, String[] tablenames,
+                List<AbstractRelation<T2, ?>> prefetchRelations, boolean deep, Object[] initialValues,
+                int limitPosition, int offsetPosition) {
+            super(dao, sql, initialValues);
+            this.keysSql = keysSql;
+            this.tablenames = tablenames;
+            this.prefetchRelations = prefetchRelations;
+            this.deep = deep;
+            this.limitPosition = limitPosition;
+            this.offsetPosition = offsetPosition;
+        }
 
-    void setLimitPosition(int limitPosition) {
-        this.limitPosition = limitPosition;
+        @Override
+        protected Query<T2> createQuery() {
+            return new Query<T2>(this, dao, sql, keysSql, initialValues, limitPosition, offsetPosition);
+        }
     }
 
-    void setOffsetPosition(int offsetPosition) {
-        this.offsetPosition = offsetPosition;
+    /**
+     * @param keysSql
+     *            Same as sql, but selecting only the key (PK or ROWID) column; must use the same parameters.
+     * @param tablenames
+     *            All tables read by the query (used to observe changes)
+     * @param prefetchRelations
+     *            Relations to resolve for the loaded entities
+     * @param deep
+     *            True if sql selects the columns of {@link AbstractDao#getSelectDeep()}
+     */
+    static <T2> Query<T2> create(AbstractDao<T2, ?> dao, String sql, String keysSql, String[] tablenames,
+            List<AbstractRelation<T2, ?>> prefetchRelations, boolean deep, Object[] initialValues, int limitPosition,
+            int offsetPosition) {
+        QueryData<T2> queryData = new QueryData<T2>(dao, sql, keysSql, tablenames, prefetchRelations, deep,
+                initialValues, limitPosition, offsetPosition);
+        return queryData.forCurrentThread();
     }
 
-    // public void compile() {
-    // // TODO implement compile
-    // }
+    private final QueryData<T> queryData;
+    private final String keysSql;
+
+    private Query(QueryData<T> queryData, AbstractDao<T, ?> dao, String sql, String keysSql,
+            Object[] initialValues, int limitPosition, int offsetPosition) {
+        super(dao, sql, initialValues, limitPosition, offsetPosition);
+        this.queryData = queryData;
+        this.keysSql = keysSql;
+    }
 
     /**
-     * Sets the parameter (0 based) using the position in which it was added during building the query.
+     * Returns an instance of this query for the current thread; if called from the owner thread, this instance is
+     * returned. Parameters are reset to the values used to build the query. Instances for other threads share the SQL
+     * and are cached (weakly referenced), so calling this method again is cheap.
      */
-    public void setParameter(int index, Object parameter) {
-        if (index >= 0 && (index == limitPosition || index == offsetPosition)) {
-            throw new IllegalArgumentException("Illegal parameter index: " + index);
-        }
-        if (parameter != null) {
-            parameters[index] = parameter.toString();
-        } else {
-            parameters[index] = null;
-        }
+    public Query<T> forCurrentThread() {
+        return queryData.forCurrentThread(this);
+    }
+
+    /** Creates a new instance owned by the current thread using the given parameter values; not cached. */
+    Query<T> copyForCurrentThread(Object[] parameterValues) {
+        Query<T> query = queryData.createQuery();
+        query.resetParameters(parameterValues);
+        return query;
     }
 
     /**
-     * Sets the limit of the maximum number of results returned by this Query. {@link QueryBuilder#limit(int) must have
-     * been called on the QueryBuilder that created this Query object.
+     * Observes this query: the given observer receives the initial result and a new result each time a table read by
+     * the query was changed using greenDAO. Results are delivered on a background thread; changes are debounced and
+     * coalesced per transaction (see {@link ChangeTracker}). The current parameter values are used for all executions;
+     * changing parameters afterwards does not affect the observation. Cancel the returned observation when done.
      */
-    public void setLimit(int limit) {
-        if (limitPosition == -1) {
-            throw new IllegalStateException("Limit must be set with QueryBuilder before it can be used here");
+    public QueryObservation<T> observe(QueryObserver<T> observer) {
+        checkThread();
+        if (observer == null) {
+            throw new DaoException("Observer must not be null");
         }
-        parameters[limitPosition] = Integer.toString(limit);
+        ChangeTracker changeTracker = dao.getChangeTracker();
+        QueryObservation<T> observation = new QueryObservation<T>(changeTracker, this, getParameterValues(),
+                queryData.tablenames, observer);
+        changeTracker.observe(observation);
+        return observation;
     }
 
     /**
-     * Sets the offset for results returned by this Query. {@link QueryBuilder#offset(int) must have been called on the
-     * QueryBuilder that created this Query object.
+     * Executes the query and returns the result as a list containing all entities loaded into memory. Relations added
+     * by {@link QueryBuilder#prefetch(AbstractRelation)} are resolved for all entities. If the query was built with
+     * {@link QueryBuilder#deep()}, the to-one relations are loaded from the same rows.
      */
-    public void setOffset(int offset) {
-        if (offsetPosition == -1) {
-            throw new IllegalStateException("Offset must be set with QueryBuilder before it can be used here");
+    public List<T> list() {
+        List<T> entities;
+        long[] inValueKeys = insertInValues();
+        try {
+            Cursor cursor = rawQuery();
+            if (queryData.deep) {
+                entities = dao.loadDeepAllAndCloseCursor(cursor);
+            } else {
+                entities = dao.loadAllAndCloseCursor(cursor);
+            }
+        } finally {
+            endInValues(inValueKeys);
         }
-        parameters[offsetPosition] = Integer.toString(offset);
+        resolvePrefetchRelations(entities);
+        return entities;
     }
 
-    /** Executes the query and returns the result as a list containing all entities loaded into memory. */
-    public List<T> list() {
-        Cursor cursor = dao.db.rawQuery(sql, parameters);
-        return dao.loadAllAndCloseCursor(cursor);
+    /** True if the query selects the to-one relations, see {@link QueryBuilder#deep()}. */
+    boolean isDeep() {
+        return queryData.deep;
+    }
+
+    /** Resolves the relations added by {@link QueryBuilder#prefetch(AbstractRelation)} for the given entities. */
+    void resolvePrefetchRelations(List<T> entities) {
+        if (!entities.isEmpty()) {
+            for (AbstractRelation<T, ?> relation : queryData.prefetchRelations) {
+                dao.resolveRelation(entities, relation);
+            }
+        }
     }
 
     /**
      * Executes the query and returns the result as a list that lazy loads the entities on first access. Entities are
      * cached, so accessing the same entity more than once will not result in loading an entity from the underlying
-     * cursor again.Make sure to close it to close the underlying cursor.
+     * cursor again.Make sure to close it to close the underlying cursor. Large IN conditions (see
+     * {@link QueryBuilder#IN_TEMP_TABLE_THRESHOLD}) are not supported.
      */
     public LazyList<T> listLazy() {
-        Cursor cursor = dao.db.rawQuery(sql, parameters);
+        checkNoInValues();
+        Cursor cursor = rawQuery();
         return new LazyList<T>(dao, cursor, true);
     }
 
     /**
      * Executes the query and returns the result as a list that lazy loads the entities on every access (uncached). Make
-     * sure to close the list to close the underlying cursor.
+     * sure to close the list to close the underlying cursor. Large IN conditions are not supported.
      */
     public LazyList<T> listLazyUncached() {
-        Cursor cursor = dao.db.rawQuery(sql, parameters);
+        checkNoInValues();
+        Cursor cursor = rawQuery();
         return new LazyList<T>(dao, cursor, false);
     }
 
+    /**
+     * Executes the query and returns the result as a list that lazy loads the entities on access and keeps at most
+     * windowCapacity recently accessed entities in memory; others are loaded again from the cursor if accessed again.
+     * Use this for huge results that are scrolled through. Make sure to close the list to close the underlying cursor.
+     * Large IN conditions are not supported.
+     */
+    public LazyList<T> listLazyWindowed(int windowCapacity) {
+        if (windowCapacity < 1) {
+            throw new DaoException("Illegal window capacity: " + windowCapacity);
+        }
+        checkNoInValues();
+        Cursor cursor = rawQuery();
+        return new LazyList<T>(dao, cursor, windowCapacity);
+    }
+
     /**
      * Executes the query and returns the result as a list iterator; make sure to close it to close the underlying
-     * cursor. The cursor is closed once the iterator is fully iterated through.
+     * cursor. The cursor is closed once the iterator is fully iterated through. Large IN conditions are not supported.
      */
     public CloseableListIterator<T> listIterator() {
         return listLazyUncached().listIteratorAutoClose();
     }
 
+    /**
+     * Executes the query and passes the entities one by one to the given visitor without collecting them in a list.
+     * Entities are loaded like with {@link #list()}, so the identity scope is used.
+     */
+    public void forEach(EntityVisitor<T> visitor) {
+        long[] inValueKeys = insertInValues();
+        try {
+            Cursor cursor = rawQuery();
+            try {
+                while (cursor.moveToNext()) {
+                    if (!visitor.visit(dao.loadCurrent(cursor, 0, true))) {
+                        break;
+                    }
+                }
+            } finally {
+                cursor.close();
+            }
+        } finally {
+            endInValues(inValueKeys);
+        }
+    }
+
+    /**
+     * Executes the query and refills the given entity with each row before passing it to the visitor, so no entities
+     * are allocated at all. This bypasses the identity scope: the reused entity is not attached to the DAO (relations
+     * cannot be resolved) and must not be kept beyond a visit call. Intended for batch jobs folding over many rows.
+     */
+    public void forEach(EntityVisitor<T> visitor, T reusableEntity) {
+        if (reusableEntity == null) {
+            throw new DaoException("Reusable entity must not be null");
+        }
+        long[] inValueKeys = insertInValues();
+        try {
+            Cursor cursor = rawQuery();
+            try {
+                while (cursor.moveToNext()) {
+                    dao.readEntity(cursor, reusableEntity, 0);
+                    if (!visitor.visit(reusableEntity)) {
+                        break;
+                    }
+                }
+            } finally {
+                cursor.close();
+            }
+        } finally {
+            endInValues(inValueKeys);
+        }
+    }
+
+    /**
+     * Executes the query and returns the keys of all matching entities: the primary key if it is a Long, otherwise the
+     * ROWID. Only the key column is selected; no entities are created and the identity scope is not touched.
+     */
+    public long[] listKeys() {
+        long[] inValueKeys = insertInValues();
+        try {
+            Cursor cursor = rawQuery(keysSql);
+            try {
+                long[] keys = new long[cursor.getCount()];
+                int i = 0;
+                while (cursor.moveToNext()) {
+                    keys[i++] = cursor.getLong(0);
+                }
+                return keys;
+            } finally {
+                cursor.close();
+            }
+        } finally {
+            endInValues(inValueKeys);
+        }
+    }
+
+    /**
+     * Like {@link #listKeys()}, but reads the keys one by one from the underlying cursor, which suits huge results. Make
+     * sure to close the iterator; the cursor is closed once the iterator is fully iterated through. Large IN conditions
+     * are not supported.
+     */
+    public CloseableKeyIterator listKeysAsIterator() {
+        checkNoInValues();
+        return new CloseableKeyIterator(rawQuery(keysSql));
+    }
+
     /**
      * Executes the query and returns the unique result or null.
      * 
@@ -128,8 +289,22 @@ public class Query<T> extends AbstractQuery<T> {
      * @return Entity or null if no matching entity was found
      */
     public T unique() {
-        Cursor cursor = dao.db.rawQuery(sql, parameters);
-        return dao.loadUniqueAndCloseCursor(cursor);
+        T entity;
+        long[] inValueKeys = insertInValues();
+        try {
+            Cursor cursor = rawQuery();
+            if (queryData.deep) {
+                entity = dao.loadDeepUniqueAndCloseCursor(cursor);
+            } else {
+                entity = dao.loadUniqueAndCloseCursor(cursor);
+            }
+        } finally {
+            endInValues(inValueKeys);
+        }
+        if (entity != null) {
+            resolvePrefetchRelations(Collections.singletonList(entity));
+        }
+        return entity;
     }
 
     /**
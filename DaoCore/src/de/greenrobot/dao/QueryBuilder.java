@@ -17,9 +17,6 @@ package de.greenrobot.dao;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.ListIterator;
-
-import de.greenrobot.dao.WhereCondition.PropertyCondition;
 
 /**
  * Builds custom entity queries using constraints and parameters and without SQL (QueryBuilder creates SQL for you). To
@@ -46,10 +43,26 @@ public class QueryBuilder<T> {
     /** Set to see the given values. */
     public static boolean LOG_VALUES;
 
+    /**
+     * IN and NOT IN conditions with more values than this do not bind each value, but select them from a temporary
+     * table. This avoids SQLite's limit of 999 variables per statement and the cost of parsing huge statements. Such a
+     * condition takes a single query parameter. All conditions share one temporary table: each execution inserts the
+     * values inside a transaction (using the same connection for the execution), reads the complete result, and deletes
+     * them afterwards. While this transaction runs, other writers (and readers without WAL) are blocked. Lazy lists and
+     * iterators keep their cursor open after the execution, so they do not support such conditions and throw a
+     * DaoException.
+     */
+    public static int IN_TEMP_TABLE_THRESHOLD = 500;
+
     private StringBuilder orderBuilder;
-    private StringBuilder joinBuilder;
 
-    private final List<WhereCondition> whereConditions;
+    /** Properties ordered by orderAsc/orderDesc (used for keyset paging); null after custom or raw order. */
+    private List<Property> orderProperties;
+    private List<Boolean> orderDescending;
+
+    private final WhereCollector<T> whereCollector;
+    private final List<Join<T, ?>> joins;
+    private final List<AbstractRelation<T, ?>> prefetchRelations;
 
     private final List<Object> values;
     private final AbstractDao<T, ?> dao;
@@ -59,6 +72,9 @@ public class QueryBuilder<T> {
 
     private Integer offset;
 
+    private boolean distinct;
+    private boolean deep;
+
     protected QueryBuilder(AbstractDao<T, ?> dao) {
         this(dao, "T");
     }
@@ -67,7 +83,11 @@ public class QueryBuilder<T> {
         this.dao = dao;
         this.tablePrefix = tablePrefix;
         values = new ArrayList<Object>();
-        whereConditions = new ArrayList<WhereCondition>();
+        joins = new ArrayList<Join<T, ?>>();
+        prefetchRelations = new ArrayList<AbstractRelation<T, ?>>();
+        whereCollector = new WhereCollector<T>(dao, tablePrefix);
+        orderProperties = new ArrayList<Property>();
+        orderDescending = new ArrayList<Boolean>();
     }
 
     private void checkOrderBuilder() {
@@ -83,11 +103,7 @@ public class QueryBuilder<T> {
      * given in the generated dao classes.
      */
     public QueryBuilder<T> where(WhereCondition cond, WhereCondition... condMore) {
-        whereConditions.add(cond);
-        for (WhereCondition whereCondition : condMore) {
-            checkCondition(whereCondition);
-            whereConditions.add(whereCondition);
-        }
+        whereCollector.add(cond, condMore);
         return this;
     }
 
@@ -96,7 +112,7 @@ public class QueryBuilder<T> {
      * given in the generated dao classes.
      */
     public QueryBuilder<T> whereOr(WhereCondition cond1, WhereCondition cond2, WhereCondition... condMore) {
-        whereConditions.add(or(cond1, cond2, condMore));
+        whereCollector.add(or(cond1, cond2, condMore));
         return this;
     }
 
@@ -120,45 +136,107 @@ public class QueryBuilder<T> {
 
     protected WhereCondition combineWhereConditions(String combineOp, WhereCondition cond1, WhereCondition cond2,
             WhereCondition... condMore) {
-        StringBuilder builder = new StringBuilder("(");
-        List<Object> combinedValues = new ArrayList<Object>();
-
-        addCondition(builder, combinedValues, cond1);
-        builder.append(combineOp);
-        addCondition(builder, combinedValues, cond2);
-
-        for (WhereCondition cond : condMore) {
-            builder.append(combineOp);
-            addCondition(builder, combinedValues, cond);
-        }
-        builder.append(')');
-        return new WhereCondition.StringCondition(builder.toString(), combinedValues.toArray());
+        return whereCollector.combineWhereConditions(combineOp, cond1, cond2, condMore);
     }
 
     protected void addCondition(StringBuilder builder, List<Object> values, WhereCondition condition) {
-        checkCondition(condition);
-        condition.appendTo(builder, tablePrefix);
-        condition.appendValuesTo(values);
+        whereCollector.addCondition(builder, values, condition);
     }
 
     protected void checkCondition(WhereCondition whereCondition) {
-        if (whereCondition instanceof PropertyCondition) {
-            checkProperty(((PropertyCondition) whereCondition).property);
+        whereCollector.checkCondition(whereCondition);
+    }
+
+    /**
+     * Joins the entity referenced by the given to-one property (a foreign key of this QueryBuilder's entity) using its
+     * primary key. Use the returned {@link Join} to add conditions for the joined entity.
+     */
+    public <J> Join<T, J> join(Class<J> entityClass, Property toOneProperty) {
+        AbstractDao<J, ?> joinDao = getJoinDao(entityClass);
+        return addJoin(toOneProperty, joinDao, getPkPropertyVerified(joinDao));
+    }
+
+    /**
+     * Joins the entities referencing this QueryBuilder's entity by the given property (a foreign key of the joined
+     * entity pointing to the primary key of this QueryBuilder's entity). Use the returned {@link Join} to add
+     * conditions for the joined entity. An entity matching several joined entities is returned once for each, unless
+     * {@link #distinct()} is used.
+     */
+    public <J> Join<T, J> joinToMany(Class<J> entityClass, Property toManyProperty) {
+        AbstractDao<J, ?> joinDao = getJoinDao(entityClass);
+        return addJoin(getPkPropertyVerified(dao), joinDao, toManyProperty);
+    }
+
+    /**
+     * Joins the given entity using arbitrary properties: the source property belongs to this QueryBuilder's entity, the
+     * destination property to the joined entity.
+     */
+    public <J> Join<T, J> join(Property sourceProperty, Class<J> entityClass, Property destinationProperty) {
+        AbstractDao<J, ?> joinDao = getJoinDao(entityClass);
+        return addJoin(sourceProperty, joinDao, destinationProperty);
+    }
+
+    private <J> Join<T, J> addJoin(Property sourceProperty, AbstractDao<J, ?> joinDao, Property destinationProperty) {
+        checkProperty(sourceProperty);
+        String joinTablePrefix = "J" + (joins.size() + 1);
+        Join<T, J> join = new Join<T, J>(tablePrefix, sourceProperty, joinDao, destinationProperty, joinTablePrefix);
+        join.whereCollector.checkProperty(destinationProperty);
+        joins.add(join);
+        return join;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <J> AbstractDao<J, ?> getJoinDao(Class<J> entityClass) {
+        AbstractDaoSession session = dao.getSession();
+        if (session == null) {
+            throw new DaoException("Joins require a DAO created by a session: " + dao);
         }
+        return (AbstractDao<J, ?>) session.getDao(entityClass);
     }
 
-    /** Not supported yet. */
-    public <J> QueryBuilder<J> join(Class<J> entityClass, Property toOneProperty) {
-        throw new UnsupportedOperationException();
-        // return new QueryBuilder<J>();
+    private Property getPkPropertyVerified(AbstractDao<?, ?> dao) {
+        Property pkProperty = dao.getPkProperty();
+        if (pkProperty == null) {
+            throw new DaoException(dao + " (" + dao.getTablename() + ") does not have a single-column primary key");
+        }
+        return pkProperty;
     }
 
-    /** Not supported yet. */
-    public <J> QueryBuilder<J> joinToMany(Class<J> entityClass, Property toManyProperty) {
-        throw new UnsupportedOperationException();
-        // @SuppressWarnings("unchecked")
-        // AbstractDao<J, ?> joinDao = (AbstractDao<J, ?>) dao.getSession().getDao(entityClass);
-        // return new QueryBuilder<J>(joinDao, "TX");
+    /**
+     * Returns each entity only once even if it matched several times (SELECT DISTINCT), e.g. because of
+     * {@link #joinToMany(Class, Property)}. Counts and aggregates (see
+     * {@link #buildAggregate(Property, AggregateQuery.Function)}) also consider each matching entity only once.
+     */
+    public QueryBuilder<T> distinct() {
+        distinct = true;
+        return this;
+    }
+
+    /**
+     * Loads the to-one relations together with the entities: the query uses the SELECT of the generated DAO's
+     * loadDeep, which LEFT JOINs all to-one targets, so {@link Query#list()} and {@link Query#unique()} need a single
+     * statement instead of one load per relation and entity. Where conditions, joins, order, limit and offset apply as
+     * usual. Lazy lists ignore the joined columns; observations also track the tables of the to-one targets. Cannot be
+     * combined with {@link #distinct()}.
+     */
+    public QueryBuilder<T> deep() {
+        deep = true;
+        return this;
+    }
+
+    /**
+     * Resolves the given relation for all entities returned by {@link Query#list()} (and unique) using batched IN
+     * queries, so accessing the relation of each entity does not run a query per entity. Pass relations from the
+     * ToOneRelations and ToManyRelations classes of the generated DAO; see
+     * {@link AbstractDao#resolveToOne(List, ToOneRelation)} and
+     * {@link AbstractDao#resolveToMany(List, ToManyRelation)}.
+     */
+    public QueryBuilder<T> prefetch(AbstractRelation<T, ?> relation) {
+        if (dao.getSession() == null) {
+            throw new DaoException("Prefetching relations requires a DAO session");
+        }
+        prefetchRelations.add(relation);
+        return this;
     }
 
     /** Adds the given properties to the ORDER BY section using ascending order. */
@@ -181,6 +259,10 @@ public class QueryBuilder<T> {
                 orderBuilder.append(" COLLATE LOCALIZED");
             }
             orderBuilder.append(ascOrDescWithLeadingSpace);
+            if (orderProperties != null) {
+                orderProperties.add(property);
+                orderDescending.add(" DESC".equals(ascOrDescWithLeadingSpace));
+            }
         }
     }
 
@@ -189,6 +271,7 @@ public class QueryBuilder<T> {
         checkOrderBuilder();
         append(orderBuilder, property).append(' ');
         orderBuilder.append(customOrderForProperty);
+        orderProperties = null;
         return this;
     }
 
@@ -199,6 +282,7 @@ public class QueryBuilder<T> {
     public QueryBuilder<T> orderRaw(String rawOrder) {
         checkOrderBuilder();
         orderBuilder.append(rawOrder);
+        orderProperties = null;
         return this;
     }
 
@@ -209,19 +293,7 @@ public class QueryBuilder<T> {
     }
 
     protected void checkProperty(Property property) {
-        if (dao != null) {
-            Property[] properties = dao.getProperties();
-            boolean found = false;
-            for (Property property2 : properties) {
-                if (property == property2) {
-                    found = true;
-                    break;
-                }
-            }
-            if (!found) {
-                throw new DaoException("Property '" + property.name + "' is not part of " + dao);
-            }
-        }
+        whereCollector.checkProperty(property);
     }
 
     /** Limits the number of results returned by queries. */
@@ -244,27 +316,339 @@ public class QueryBuilder<T> {
      * each execution.
      */
     public Query<T> build() {
-        String select;
-        if (joinBuilder == null || joinBuilder.length() == 0) {
-            select = dao.getStatements().getSelectAll();
+        String select = createSelect();
+        StringBuilder builder = new StringBuilder(select);
+        appendJoinsWheresAndOrder(builder);
+        int limitPosition = appendLimit(builder);
+        int offsetPosition = appendOffset(builder);
+
+        String sql = builder.toString();
+        if (LOG_SQL) {
+            DaoLog.d("Built SQL for query: " + sql);
+        }
+
+        if (LOG_VALUES) {
+            DaoLog.d("Values for query: " + values);
+        }
+
+        String keysSql = createKeysSql(select, sql);
+        return Query.create(dao, sql, keysSql, getTablenames(), getPrefetchRelations(), deep, values.toArray(),
+                limitPosition, offsetPosition);
+    }
+
+    /** Creates the SELECT ... FROM part of entity queries (with a trailing space). */
+    private String createSelect() {
+        if (deep) {
+            if (distinct) {
+                throw new DaoException("Deep queries cannot be distinct");
+            }
+            String selectDeep = dao.getSelectDeep();
+            if (selectDeep == null) {
+                throw new DaoException(dao + " (" + dao.getTablename() + ") has no to-one relations to load deep");
+            }
+            return selectDeep;
+        } else if (joins.isEmpty() && !distinct) {
+            return dao.getStatements().getSelectAll();
         } else {
-            select = SqlUtils.createSqlSelect(dao.getTablename(), tablePrefix, dao.getAllColumns());
+            return SqlUtils.createSqlSelect(dao.getTablename(), tablePrefix, dao.getAllColumns(), distinct);
+        }
+    }
+
+    private List<AbstractRelation<T, ?>> getPrefetchRelations() {
+        return new ArrayList<AbstractRelation<T, ?>>(prefetchRelations);
+    }
+
+    /**
+     * Names of all tables read by the query: the queried entity's table, the tables of all joins, and for deep queries
+     * the tables of the to-one targets.
+     */
+    private String[] getTablenames() {
+        List<String> tablenames = new ArrayList<String>(joins.size() + 1);
+        tablenames.add(dao.getTablename());
+        for (Join<T, ?> join : joins) {
+            addTablename(tablenames, join.daoDestination.getTablename());
+        }
+        if (deep) {
+            for (String tablename : dao.getDeepTablenames()) {
+                addTablename(tablenames, tablename);
+            }
+        }
+        return tablenames.toArray(new String[tablenames.size()]);
+    }
+
+    private void addTablename(List<String> tablenames, String tablename) {
+        if (!tablenames.contains(tablename)) {
+            tablenames.add(tablename);
+        }
+    }
+
+    /** Replaces the select part of the given SQL with one selecting only the PK (if it's a Long) or the ROWID. */
+    private String createKeysSql(String select, String sql) {
+        StringBuilder builder = new StringBuilder(distinct ? "SELECT DISTINCT " : "SELECT ");
+        Property pkProperty = dao.getPkProperty();
+        if (pkProperty != null && (pkProperty.type == Long.class || pkProperty.type == long.class)) {
+            append(builder, pkProperty);
+        } else {
+            builder.append(tablePrefix).append(".ROWID");
+        }
+        builder.append(" FROM ").append(dao.getTablename()).append(' ').append(tablePrefix).append(' ');
+        builder.append(sql, select.length(), sql.length());
+        return builder.toString();
+    }
+
+    /**
+     * Builds a reusable query selecting only the given properties. Results are read into primitive column arrays or
+     * passed row by row, without creating entities (see {@link ProjectionQuery}). This is much cheaper than loading
+     * entities if only a few columns of many rows are needed (e.g. IDs and timestamps).
+     */
+    public ProjectionQuery<T> select(Property... properties) {
+        if (properties.length == 0) {
+            throw new DaoException("Select at least one property");
         }
+        String[] columns = new String[properties.length];
+        int[] columnKinds = new int[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            checkProperty(properties[i]);
+            columns[i] = properties[i].columnName;
+            columnKinds[i] = ProjectionQuery.getColumnKind(properties[i]);
+        }
+        String select = SqlUtils.createSqlSelect(dao.getTablename(), tablePrefix, columns, distinct);
         StringBuilder builder = new StringBuilder(select);
+        appendJoinsWheresAndOrder(builder);
+        int limitPosition = appendLimit(builder);
+        int offsetPosition = appendOffset(builder);
+
+        String sql = builder.toString();
+        if (LOG_SQL) {
+            DaoLog.d("Built SQL for projection query: " + sql);
+        }
+        if (LOG_VALUES) {
+            DaoLog.d("Values for projection query: " + values);
+        }
 
-        appendWhereClause(builder, tablePrefix);
+        return ProjectionQuery.create(dao, sql, values.toArray(), columnKinds, limitPosition, offsetPosition);
+    }
+
+    /**
+     * Builds a reusable query computing an aggregate function of the given property over all rows matching the where
+     * conditions (order, limit and offset do not apply). The aggregate is calculated by the database, so no entities
+     * are loaded. With {@link #distinct()}, each matching entity is aggregated once, even if it matched several times.
+     */
+    public AggregateQuery<T> buildAggregate(Property property, AggregateQuery.Function function) {
+        StringBuilder builder = new StringBuilder("SELECT ");
+        appendAggregate(builder, property, function);
+        appendAggregateFromAndWheres(builder);
 
+        String sql = builder.toString();
+        if (LOG_SQL) {
+            DaoLog.d("Built SQL for aggregate query: " + sql);
+        }
+        if (LOG_VALUES) {
+            DaoLog.d("Values for aggregate query: " + values);
+        }
+
+        return AggregateQuery.create(dao, sql, values.toArray());
+    }
+
+    /**
+     * Builds a reusable query computing an aggregate function of the given property for each distinct value of
+     * groupProperty (GROUP BY). The {@link ProjectionResult} has two parallel columns: the group values at index 0 and
+     * the aggregates at index 1. Order, limit and offset apply to the groups.
+     */
+    public ProjectionQuery<T> buildGroupedAggregate(Property groupProperty, Property property,
+            AggregateQuery.Function function) {
+        StringBuilder builder = new StringBuilder("SELECT ");
+        append(builder, groupProperty).append(',');
+        appendAggregate(builder, property, function);
+        appendAggregateFromAndWheres(builder);
+        append(builder.append(" GROUP BY "), groupProperty);
+        appendOrder(builder);
+        int limitPosition = appendLimit(builder);
+        int offsetPosition = appendOffset(builder);
+
+        String sql = builder.toString();
+        if (LOG_SQL) {
+            DaoLog.d("Built SQL for grouped aggregate query: " + sql);
+        }
+        if (LOG_VALUES) {
+            DaoLog.d("Values for grouped aggregate query: " + values);
+        }
+
+        int[] columnKinds = { ProjectionQuery.getColumnKind(groupProperty), function.getColumnKind(property) };
+        return ProjectionQuery.create(dao, sql, values.toArray(), columnKinds, limitPosition, offsetPosition);
+    }
+
+    /**
+     * Builds a pager that fetches pages of pageSize entities using keyset pagination ("seek method"): instead of an
+     * OFFSET, which makes SQLite step over all skipped rows, each following page is selected by a WHERE condition on
+     * the order property values of the last entity of the previous page. Thus every page is fetched in logarithmic time
+     * if there is an index matching the order. The primary key is added as the final order property to make the order
+     * unique. Only {@link #orderAsc(Property...)} and {@link #orderDesc(Property...)} may be used for ordering, and
+     * order properties must not contain NULL values. Limit and offset cannot be used; the page size limits each page.
+     */
+    public KeysetPager<T> buildKeysetPager(int pageSize) {
+        if (pageSize < 1) {
+            throw new DaoException("Illegal page size: " + pageSize);
+        }
+        if (orderProperties == null) {
+            throw new DaoException("Keyset paging supports orderAsc and orderDesc only (no custom or raw order)");
+        }
+        if (offset != null) {
+            throw new DaoException("Keyset paging cannot be combined with an offset");
+        }
+        if (limit != null) {
+            throw new DaoException("Keyset paging cannot be combined with a limit; use the page size instead");
+        }
+        Property pkProperty = getPkPropertyVerified(dao);
+        List<Property> seekProperties = new ArrayList<Property>(orderProperties);
+        List<Boolean> seekDescending = new ArrayList<Boolean>(orderDescending);
+        StringBuilder seekOrder = new StringBuilder();
+        if (orderBuilder != null && orderBuilder.length() > 0) {
+            seekOrder.append(orderBuilder);
+        }
+        if (!seekProperties.contains(pkProperty)) {
+            seekProperties.add(pkProperty);
+            seekDescending.add(false);
+            if (seekOrder.length() > 0) {
+                seekOrder.append(',');
+            }
+            append(seekOrder, pkProperty).append(" ASC");
+        }
+        for (Property property : seekProperties) {
+            if (ProjectionQuery.getColumnKind(property) == ProjectionResult.KIND_BLOB) {
+                throw new DaoException("Keyset paging does not support ordering by blob property " + property.name);
+            }
+        }
+
+        Property[] properties = seekProperties.toArray(new Property[seekProperties.size()]);
+        Query<T> firstPageQuery = buildKeysetQuery(properties, seekDescending, seekOrder, pageSize, null);
+        List<Integer> seekParameterColumns = new ArrayList<Integer>();
+        Query<T> nextPageQuery = buildKeysetQuery(properties, seekDescending, seekOrder, pageSize,
+                seekParameterColumns);
+        int[] parameterColumns = new int[seekParameterColumns.size()];
+        for (int i = 0; i < parameterColumns.length; i++) {
+            parameterColumns[i] = seekParameterColumns.get(i);
+        }
+        int firstSeekParameter = values.size() - parameterColumns.length - 1;
+        return new KeysetPager<T>(firstPageQuery, nextPageQuery, properties, firstSeekParameter, parameterColumns,
+                pageSize);
+    }
+
+    /**
+     * Counts the matching entities and returns a list loading them on access page by page using keyset queries (see
+     * {@link #buildKeysetPager(int)} for the requirements on the order). Unlike {@link #listLazy()}, the list keeps no
+     * cursor open and does not need to be closed; see {@link KeysetLazyList} for details.
+     */
+    public KeysetLazyList<T> listLazyKeyset(int pageSize) {
+        KeysetPager<T> pager = buildKeysetPager(pageSize);
+        long count = buildCount().count();
+        return new KeysetLazyList<T>(pager, (int) count);
+    }
+
+    /**
+     * Builds the SQL for a page. If seekParameterColumns is not null, a seek condition like
+     * {@code a>=? AND (a>? OR (a=? AND pk>?))} is added (row values like {@code (a,pk)>(?,?)} require SQLite 3.15),
+     * and the index into properties is recorded for each of its parameters.
+     */
+    private Query<T> buildKeysetQuery(Property[] properties, List<Boolean> descending, StringBuilder order,
+            int pageSize, List<Integer> seekParameterColumns) {
+        String select = createSelect();
+        StringBuilder builder = new StringBuilder(select);
+        boolean whereAppended = appendJoinsAndWheres(builder, tablePrefix);
+        if (seekParameterColumns != null) {
+            builder.append(whereAppended ? " AND " : " WHERE ");
+            appendSeekColumn(builder, properties[0]).append(descending.get(0) ? "<=?" : ">=?");
+            values.add(null);
+            seekParameterColumns.add(0);
+            builder.append(" AND (");
+            for (int i = 0; i < properties.length; i++) {
+                if (i > 0) {
+                    builder.append(" OR ");
+                }
+                builder.append('(');
+                for (int j = 0; j < i; j++) {
+                    appendSeekColumn(builder, properties[j]).append("=? AND ");
+                    values.add(null);
+                    seekParameterColumns.add(j);
+                }
+                appendSeekColumn(builder, properties[i]).append(descending.get(i) ? "<?" : ">?");
+                values.add(null);
+                seekParameterColumns.add(i);
+                builder.append(')');
+            }
+            builder.append(')');
+        }
+        if (order.length() > 0) {
+            builder.append(" ORDER BY ").append(order);
+        }
+        builder.append(" LIMIT ?");
+        values.add(pageSize);
+        int limitPosition = values.size() - 1;
+
+        String sql = builder.toString();
+        if (LOG_SQL) {
+            DaoLog.d("Built SQL for keyset query: " + sql);
+        }
+        if (LOG_VALUES) {
+            DaoLog.d("Values for keyset query: " + values);
+        }
+        return Query.create(dao, sql, createKeysSql(select, sql), getTablenames(), getPrefetchRelations(), deep,
+                values.toArray(), limitPosition, -1);
+    }
+
+    /** Appends the column using the same collation as the ORDER BY of orderAsc/orderDesc. */
+    private StringBuilder appendSeekColumn(StringBuilder builder, Property property) {
+        append(builder, property);
+        if (String.class.equals(property.type)) {
+            builder.append(" COLLATE LOCALIZED");
+        }
+        return builder;
+    }
+
+    private void appendAggregate(StringBuilder builder, Property property, AggregateQuery.Function function) {
+        builder.append(function.sqlPrefix);
+        append(builder, property).append(')');
+    }
+
+    /**
+     * Appends FROM, joins and where conditions for aggregates. If distinct, the rows are selected by their distinct
+     * ROWIDs, so entities matching several times (e.g. because of joins) are aggregated only once.
+     */
+    private void appendAggregateFromAndWheres(StringBuilder builder) {
+        String tablename = dao.getTablename();
+        builder.append(" FROM ").append(tablename).append(' ').append(tablePrefix);
+        if (distinct) {
+            builder.append(" WHERE ").append(tablePrefix).append(".ROWID IN (SELECT DISTINCT ");
+            builder.append(tablePrefix).append(".ROWID FROM ").append(tablename).append(' ').append(tablePrefix);
+            appendJoinsAndWheres(builder, tablePrefix);
+            builder.append(')');
+        } else {
+            appendJoinsAndWheres(builder, tablePrefix);
+        }
+    }
+
+    private void appendJoinsWheresAndOrder(StringBuilder builder) {
+        appendJoinsAndWheres(builder, tablePrefix);
+        appendOrder(builder);
+    }
+
+    private void appendOrder(StringBuilder builder) {
         if (orderBuilder != null && orderBuilder.length() > 0) {
             builder.append(" ORDER BY ").append(orderBuilder);
         }
+    }
 
+    private int appendLimit(StringBuilder builder) {
         int limitPosition = -1;
         if (limit != null) {
             builder.append(" LIMIT ?");
             values.add(limit);
             limitPosition = values.size() - 1;
         }
+        return limitPosition;
+    }
 
+    private int appendOffset(StringBuilder builder) {
         int offsetPosition = -1;
         if (offset != null) {
             if (limit == null) {
@@ -274,24 +658,7 @@ public class QueryBuilder<T> {
             values.add(offset);
             offsetPosition = values.size() - 1;
         }
-
-        String sql = builder.toString();
-        if (LOG_SQL) {
-            DaoLog.d("Built SQL for query: " + sql);
-        }
-
-        if (LOG_VALUES) {
-            DaoLog.d("Values for query: " + values);
-        }
-
-        Query<T> query = new Query<T>(dao, sql, values);
-        if (limitPosition != -1) {
-            query.setLimitPosition(limitPosition);
-        }
-        if (offsetPosition != -1) {
-            query.setOffsetPosition(offsetPosition);
-        }
-        return query;
+        return offsetPosition;
     }
 
     /**
@@ -302,7 +669,15 @@ public class QueryBuilder<T> {
         String tablename = dao.getTablename();
         String baseSql = SqlUtils.createSqlDelete(tablename, null);
         StringBuilder builder = new StringBuilder(baseSql);
-        appendWhereClause(builder, tablename);
+        if (joins.isEmpty()) {
+            appendJoinsAndWheres(builder, tablename);
+        } else {
+            // DELETE does not support joins, so use a sub query selecting the row IDs
+            builder.append(" WHERE ROWID IN (SELECT ").append(tablePrefix).append(".ROWID FROM ");
+            builder.append(tablename).append(' ').append(tablePrefix);
+            appendJoinsAndWheres(builder, tablePrefix);
+            builder.append(')');
+        }
         String sql = builder.toString();
 
         if (LOG_SQL) {
@@ -312,7 +687,54 @@ public class QueryBuilder<T> {
             DaoLog.d("Values for delete query: " + values);
         }
 
-        return new DeleteQuery<T>(dao, sql, values);
+        String keysSql = createPkSelectSql();
+        return DeleteQuery.create(dao, sql, keysSql, values.toArray());
+    }
+
+    /**
+     * Builds a reusable query object for updating all matching rows with a single UPDATE statement; use
+     * {@link UpdateQuery#set(Property, Object)} to define the new values. This is much faster than loading and
+     * updating entities one by one.
+     */
+    public UpdateQuery<T> buildUpdate() {
+        String tablename = dao.getTablename();
+        StringBuilder builder = new StringBuilder();
+        if (joins.isEmpty()) {
+            appendJoinsAndWheres(builder, tablename);
+        } else {
+            // UPDATE does not support joins, so use a sub query selecting the row IDs
+            builder.append(" WHERE ROWID IN (SELECT ").append(tablePrefix).append(".ROWID FROM ");
+            builder.append(tablename).append(' ').append(tablePrefix);
+            appendJoinsAndWheres(builder, tablePrefix);
+            builder.append(')');
+        }
+        String whereSql = builder.toString();
+        String keysSql = createPkSelectSql();
+
+        if (LOG_SQL) {
+            DaoLog.d("Built SQL for update query: UPDATE " + tablename + " SET ..." + whereSql);
+        }
+        if (LOG_VALUES) {
+            DaoLog.d("Values for update query: " + values);
+        }
+
+        return UpdateQuery.create(dao, whereSql, keysSql, values.toArray());
+    }
+
+    /**
+     * Selects the PKs of all matching rows (with the same parameters as other queries built by this builder), or null
+     * if there is no single PK.
+     */
+    private String createPkSelectSql() {
+        Property pkProperty = dao.getPkProperty();
+        if (pkProperty == null) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(distinct ? "SELECT DISTINCT " : "SELECT ");
+        append(builder, pkProperty);
+        builder.append(" FROM ").append(dao.getTablename()).append(' ').append(tablePrefix);
+        appendJoinsAndWheres(builder, tablePrefix);
+        return builder.toString();
     }
 
     /**
@@ -321,9 +743,22 @@ public class QueryBuilder<T> {
      */
     public CountQuery<T> buildCount() {
         String tablename = dao.getTablename();
-        String baseSql = SqlUtils.createSqlSelectCountStar(tablename);
-        StringBuilder builder = new StringBuilder(baseSql);
-        appendWhereClause(builder, tablename);
+        StringBuilder builder;
+        String tablePrefixForCount;
+        if (joins.isEmpty() && !distinct) {
+            builder = new StringBuilder(SqlUtils.createSqlSelectCountStar(tablename));
+            tablePrefixForCount = tablename;
+        } else {
+            builder = new StringBuilder("SELECT COUNT(");
+            if (distinct) {
+                builder.append("DISTINCT ").append(tablePrefix).append(".ROWID");
+            } else {
+                builder.append('*');
+            }
+            builder.append(") FROM ").append(tablename).append(' ').append(tablePrefix);
+            tablePrefixForCount = tablePrefix;
+        }
+        appendJoinsAndWheres(builder, tablePrefixForCount);
         String sql = builder.toString();
 
         if (LOG_SQL) {
@@ -333,23 +768,35 @@ public class QueryBuilder<T> {
             DaoLog.d("Values for count query: " + values);
         }
 
-        return new CountQuery<T>(dao, sql, values);
+        return CountQuery.create(dao, sql, values.toArray());
     }
 
-    private void appendWhereClause(StringBuilder builder, String tablePrefixOrNull) {
+    /** Appends joins and where conditions (clearing and filling values); returns true if a WHERE was appended. */
+    private boolean appendJoinsAndWheres(StringBuilder builder, String tablePrefixOrNull) {
         values.clear();
-        if (!whereConditions.isEmpty()) {
+        for (Join<T, ?> join : joins) {
+            builder.append(" JOIN ").append(join.daoDestination.getTablename()).append(' ');
+            builder.append(join.tablePrefix).append(" ON ");
+            SqlUtils.appendColumn(builder, join.sourceTablePrefix, join.joinPropertySource.columnName).append('=');
+            SqlUtils.appendColumn(builder, join.tablePrefix, join.joinPropertyDestination.columnName);
+        }
+        boolean whereAppended = !whereCollector.isEmpty();
+        if (whereAppended) {
             builder.append(" WHERE ");
-            ListIterator<WhereCondition> iter = whereConditions.listIterator();
-            while (iter.hasNext()) {
-                if (iter.hasPrevious()) {
+            whereCollector.appendWhereClause(builder, tablePrefixOrNull, values);
+        }
+        for (Join<T, ?> join : joins) {
+            if (!join.whereCollector.isEmpty()) {
+                if (!whereAppended) {
+                    builder.append(" WHERE ");
+                    whereAppended = true;
+                } else {
                     builder.append(" AND ");
                 }
-                WhereCondition condition = iter.next();
-                condition.appendTo(builder, tablePrefixOrNull);
-                condition.appendValuesTo(values);
+                join.whereCollector.appendWhereClause(builder, join.tablePrefix, values);
             }
         }
+        return whereAppended;
     }
 
     /**
@@ -370,6 +817,14 @@ public class QueryBuilder<T> {
         return build().listLazy();
     }
 
+    /**
+     * Shorthand for {@link QueryBuilder#deep() deep()}.{@link QueryBuilder#build() build()}.{@link Query#list()
+     * list()}: loads the entities together with their to-one relations using a single statement.
+     */
+    public List<T> listDeep() {
+        return deep().build().list();
+    }
+
     /**
      * Shorthand for {@link QueryBuilder#build() build()}.{@link Query#listLazyUncached() listLazyUncached()}; see
      * {@link Query#listLazyUncached()} for details. To execute a query more than once, you should build the query and
@@ -379,6 +834,15 @@ public class QueryBuilder<T> {
         return build().listLazyUncached();
     }
 
+    /**
+     * Shorthand for {@link QueryBuilder#build() build()}.{@link Query#listLazyWindowed(int)
+     * listLazyWindowed(windowCapacity)}; see {@link Query#listLazyWindowed(int)} for details. To execute a query more
+     * than once, you should build the query and keep the {@link Query} object for efficiency reasons.
+     */
+    public LazyList<T> listLazyWindowed(int windowCapacity) {
+        return build().listLazyWindowed(windowCapacity);
+    }
+
     /**
      * Shorthand for {@link QueryBuilder#build() build()}.{@link Query#listIterator() listIterator()}; see
      * {@link Query#listIterator()} for details. To execute a query more than once, you should build the query and keep
@@ -415,4 +879,13 @@ public class QueryBuilder<T> {
         return buildCount().count();
     }
 
+    /**
+     * Shorthand for {@link QueryBuilder#buildAggregate(Property, AggregateQuery.Function) buildAggregate(property,
+     * Function.COUNT_DISTINCT)}.{@link AggregateQuery#longValue() longValue()}: counts the distinct non-null values of
+     * the given property.
+     */
+    public long countDistinct(Property property) {
+        return buildAggregate(property, AggregateQuery.Function.COUNT_DISTINCT).longValue();
+    }
+
 }
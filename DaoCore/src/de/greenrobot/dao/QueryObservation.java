@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An active observation of a query created by {@link Query#observe(QueryObserver)}. Keeps the parameter values the
+ * query had at that time. Cancel it once the results are not needed anymore.
+ * 
+ * @param <T>
+ *            Entity type
+ */
+public class QueryObservation<T> {
+    private final ChangeTracker changeTracker;
+    private final Query<T> query;
+    private final Object[] parameterValues;
+    private final String[] tablenames;
+    private final QueryObserver<T> observer;
+
+    /** Table versions at the last execution; accessed by the tracker thread only. */
+    private long[] executedVersions;
+    private volatile boolean canceled;
+
+    QueryObservation(ChangeTracker changeTracker, Query<T> query, Object[] parameterValues, String[] tablenames,
+            QueryObserver<T> observer) {
+        this.changeTracker = changeTracker;
+        this.query = query;
+        this.parameterValues = parameterValues;
+        this.tablenames = tablenames;
+        this.observer = observer;
+    }
+
+    /** Stops notifying the observer; a refresh already running may still complete. */
+    public void cancel() {
+        canceled = true;
+        changeTracker.removeObservation(this);
+    }
+
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    /** Names of the tables read by the query. */
+    public String[] getTablenames() {
+        return tablenames.clone();
+    }
+
+    /** Executes the query and notifies the observer if a table was changed since the last execution. */
+    void refreshIfChanged(ChangeTracker tracker) {
+        if (canceled) {
+            return;
+        }
+        // Get versions before executing, so changes made during the execution trigger another refresh
+        long[] versions = tracker.getVersions(tablenames);
+        if (executedVersions != null && Arrays.equals(versions, executedVersions)) {
+            return;
+        }
+        executedVersions = versions;
+        List<T> result = query.copyForCurrentThread(parameterValues).list();
+        if (!canceled) {
+            observer.onQueryResult(result);
+        }
+    }
+
+}
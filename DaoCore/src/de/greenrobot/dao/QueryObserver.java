@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import java.util.List;
+
+/**
+ * Receives the results of an observed query; see {@link Query#observe(QueryObserver)}. Called on the background thread
+ * of the {@link ChangeTracker}, so post the result to the UI thread yourself if needed.
+ * 
+ * @param <T>
+ *            Entity type
+ */
+public interface QueryObserver<T> {
+    /** Called with the initial result and again after each (coalesced) change of a table the query reads. */
+    void onQueryResult(List<T> result);
+}
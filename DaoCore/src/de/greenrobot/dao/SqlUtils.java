@@ -18,6 +18,15 @@ package de.greenrobot.dao;
 /** Helper class to create SQL statements as used by greenDAO internally. */
 public class SqlUtils {
 
+    /** Maximum number of host parameters ("?") in a single statement (SQLITE_MAX_VARIABLE_NUMBER defaults to 999). */
+    public static final int MAX_VARIABLE_NUMBER = 999;
+
+    /**
+     * Maximum number of rows in a single multi-row VALUES clause. SQLite before 3.8.8 treats them as compound SELECT,
+     * which is limited by SQLITE_MAX_COMPOUND_SELECT (defaults to 500).
+     */
+    public static final int MAX_VALUES_ROWS = 500;
+
     public static StringBuilder appendColumn(StringBuilder builder, String column) {
         builder.append('\'').append(column).append('\'');
         return builder;
@@ -82,18 +91,34 @@ public class SqlUtils {
     }
 
     public static String createSqlInsert(String insertInto, String tablename, String[] columns) {
+        return createSqlInsert(insertInto, tablename, columns, 1);
+    }
+
+    /** Creates an insert for the given number of rows ("VALUES (?,?),(?,?),..."); requires SQLite 3.7.11 for rows > 1. */
+    public static String createSqlInsert(String insertInto, String tablename, String[] columns, int rowCount) {
         StringBuilder builder = new StringBuilder(insertInto);
         builder.append(tablename).append(" (");
         appendColumns(builder, columns);
-        builder.append(") VALUES (");
-        appendPlaceholders(builder, columns.length);
-        builder.append(')');
+        builder.append(") VALUES ");
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append('(');
+            appendPlaceholders(builder, columns.length);
+            builder.append(')');
+        }
         return builder.toString();
     }
 
     /** Creates an select for given columns with a trailing space */
     public static String createSqlSelect(String tablename, String tableAlias, String[] columns) {
-        StringBuilder builder = new StringBuilder("SELECT ");
+        return createSqlSelect(tablename, tableAlias, columns, false);
+    }
+
+    /** Creates an select (optionally SELECT DISTINCT) for given columns with a trailing space */
+    public static String createSqlSelect(String tablename, String tableAlias, String[] columns, boolean distinct) {
+        StringBuilder builder = new StringBuilder(distinct ? "SELECT DISTINCT " : "SELECT ");
         if (tableAlias == null || tableAlias.length() < 0) {
             throw new DaoException("Table alias required");
         }
@@ -119,6 +144,18 @@ public class SqlUtils {
         return builder.toString();
     }
 
+    /**
+     * Creates a delete for the given number of values of a single column, qualified by the table name, e.g.
+     * "DELETE FROM NOTE WHERE NOTE.'_id' IN (?,?,...)".
+     */
+    public static String createSqlDeleteIn(String tablename, String column, int valueCount) {
+        StringBuilder builder = new StringBuilder("DELETE FROM ");
+        builder.append(tablename).append(" WHERE ");
+        appendColumn(builder, tablename, column).append(" IN (");
+        appendPlaceholders(builder, valueCount).append(')');
+        return builder.toString();
+    }
+
     public static String createSqlUpdate(String tablename, String[] updateColumns, String[] whereColumns) {
         StringBuilder builder = new StringBuilder("UPDATE ");
         builder.append(tablename).append(" SET ");
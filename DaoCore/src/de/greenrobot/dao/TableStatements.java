@@ -27,18 +27,25 @@ public class TableStatements {
 
     private SQLiteStatement insertStatement;
     private SQLiteStatement insertOrReplaceStatement;
+    private SQLiteStatement multiRowInsertStatement;
+    private SQLiteStatement multiRowInsertOrReplaceStatement;
     private SQLiteStatement updateStatement;
     private SQLiteStatement deleteStatement;
+    private SQLiteStatement deleteInStatement;
 
     private volatile String selectAll;
     private volatile String selectByKey;
     private volatile String selectByRowId;
+    private volatile String selectByKeys;
+
+    private final int multiRowInsertCount;
 
     protected TableStatements(SQLiteDatabase db, String tablename, String[] allColumns, String[] pkColumns) {
         this.db = db;
         this.tablename = tablename;
         this.allColumns = allColumns;
         this.pkColumns = pkColumns;
+        multiRowInsertCount = Math.min(SqlUtils.MAX_VARIABLE_NUMBER / allColumns.length, SqlUtils.MAX_VALUES_ROWS);
     }
 
     protected SQLiteStatement getInsertStatement() {
@@ -57,6 +64,28 @@ public class TableStatements {
         return insertOrReplaceStatement;
     }
 
+    /** Number of rows inserted by a single multi-row insert statement. */
+    protected int getMultiRowInsertCount() {
+        return multiRowInsertCount;
+    }
+
+    protected SQLiteStatement getMultiRowInsertStatement() {
+        if (multiRowInsertStatement == null) {
+            String sql = SqlUtils.createSqlInsert("INSERT INTO ", tablename, allColumns, multiRowInsertCount);
+            multiRowInsertStatement = db.compileStatement(sql);
+        }
+        return multiRowInsertStatement;
+    }
+
+    protected SQLiteStatement getMultiRowInsertOrReplaceStatement() {
+        if (multiRowInsertOrReplaceStatement == null) {
+            String sql = SqlUtils.createSqlInsert("INSERT OR REPLACE INTO ", tablename, allColumns,
+                    multiRowInsertCount);
+            multiRowInsertOrReplaceStatement = db.compileStatement(sql);
+        }
+        return multiRowInsertOrReplaceStatement;
+    }
+
     protected SQLiteStatement getDeleteStatement() {
         if (deleteStatement == null) {
             String sql = SqlUtils.createSqlDelete(tablename, pkColumns);
@@ -65,6 +94,23 @@ public class TableStatements {
         return deleteStatement;
     }
 
+    /** Number of keys deleted by a single statement returned by {@link #getDeleteInStatement()}. */
+    protected int getDeleteInCount() {
+        return SqlUtils.MAX_VARIABLE_NUMBER;
+    }
+
+    /**
+     * Deletes up to {@link #getDeleteInCount()} rows by their single-column PK (unbound placeholders are NULL and match
+     * nothing); requires a single PK column.
+     */
+    protected SQLiteStatement getDeleteInStatement() {
+        if (deleteInStatement == null) {
+            String sql = SqlUtils.createSqlDeleteIn(tablename, pkColumns[0], getDeleteInCount());
+            deleteInStatement = db.compileStatement(sql);
+        }
+        return deleteInStatement;
+    }
+
     protected SQLiteStatement getUpdateStatement() {
         if (updateStatement == null) {
             String sql = SqlUtils.createSqlUpdate(tablename, allColumns, pkColumns);
@@ -81,7 +127,7 @@ public class TableStatements {
         return selectAll;
     }
 
-    // TODO precompile
+    /** Cached so SQLite's per-connection statement cache recognizes the SQL and does not prepare it again. */
     protected String getSelectByKey() {
         if (selectByKey == null) {
             StringBuilder builder = new StringBuilder(getSelectAll());
@@ -92,6 +138,23 @@ public class TableStatements {
         return selectByKey;
     }
 
+    /** Selects the given number of entities by their single-column PK ("WHERE T.'ID' IN (?,?,...)"). */
+    protected String getSelectByKeys(int keyCount) {
+        boolean cache = keyCount == SqlUtils.MAX_VARIABLE_NUMBER;
+        if (cache && selectByKeys != null) {
+            return selectByKeys;
+        }
+        StringBuilder builder = new StringBuilder(getSelectAll());
+        builder.append("WHERE ");
+        SqlUtils.appendColumn(builder, "T", pkColumns[0]).append(" IN (");
+        SqlUtils.appendPlaceholders(builder, keyCount).append(')');
+        String sql = builder.toString();
+        if (cache) {
+            selectByKeys = sql;
+        }
+        return sql;
+    }
+
     public String getSelectByRowId() {
         if (selectByRowId == null) {
             selectByRowId = getSelectAll() + "WHERE ROWID=?";
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A to-many relation of a source entity, which can be resolved for many source entities at once instead of running
+ * one query per entity (N+1 queries); see {@link AbstractDao#resolveToMany(List, ToManyRelation)} and
+ * {@link QueryBuilder#prefetch(AbstractRelation)}. Instances are generated into the ToManyRelations class of the source
+ * entity's DAO.
+ * 
+ * @param <SRC>
+ *            Entity type owning the relation
+ * @param <DST>
+ *            Entity type of the relation targets
+ */
+public abstract class ToManyRelation<SRC, DST> extends AbstractRelation<SRC, DST> {
+    /** Number of source keys per IN query, which stays below SQLite's default limit of 999 host parameters. */
+    private static final int CHUNK_SIZE = 500;
+
+    private final Property[] targetProperties;
+    private final String order;
+
+    /**
+     * @param targetProperties
+     *            Properties of the target entity referencing the source properties (e.g. the FK to the source PK)
+     * @param order
+     *            ORDER BY clause for the targets (without table prefix) or null
+     */
+    public ToManyRelation(String name, Class<DST> targetEntityClass, Property[] targetProperties, String order) {
+        super(name, targetEntityClass);
+        this.targetProperties = targetProperties;
+        this.order = order;
+    }
+
+    /** Values of the source entity's properties referenced by the target properties (usually just the PK). */
+    protected abstract Object[] getSourceValues(SRC entity);
+
+    /** Values of the target entity's properties referencing the source (usually just the FK). */
+    protected abstract Object[] getTargetValues(DST entity);
+
+    /** Sets the targets as the resolved relation of the source entity, so its getter will not query again. */
+    protected abstract void setResolved(SRC entity, List<DST> targets);
+
+    /**
+     * Loads the targets of all given source entities using IN queries (in chunks) and sets them in the source entities
+     * grouped by their references.
+     */
+    @Override
+    void resolve(AbstractDaoSession session, List<SRC> entities) {
+        Map<Object, List<DST>> targetsByKey = new HashMap<Object, List<DST>>();
+        // Query by the first property only; additional properties are matched when grouping the targets in memory
+        List<Object> queryValues = new ArrayList<Object>();
+        Set<Object> queryValuesSet = new HashSet<Object>();
+        for (SRC entity : entities) {
+            Object[] values = getSourceValues(entity);
+            Object key = toKey(values);
+            if (key != null && !targetsByKey.containsKey(key)) {
+                targetsByKey.put(key, new ArrayList<DST>());
+                Object queryValue = normalize(values[0]);
+                if (queryValuesSet.add(queryValue)) {
+                    queryValues.add(queryValue);
+                }
+            }
+        }
+
+        if (!queryValues.isEmpty()) {
+            AbstractDao<DST, ?> targetDao = getTargetDao(session);
+            int size = queryValues.size();
+            for (int offset = 0; offset < size; offset += CHUNK_SIZE) {
+                List<Object> chunk = queryValues.subList(offset, Math.min(offset + CHUNK_SIZE, size));
+                QueryBuilder<DST> queryBuilder = targetDao.queryBuilder().where(targetProperties[0].in(chunk));
+                if (order != null) {
+                    queryBuilder.orderRaw(order);
+                }
+                // All targets of one key are in the same chunk, so the order within each group is kept
+                for (DST target : queryBuilder.list()) {
+                    List<DST> targets = targetsByKey.get(toKey(getTargetValues(target)));
+                    if (targets != null) {
+                        targets.add(target);
+                    }
+                }
+            }
+        }
+
+        Set<Object> assignedKeys = new HashSet<Object>();
+        for (SRC entity : entities) {
+            Object key = toKey(getSourceValues(entity));
+            List<DST> targets;
+            if (key == null) {
+                // Like the generated getter, which queries for "= NULL"
+                targets = new ArrayList<DST>();
+            } else {
+                targets = targetsByKey.get(key);
+                if (!assignedKeys.add(key)) {
+                    // Another source entity shares the key; don't share the list
+                    targets = new ArrayList<DST>(targets);
+                }
+            }
+            setResolved(entity, targets);
+        }
+    }
+
+    /** Key for grouping; null if a value is null. */
+    private static Object toKey(Object[] values) {
+        if (values.length == 1) {
+            return normalize(values[0]);
+        }
+        Object[] normalized = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                return null;
+            }
+            normalized[i] = normalize(values[i]);
+        }
+        return Collections.unmodifiableList(Arrays.asList(normalized));
+    }
+
+    /** Integral numbers are mapped to Long, so source and target properties of different integer types match. */
+    private static Object normalize(Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        return value;
+    }
+
+}
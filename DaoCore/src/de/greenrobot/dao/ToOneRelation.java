@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A to-one relation of a source entity (using a FK property), which can be resolved for many source entities at once
+ * instead of loading the target of each entity separately; see {@link AbstractDao#resolveToOne(List, ToOneRelation)}
+ * and {@link QueryBuilder#prefetch(AbstractRelation)}. Targets present in the identity scope are taken from there, the
+ * others are loaded using IN queries (see {@link AbstractDao#loadByKeysAsMap(java.util.Collection)}). Unlike deep
+ * loading (loadDeep and queryDeep), this does not join the target columns into each row. Instances are generated into
+ * the ToOneRelations class of the source entity's DAO.
+ * 
+ * @param <SRC>
+ *            Entity type owning the relation
+ * @param <DST>
+ *            Entity type of the relation target
+ */
+public abstract class ToOneRelation<SRC, DST> extends AbstractRelation<SRC, DST> {
+
+    public ToOneRelation(String name, Class<DST> targetEntityClass) {
+        super(name, targetEntityClass);
+    }
+
+    /** Value of the FK property referencing the target's PK; may be null. */
+    protected abstract Object getFkValue(SRC entity);
+
+    /** Sets the target as the resolved relation for the entity's current FK value, so its getter will not load again. */
+    protected abstract void setResolved(SRC entity, DST target);
+
+    @Override
+    void resolve(AbstractDaoSession session, List<SRC> entities) {
+        Set<Object> keys = new LinkedHashSet<Object>();
+        for (SRC entity : entities) {
+            Object key = getFkValue(entity);
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        Map<Object, DST> targets;
+        if (keys.isEmpty()) {
+            targets = Collections.emptyMap();
+        } else {
+            @SuppressWarnings("unchecked")
+            AbstractDao<DST, Object> targetDao = (AbstractDao<DST, Object>) getTargetDao(session);
+            targets = targetDao.loadByKeysAsMap(keys);
+        }
+        for (SRC entity : entities) {
+            Object key = getFkValue(entity);
+            // Like the generated getter, a key without a target (or a null key) resolves to null
+            setResolved(entity, key != null ? targets.get(key) : null);
+        }
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import de.greenrobot.dao.WhereCondition.PropertyCondition;
+
+/**
+ * A repeatable query updating all matching rows with a single UPDATE statement (set-based, no entities are loaded).
+ * Define the new column values using {@link #set(Property, Object)}; query parameters (see setParameter methods) refer
+ * to the where conditions only.<br/>
+ * New API note: this is more likely to change.
+ * 
+ * @param <T>
+ *            The enitity class the query will update.
+ * @see QueryBuilder#buildUpdate()
+ */
+public class UpdateQuery<T> extends AbstractQuery<T> {
+
+    private final static class QueryData<T2> extends AbstractQueryData<T2, UpdateQuery<T2>> {
+        private final String keysSql;
+
+        QueryData(AbstractDao<T2, ?> dao, String sql, String keysSql, Object[] initialValues) {
+            super(dao, sql, initialValues);
+            this.keysSql = keysSql;
+        }
+
+        @Override
+        protected UpdateQuery<T2> createQuery() {
+            return new UpdateQuery<T2>(this, dao, sql, keysSql, initialValues);
+        }
+    }
+
+    /**
+     * @param whereSql
+     *            The WHERE part of the UPDATE statement
+     * @param keysSql
+     *            Selects the PKs of the rows matching whereSql (same parameters); null if there is no single PK
+     */
+    static <T2> UpdateQuery<T2> create(AbstractDao<T2, ?> dao, String whereSql, String keysSql,
+            Object[] initialValues) {
+        QueryData<T2> queryData = new QueryData<T2>(dao, whereSql, keysSql, initialValues);
+        return queryData.forCurrentThread();
+    }
+
+    private final QueryData<T> queryData;
+    private final String keysSql;
+    private final List<Property> setProperties;
+    private final List<Object> setValues;
+    private SQLiteStatement compiledStatement;
+
+    private UpdateQuery(QueryData<T> queryData, AbstractDao<T, ?> dao, String whereSql, String keysSql,
+            Object[] initialValues) {
+        super(dao, whereSql, initialValues);
+        this.queryData = queryData;
+        this.keysSql = keysSql;
+        setProperties = new ArrayList<Property>();
+        setValues = new ArrayList<Object>();
+    }
+
+    /**
+     * See {@link Query#forCurrentThread()}. Note: values defined by {@link #set(Property, Object)} are not shared
+     * between threads and must be set on the returned instance.
+     */
+    public UpdateQuery<T> forCurrentThread() {
+        return queryData.forCurrentThread(this);
+    }
+
+    /**
+     * Sets the given property to the given value for all matching rows. The value is checked like values of where
+     * conditions (e.g. Dates are converted to milliseconds). Numbers, Booleans (1 or 0), and byte arrays (blobs) are
+     * bound natively; other objects are bound using their String representation.
+     */
+    public synchronized UpdateQuery<T> set(Property property, Object value) {
+        checkThread();
+        WhereCollector.checkProperty(dao, property);
+        Object bindValue = PropertyCondition.checkValueForType(property, value);
+        int index = setProperties.indexOf(property);
+        if (index == -1) {
+            setProperties.add(property);
+            setValues.add(bindValue);
+            if (compiledStatement != null) {
+                compiledStatement.close();
+                compiledStatement = null;
+            }
+        } else {
+            setValues.set(index, bindValue);
+        }
+        return this;
+    }
+
+    /**
+     * Updates all matching rows and removes the affected entities from the identity scope (aka session/cache) in a
+     * single locked pass, so they will be loaded again with the new values. Entity objects already held by the
+     * application are not modified. Runs in a transaction.
+     */
+    public synchronized void executeUpdate() {
+        checkThread();
+        SQLiteDatabase db = dao.db;
+        db.beginTransaction();
+        try {
+            if (dao.identityScope == null) {
+                executeUpdateWithoutDetachingEntities();
+            } else if (keysSql != null) {
+                executeUpdateAndDetachKeys(dao);
+            } else {
+                executeUpdateWithoutDetachingEntities();
+                dao.identityScope.clear();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        dao.changeTracker.onTransactionEnded(db);
+    }
+
+    private <K> void executeUpdateAndDetachKeys(AbstractDao<T, K> dao) {
+        // Get keys before the update, which may change the rows to not match the conditions anymore
+        List<K> keys = loadKeys(dao, keysSql);
+        executeUpdateWithoutDetachingEntities();
+        dao.detachKeys(keys);
+    }
+
+    /**
+     * Updates all matching rows without detaching them from the identity scope (aka session/cache). Note that this
+     * method may lead to stale entity objects in the session cache.
+     */
+    public synchronized void executeUpdateWithoutDetachingEntities() {
+        checkThread();
+        if (setProperties.isEmpty()) {
+            throw new DaoException("No values to update; call set(Property, Object) before");
+        }
+        long[] inValueKeys = insertInValues();
+        try {
+            if (compiledStatement == null) {
+                compiledStatement = dao.db.compileStatement(createSql());
+            }
+            int setCount = setValues.size();
+            bindParameters(compiledStatement, setCount + 1);
+            for (int i = 0; i < setCount; i++) {
+                DatabaseUtils.bindObjectToProgram(compiledStatement, i + 1, setValues.get(i));
+            }
+            compiledStatement.execute();
+        } finally {
+            endInValues(inValueKeys);
+        }
+        dao.notifyTableChanged();
+    }
+
+    private String createSql() {
+        StringBuilder builder = new StringBuilder("UPDATE ").append(dao.getTablename()).append(" SET ");
+        for (int i = 0; i < setProperties.size(); i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            SqlUtils.appendColumn(builder, setProperties.get(i).columnName).append("=?");
+        }
+        builder.append(sql);
+        String updateSql = builder.toString();
+        if (QueryBuilder.LOG_SQL) {
+            DaoLog.d("Built SQL for update query: " + updateSql);
+        }
+        return updateSql;
+    }
+
+}
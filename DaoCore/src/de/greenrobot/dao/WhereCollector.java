@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.greenrobot.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+
+import de.greenrobot.dao.WhereCondition.InCondition;
+import de.greenrobot.dao.WhereCondition.PropertyCondition;
+
+/** Internal class to collect WHERE conditions of a single entity (table alias). */
+class WhereCollector<T> {
+    private final AbstractDao<T, ?> dao;
+    private final List<WhereCondition> whereConditions;
+    private final String tablePrefix;
+
+    WhereCollector(AbstractDao<T, ?> dao, String tablePrefix) {
+        this.dao = dao;
+        this.tablePrefix = tablePrefix;
+        whereConditions = new ArrayList<WhereCondition>();
+    }
+
+    void add(WhereCondition cond, WhereCondition... condMore) {
+        checkCondition(cond);
+        whereConditions.add(cond);
+        for (WhereCondition whereCondition : condMore) {
+            checkCondition(whereCondition);
+            whereConditions.add(whereCondition);
+        }
+    }
+
+    WhereCondition combineWhereConditions(String combineOp, WhereCondition cond1, WhereCondition cond2,
+            WhereCondition... condMore) {
+        StringBuilder builder = new StringBuilder("(");
+        List<Object> combinedValues = new ArrayList<Object>();
+
+        addCondition(builder, combinedValues, cond1);
+        builder.append(combineOp);
+        addCondition(builder, combinedValues, cond2);
+
+        for (WhereCondition cond : condMore) {
+            builder.append(combineOp);
+            addCondition(builder, combinedValues, cond);
+        }
+        builder.append(')');
+        return new WhereCondition.StringCondition(builder.toString(), combinedValues.toArray());
+    }
+
+    void addCondition(StringBuilder builder, List<Object> values, WhereCondition condition) {
+        checkCondition(condition);
+        appendCondition(builder, tablePrefix, values, condition);
+    }
+
+    /** Appends the condition and collects its values; IN conditions with many values use a temporary table. */
+    private void appendCondition(StringBuilder builder, String tablePrefixOrNull, List<Object> values,
+            WhereCondition condition) {
+        if (condition instanceof InCondition && dao != null) {
+            InCondition inCondition = (InCondition) condition;
+            if (inCondition.getValueCount() > QueryBuilder.IN_TEMP_TABLE_THRESHOLD) {
+                inCondition.appendToUsingTempTable(builder, tablePrefixOrNull, values);
+                return;
+            }
+        }
+        condition.appendTo(builder, tablePrefixOrNull);
+        condition.appendValuesTo(values);
+    }
+
+    void checkCondition(WhereCondition whereCondition) {
+        if (whereCondition instanceof PropertyCondition) {
+            checkProperty(((PropertyCondition) whereCondition).property);
+        }
+    }
+
+    void checkProperty(Property property) {
+        if (dao != null) {
+            checkProperty(dao, property);
+        }
+    }
+
+    /** Throws a DaoException if the given property is not one of the DAO's properties. */
+    static void checkProperty(AbstractDao<?, ?> dao, Property property) {
+        Property[] properties = dao.getProperties();
+        boolean found = false;
+        for (Property property2 : properties) {
+            if (property == property2) {
+                found = true;
+                break;
+            }
+        }
+        if (!found) {
+            throw new DaoException("Property '" + property.name + "' is not part of " + dao);
+        }
+    }
+
+    /** Appends all conditions combined by AND (without the WHERE keyword) and collects their values. */
+    void appendWhereClause(StringBuilder builder, String tablePrefixOrNull, List<Object> values) {
+        ListIterator<WhereCondition> iter = whereConditions.listIterator();
+        while (iter.hasNext()) {
+            if (iter.hasPrevious()) {
+                builder.append(" AND ");
+            }
+            WhereCondition condition = iter.next();
+            appendCondition(builder, tablePrefixOrNull, values, condition);
+        }
+    }
+
+    boolean isEmpty() {
+        return whereConditions.isEmpty();
+    }
+
+}
@@ -67,7 +67,8 @@ public interface WhereCondition {
 
     public static class PropertyCondition extends AbstractCondition {
 
-        private static Object checkValueForType(Property property, Object value) {
+        /** Converts Date values to milliseconds and Boolean values of boolean properties to 1 or 0. */
+        static Object checkValueForType(Property property, Object value) {
             Class<?> type = property.type;
             if (type == Date.class) {
                 if (value instanceof Date) {
@@ -137,6 +138,66 @@ public interface WhereCondition {
         }
     }
 
+    /**
+     * An "IN" or "NOT IN" condition. If there are more values than {@link QueryBuilder#IN_TEMP_TABLE_THRESHOLD}, the
+     * query builder does not use a placeholder for each value, but selects them from a temporary table (see
+     * {@link #appendToUsingTempTable(StringBuilder, String, List)}).
+     */
+    public static class InCondition extends PropertyCondition {
+        private final boolean notIn;
+
+        public InCondition(Property property, boolean notIn, Object[] values) {
+            super(property, notIn ? " NOT IN " : " IN ", values);
+            this.notIn = notIn;
+        }
+
+        public int getValueCount() {
+            return values.length;
+        }
+
+        public boolean isNotIn() {
+            return notIn;
+        }
+
+        @Override
+        public void appendTo(StringBuilder builder, String tableAlias) {
+            super.appendTo(builder, tableAlias);
+            builder.append('(');
+            SqlUtils.appendPlaceholders(builder, values.length).append(')');
+        }
+
+        /**
+         * Appends the condition as a sub select of the temporary table and adds a single parameter instead of the
+         * values. The query inserts the values into the table for each execution only.
+         */
+        public void appendToUsingTempTable(StringBuilder builder, String tableAlias, List<Object> parameterValues) {
+            super.appendTo(builder, tableAlias);
+            InValues.appendSubSelect(builder);
+            parameterValues.add(new InValues(values));
+        }
+    }
+
+    /**
+     * A full-text search condition selecting the row IDs matching the query from the property's FTS table, e.g.
+     * {@code T.ROWID IN (SELECT docid FROM NOTE_FTS WHERE NOTE_FTS.'TEXT' MATCH ?)}.
+     */
+    public static class MatchCondition extends PropertyCondition {
+
+        public MatchCondition(Property property, String query) {
+            super(property, " MATCH ", query);
+        }
+
+        @Override
+        public void appendTo(StringBuilder builder, String tableAlias) {
+            if (tableAlias != null) {
+                builder.append(tableAlias).append('.');
+            }
+            String ftsTable = property.fullTextSearchTable;
+            builder.append("ROWID IN (SELECT docid FROM ").append(ftsTable).append(" WHERE ").append(ftsTable);
+            builder.append(".'").append(property.columnName).append("' MATCH ?)");
+        }
+    }
+
     public static class StringCondition extends AbstractCondition {
 
         protected final String string;
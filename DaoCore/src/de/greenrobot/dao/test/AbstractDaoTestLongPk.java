@@ -16,6 +16,11 @@
 
 package de.greenrobot.dao.test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import de.greenrobot.dao.AbstractDao;
 import de.greenrobot.dao.DaoLog;
 import de.greenrobot.dao.test.AbstractDaoTestSinglePk;
@@ -67,5 +72,57 @@ public abstract class AbstractDaoTestLongPk<D extends AbstractDao<T, Long>, T> e
         }
     }
 
+    public void testLoadPrimitiveLong() {
+        T entity = createEntityWithRandomPk();
+        long pk = daoAccess.getKey(entity);
+        dao.insert(entity);
+        clearIdentityScopeIfAny();
+
+        T loaded = dao.load(pk);
+        assertNotNull(loaded);
+        assertEquals(pk, (long) daoAccess.getKey(loaded));
+        if (identityScopeForDao != null) {
+            assertSame(loaded, dao.load(pk));
+        }
+        assertNull(dao.load(nextPk().longValue()));
+    }
+
+    public void testAssignPkMultiRow() {
+        if (daoAccess.isEntityUpdateable()) {
+            List<T> list = new ArrayList<T>();
+            for (int i = 0; i < 1234; i++) {
+                T entity = createEntity(null);
+                if (entity == null) {
+                    DaoLog.d("Skipping testAssignPkMultiRow for " + daoClass + " (createEntity returned null for null key)");
+                    return;
+                }
+                list.add(entity);
+            }
+            dao.setMultiRowInsertEnabled(true);
+            try {
+                dao.insertInTx(list);
+            } finally {
+                dao.setMultiRowInsertEnabled(false);
+            }
+
+            Set<Long> pks = new HashSet<Long>();
+            Long lastPk = null;
+            for (T entity : list) {
+                Long pk = daoAccess.getKey(entity);
+                assertNotNull(pk);
+                assertTrue(pks.add(pk));
+                if (lastPk != null) {
+                    assertTrue(pk > lastPk);
+                }
+                lastPk = pk;
+                T loaded = dao.load(pk);
+                assertNotNull(loaded);
+                assertEquals(pk, daoAccess.getKey(loaded));
+            }
+        } else {
+            DaoLog.d("Skipping testAssignPkMultiRow for not updateable " + daoClass);
+        }
+    }
+
 
 }
\ No newline at end of file
@@ -18,7 +18,9 @@ package de.greenrobot.dao.test;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import android.database.Cursor;
@@ -87,6 +89,26 @@ public abstract class AbstractDaoTestSinglePk<D extends AbstractDao<T, K>, T, K>
         assertEquals(list.size(), dao.count());
     }
 
+    public void testInsertInTxMultiRow() {
+        dao.deleteAll();
+        List<T> list = new ArrayList<T>();
+        for (int i = 0; i < 1234; i++) {
+            list.add(createEntityWithRandomPk());
+        }
+        dao.setMultiRowInsertEnabled(true);
+        try {
+            dao.insertInTx(list);
+        } finally {
+            dao.setMultiRowInsertEnabled(false);
+        }
+        assertEquals(list.size(), dao.count());
+        for (T entity : list) {
+            K key = daoAccess.getKey(entity);
+            assertNotNull(key);
+            assertNotNull(dao.load(key));
+        }
+    }
+
     public void testCount() {
         dao.deleteAll();
         assertEquals(0, dao.count());
@@ -133,6 +155,27 @@ public abstract class AbstractDaoTestSinglePk<D extends AbstractDao<T, K>, T, K>
         assertEquals(listAll.size(), dao.count());
     }
 
+    public void testInsertOrReplaceInTxMultiRow() {
+        dao.deleteAll();
+        List<T> listPartial = new ArrayList<T>();
+        List<T> listAll = new ArrayList<T>();
+        for (int i = 0; i < 1234; i++) {
+            T entity = createEntityWithRandomPk();
+            if (i % 2 == 0) {
+                listPartial.add(entity);
+            }
+            listAll.add(entity);
+        }
+        dao.setMultiRowInsertEnabled(true);
+        try {
+            dao.insertOrReplaceInTx(listPartial);
+            dao.insertOrReplaceInTx(listAll);
+        } finally {
+            dao.setMultiRowInsertEnabled(false);
+        }
+        assertEquals(listAll.size(), dao.count());
+    }
+
     public void testDelete() {
         K pk = nextPk();
         dao.deleteByKey(pk);
@@ -180,6 +223,85 @@ public abstract class AbstractDaoTestSinglePk<D extends AbstractDao<T, K>, T, K>
         }
     }
 
+    public void testDeleteInTxChunked() {
+        List<T> entityList = new ArrayList<T>();
+        for (int i = 0; i < 2345; i++) {
+            entityList.add(createEntityWithRandomPk());
+        }
+        dao.insertInTx(entityList);
+        List<T> entitiesToDelete = new ArrayList<T>();
+        for (int i = 0; i < entityList.size(); i += 2) {
+            entitiesToDelete.add(entityList.get(i));
+        }
+        dao.deleteInTx(entitiesToDelete);
+        assertEquals(entityList.size() - entitiesToDelete.size(), dao.count());
+        for (int i = 0; i < entityList.size(); i++) {
+            K key = daoAccess.getKey(entityList.get(i));
+            if (i % 2 == 0) {
+                assertNull(dao.load(key));
+            } else {
+                assertNotNull(dao.load(key));
+            }
+        }
+    }
+
+    public void testDeleteByKeyInTx() {
+        List<T> entityList = new ArrayList<T>();
+        for (int i = 0; i < 1001; i++) {
+            entityList.add(createEntityWithRandomPk());
+        }
+        dao.insertInTx(entityList);
+        List<K> keysToDelete = new ArrayList<K>();
+        for (int i = 0; i < 1000; i++) {
+            keysToDelete.add(daoAccess.getKey(entityList.get(i)));
+        }
+        dao.deleteByKeyInTx(keysToDelete);
+        assertEquals(1, dao.count());
+        for (K key : keysToDelete) {
+            assertNull(dao.load(key));
+        }
+        K remainingKey = daoAccess.getKey(entityList.get(1000));
+        assertNotNull(dao.load(remainingKey));
+    }
+
+    public void testLoadByKeys() {
+        List<T> entityList = new ArrayList<T>();
+        for (int i = 0; i < 1500; i++) {
+            entityList.add(createEntityWithRandomPk());
+        }
+        dao.insertInTx(entityList);
+        List<K> keys = new ArrayList<K>();
+        for (T entity : entityList) {
+            keys.add(daoAccess.getKey(entity));
+        }
+        Collections.shuffle(keys);
+        K missingKey = nextPk();
+        keys.add(500, missingKey);
+        clearIdentityScopeIfAny();
+
+        // Put some entities into the identity scope (if any) before
+        for (int i = 0; i < 100; i++) {
+            dao.load(keys.get(i));
+        }
+
+        List<T> loaded = dao.loadByKeys(keys);
+        assertEquals(entityList.size(), loaded.size());
+        int index = 0;
+        for (K key : keys) {
+            if (key != missingKey) {
+                assertEquals(key, daoAccess.getKey(loaded.get(index)));
+                index++;
+            }
+        }
+
+        Map<K, T> map = dao.loadByKeysAsMap(keys);
+        assertEquals(entityList.size(), map.size());
+        assertFalse(map.containsKey(missingKey));
+        for (Map.Entry<K, T> entry : map.entrySet()) {
+            assertEquals(entry.getKey(), daoAccess.getKey(entry.getValue()));
+        }
+    }
+
     public void testRowId() {
         T entity1 = createEntityWithRandomPk();
         T entity2 = createEntityWithRandomPk();
@@ -75,6 +75,11 @@ abstract public class CustomerBase {
         orders = null;
     }
 
+    /** Sets the resolved to-many relationship; called by greenDAO when resolving relations of many entities at once. */
+    public synchronized void __setOrders(List<Order> orders) {
+        this.orders = orders;
+    }
+
     /** Convenient call for {@link AbstractDao#delete(Object)}. Entity must attached to an entity context. */
     public void delete() {
         if (myDao == null) {
@@ -1,5 +1,6 @@
 package de.greenrobot.daoexample;
 
+import java.util.List;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteStatement;
@@ -7,6 +8,7 @@ import android.database.sqlite.SQLiteStatement;
 import de.greenrobot.dao.AbstractDao;
 import de.greenrobot.dao.DaoConfig;
 import de.greenrobot.dao.Property;
+import de.greenrobot.dao.ToManyRelation;
 
 import de.greenrobot.daoexample.Customer;
 
@@ -27,6 +29,32 @@ public class CustomerDao extends AbstractDao<Customer, Long> {
         public final static Property Name = new Property(1, String.class, "name", false, "NAME");
     };
 
+    /**
+     * To-many relations of entity Customer.<br/>
+     * Can be used to resolve relations of many entities at once (see QueryBuilder.prefetch and resolveToMany).
+    */
+    public static class ToManyRelations {
+        public final static ToManyRelation<Customer, Order> Orders = //
+                new ToManyRelation<Customer, Order>("orders", Order.class, //
+                new Property[] { OrderDao.Properties.CustomerId }, //
+                "DATE ASC") {
+            @Override
+            protected Object[] getSourceValues(Customer entity) {
+                return new Object[] { entity.getId() };
+            }
+
+            @Override
+            protected Object[] getTargetValues(Order entity) {
+                return new Object[] { entity.getCustomerId() };
+            }
+
+            @Override
+            protected void setResolved(Customer entity, List<Order> targets) {
+                entity.__setOrders(targets);
+            }
+        };
+    };
+
     private DaoSession daoSession;
 
 
@@ -55,14 +83,13 @@ public class CustomerDao extends AbstractDao<Customer, Long> {
 
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, Customer entity) {
-        stmt.clearBindings();
+    protected void bindValues(SQLiteStatement stmt, Customer entity, int offset) {
  
         Long id = entity.getId();
         if (id != null) {
-            stmt.bindLong(1, id);
+            stmt.bindLong(offset + 1, id);
         }
-        stmt.bindString(2, entity.getName());
+        stmt.bindString(offset + 2, entity.getName());
     }
 
     @Override
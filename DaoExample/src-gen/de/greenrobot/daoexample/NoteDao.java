@@ -56,23 +56,22 @@ public class NoteDao extends AbstractDao<Note, Long> {
 
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, Note entity) {
-        stmt.clearBindings();
+    protected void bindValues(SQLiteStatement stmt, Note entity, int offset) {
  
         Long id = entity.getId();
         if (id != null) {
-            stmt.bindLong(1, id);
+            stmt.bindLong(offset + 1, id);
         }
-        stmt.bindString(2, entity.getText());
+        stmt.bindString(offset + 2, entity.getText());
  
         String comment = entity.getComment();
         if (comment != null) {
-            stmt.bindString(3, comment);
+            stmt.bindString(offset + 3, comment);
         }
  
         java.util.Date date = entity.getDate();
         if (date != null) {
-            stmt.bindLong(4, date.getTime());
+            stmt.bindLong(offset + 4, date.getTime());
         }
     }
 
@@ -88,6 +88,12 @@ abstract public class OrderBase {
         customer__resolvedKey = customerId;
     }
 
+    /** Sets the resolved to-one relationship for the current FK value; called by greenDAO when resolving relations of many entities at once. */
+    public void __setResolvedCustomer(Customer customer) {
+        this.customer = customer;
+        customer__resolvedKey = customerId;
+    }
+
     /** Convenient call for {@link AbstractDao#delete(Object)}. Entity must attached to an entity context. */
     public void delete() {
         if (myDao == null) {
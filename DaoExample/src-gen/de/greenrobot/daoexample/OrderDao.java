@@ -12,6 +12,7 @@ import de.greenrobot.dao.Property;
 import de.greenrobot.dao.SqlUtils;
 import de.greenrobot.dao.Query;
 import de.greenrobot.dao.QueryBuilder;
+import de.greenrobot.dao.ToOneRelation;
 
 import de.greenrobot.daoexample.Order;
 
@@ -33,6 +34,25 @@ public class OrderDao extends AbstractDao<Order, Long> {
         public final static Property CustomerId = new Property(2, long.class, "customerId", false, "CUSTOMER_ID");
     };
 
+    /**
+     * To-one relations of entity Order.<br/>
+     * Can be used to resolve relations of many entities at once (see QueryBuilder.prefetch and resolveToOne).
+    */
+    public static class ToOneRelations {
+        public final static ToOneRelation<Order, Customer> Customer = //
+                new ToOneRelation<Order, Customer>("customer", Customer.class) {
+            @Override
+            protected Object getFkValue(Order entity) {
+                return entity.getCustomerId();
+            }
+
+            @Override
+            protected void setResolved(Order entity, Customer target) {
+                entity.__setResolvedCustomer(target);
+            }
+        };
+    };
+
     private DaoSession daoSession;
 
     private Query<Order> customer_OrdersQuery;
@@ -63,19 +83,18 @@ public class OrderDao extends AbstractDao<Order, Long> {
 
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, Order entity) {
-        stmt.clearBindings();
+    protected void bindValues(SQLiteStatement stmt, Order entity, int offset) {
  
         Long id = entity.getId();
         if (id != null) {
-            stmt.bindLong(1, id);
+            stmt.bindLong(offset + 1, id);
         }
  
         java.util.Date date = entity.getDate();
         if (date != null) {
-            stmt.bindLong(2, date.getTime());
+            stmt.bindLong(offset + 2, date.getTime());
         }
-        stmt.bindLong(3, entity.getCustomerId());
+        stmt.bindLong(offset + 3, entity.getCustomerId());
     }
 
     @Override
@@ -133,16 +152,18 @@ public class OrderDao extends AbstractDao<Order, Long> {
     }
     
     /** Internal query to resolve the "orders" to-many relationship of Customer. */
-    public synchronized List<Order> _queryCustomer_Orders(long customerId) {
-        if (customer_OrdersQuery == null) {
-            QueryBuilder<Order> queryBuilder = queryBuilder();
-            queryBuilder.where(Properties.CustomerId.eq(customerId));
-            queryBuilder.orderRaw("DATE ASC");
-            customer_OrdersQuery = queryBuilder.build();
-        } else {
-            customer_OrdersQuery.setParameter(0, customerId);
+    public List<Order> _queryCustomer_Orders(long customerId) {
+        synchronized (this) {
+            if (customer_OrdersQuery == null) {
+                QueryBuilder<Order> queryBuilder = queryBuilder();
+                queryBuilder.where(Properties.CustomerId.eq(customerId));
+                queryBuilder.orderRaw("DATE ASC");
+                customer_OrdersQuery = queryBuilder.build();
+            }
         }
-        return customer_OrdersQuery.list();
+        Query<Order> query = customer_OrdersQuery.forCurrentThread();
+        query.setParameter(0, customerId);
+        return query.list();
     }
 
     private String selectDeep;
@@ -160,6 +181,10 @@ public class OrderDao extends AbstractDao<Order, Long> {
         }
         return selectDeep;
     }
+
+    protected String[] getDeepTablenames() {
+        return new String[] { "CUSTOMER" };
+    }
     
     protected Order loadCurrentDeep(Cursor cursor, boolean lock) {
         Order entity = loadCurrent(cursor, 0, lock);
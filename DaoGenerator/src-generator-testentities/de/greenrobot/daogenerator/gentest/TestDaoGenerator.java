@@ -57,6 +57,7 @@ public class TestDaoGenerator {
         createStringKeyValue();
         createAutoincrement();
         createSqliteMaster();
+        createFullTextSearch();
 
         createSchema2();
     }
@@ -109,6 +110,14 @@ public class TestDaoGenerator {
         return testEntity;
     }
 
+    protected void createFullTextSearch() {
+        Entity fullTextEntity = schema.addEntity("FullTextEntity");
+        fullTextEntity.addIdProperty();
+        fullTextEntity.addStringProperty("title").fullTextSearch();
+        fullTextEntity.addStringProperty("body").fullTextSearch();
+        fullTextEntity.addStringProperty("author");
+    }
+
     protected void createRelation() {
         Entity relationEntity = schema.addEntity("RelationEntity");
         relationEntity.addIdProperty();
@@ -41,6 +41,10 @@ along with greenDAO Generator.  If not, see <http://www.gnu.org/licenses/>.
         }
         return selectDeep;
     }
+
+    protected String[] getDeepTablenames() {
+        return new String[] {<#list entity.toOneRelations as toOne> "${toOne.targetEntity.tableName}"<#if toOne_has_next>,</#if></#list> };
+    }
     
     protected ${entity.className} loadCurrentDeep(Cursor cursor, boolean lock) {
         ${entity.className} entity = loadCurrent(cursor, 0, lock);
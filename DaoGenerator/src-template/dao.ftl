@@ -19,9 +19,11 @@ along with greenDAO Generator.  If not, see <http://www.gnu.org/licenses/>.
 -->
 <#assign toBindType = {"Boolean":"Long", "Byte":"Long", "Short":"Long", "Int":"Long", "Long":"Long", "Float":"Double", "Double":"Double", "String":"String", "ByteArray":"Blob", "Date": "Long" } />
 <#assign toCursorType = {"Boolean":"Short", "Byte":"Short", "Short":"Short", "Int":"Int", "Long":"Long", "Float":"Float", "Double":"Double", "String":"String", "ByteArray":"Blob", "Date": "Long"  } />
+<#assign hasToOneWithFk = false>
+<#list entity.toOneRelations as toOne><#if toOne.useFkProperty><#assign hasToOneWithFk = true></#if></#list>
 package ${entity.javaPackageDao};
 
-<#if entity.toOneRelations?has_content || entity.incomingToManyRelations?has_content>
+<#if entity.toOneRelations?has_content || entity.incomingToManyRelations?has_content || entity.toManyRelations?has_content>
 import java.util.List;
 </#if>
 <#if entity.toOneRelations?has_content>
@@ -41,6 +43,12 @@ import de.greenrobot.dao.SqlUtils;
 import de.greenrobot.dao.Query;
 import de.greenrobot.dao.QueryBuilder;
 </#if>
+<#if entity.toManyRelations?has_content>
+import de.greenrobot.dao.ToManyRelation;
+</#if>
+<#if hasToOneWithFk>
+import de.greenrobot.dao.ToOneRelation;
+</#if>
 
 <#if entity.javaPackageDao != schema.defaultJavaPackageDao>
 import ${schema.defaultJavaPackageDao}.DaoSession;
@@ -71,10 +79,73 @@ public class ${entity.classNameDao} extends AbstractDao<${entity.className}, ${e
     */
     public static class Properties {
 <#list entity.propertiesColumns as property>
-        public final static Property ${property.propertyName?cap_first} = new Property(${property_index}, ${property.javaType}.class, "${property.propertyName}", ${property.primaryKey?string}, "${property.columnName}");
+        public final static Property ${property.propertyName?cap_first} = new Property(${property_index}, ${property.javaType}.class, "${property.propertyName}", ${property.primaryKey?string}, "${property.columnName}"<#if property.fullTextSearch>, "${entity.fullTextSearchTableName}"</#if>);
+</#list>
+    };
+
+<#if hasToOneWithFk>
+    /**
+     * To-one relations of entity ${entity.className}.<br/>
+     * Can be used to resolve relations of many entities at once (see QueryBuilder.prefetch and resolveToOne).
+    */
+    public static class ToOneRelations {
+<#assign firstToOne = true>
+<#list entity.toOneRelations as toOne>
+<#if toOne.useFkProperty>
+<#if !firstToOne>
+
+</#if>
+<#assign firstToOne = false>
+        public final static ToOneRelation<${entity.className}, ${toOne.targetEntity.className}> ${toOne.name?cap_first} = //
+                new ToOneRelation<${entity.className}, ${toOne.targetEntity.className}>("${toOne.name}", ${toOne.targetEntity.className}.class) {
+            @Override
+            protected Object getFkValue(${entity.className} entity) {
+                return entity.get${toOne.fkProperties[0].propertyName?cap_first}();
+            }
+
+            @Override
+            protected void setResolved(${entity.className} entity, ${toOne.targetEntity.className} target) {
+                entity.__setResolved${toOne.name?cap_first}(target);
+            }
+        };
+</#if>
+</#list>
+    };
+
+</#if>
+<#if entity.toManyRelations?has_content>
+    /**
+     * To-many relations of entity ${entity.className}.<br/>
+     * Can be used to resolve relations of many entities at once (see QueryBuilder.prefetch and resolveToMany).
+    */
+    public static class ToManyRelations {
+<#list entity.toManyRelations as toMany>
+        public final static ToManyRelation<${entity.className}, ${toMany.targetEntity.className}> ${toMany.name?cap_first} = //
+                new ToManyRelation<${entity.className}, ${toMany.targetEntity.className}>("${toMany.name}", ${toMany.targetEntity.className}.class, //
+                new Property[] { <#list toMany.targetProperties as property>${toMany.targetEntity.classNameDao}.Properties.${property.propertyName?cap_first}<#if property_has_next>, </#if></#list> }, //
+                <#if toMany.order?has_content>"${toMany.order}"<#else>null</#if>) {
+            @Override
+            protected Object[] getSourceValues(${entity.className} entity) {
+                return new Object[] { <#list toMany.sourceProperties as property>entity.get${property.propertyName?cap_first}()<#if property_has_next>, </#if></#list> };
+            }
+
+            @Override
+            protected Object[] getTargetValues(${toMany.targetEntity.className} entity) {
+                return new Object[] { <#list toMany.targetProperties as property>entity.get${property.propertyName?cap_first}()<#if property_has_next>, </#if></#list> };
+            }
+
+            @Override
+            protected void setResolved(${entity.className} entity, List<${toMany.targetEntity.className}> targets) {
+                entity.__set${toMany.name?cap_first}(targets);
+            }
+        };
+<#if toMany_has_next>
+
+</#if>
 </#list>
     };
 
+</#if>
 <#if entity.active>
     private DaoSession daoSession;
 
@@ -110,24 +181,41 @@ public class ${entity.classNameDao} extends AbstractDao<${entity.className}, ${e
 as property>${property.columnName}<#if property_has_next>,</#if></#list>);");
 </#list>
 </#if>         
+<#if entity.propertiesFullTextSearch?has_content>
+<#assign ftsTable = entity.fullTextSearchTableName />
+<#assign ftsColumns><#list entity.propertiesFullTextSearch as property>'${property.columnName}'<#if property_has_next>, </#if></#list></#assign>
+<#assign ftsNewValues><#list entity.propertiesFullTextSearch as property>new.'${property.columnName}'<#if property_has_next>, </#if></#list></#assign>
+        // Add full-text search table, kept in sync by triggers
+        db.execSQL("CREATE VIRTUAL TABLE " + constraint + "${ftsTable} USING fts4(${ftsColumns});");
+        db.execSQL("CREATE TRIGGER " + constraint + "${ftsTable}_INSERT AFTER INSERT ON ${entity.tableName} BEGIN" + //
+                " DELETE FROM ${ftsTable} WHERE docid=new.ROWID;" + //
+                " INSERT INTO ${ftsTable} (docid, ${ftsColumns}) VALUES (new.ROWID, ${ftsNewValues}); END");
+        db.execSQL("CREATE TRIGGER " + constraint + "${ftsTable}_UPDATE AFTER UPDATE ON ${entity.tableName} BEGIN" + //
+                " DELETE FROM ${ftsTable} WHERE docid=old.ROWID;" + //
+                " INSERT INTO ${ftsTable} (docid, ${ftsColumns}) VALUES (new.ROWID, ${ftsNewValues}); END");
+        db.execSQL("CREATE TRIGGER " + constraint + "${ftsTable}_DELETE AFTER DELETE ON ${entity.tableName} BEGIN" + //
+                " DELETE FROM ${ftsTable} WHERE docid=old.ROWID; END");
+</#if>
     }
 
     /** Drops the underlying database table. */
     public static void dropTable(SQLiteDatabase db, boolean ifExists) {
         String sql = "DROP TABLE " + (ifExists ? "IF EXISTS " : "") + "'${entity.tableName}'";
         db.execSQL(sql);
+<#if entity.propertiesFullTextSearch?has_content>
+        db.execSQL("DROP TABLE " + (ifExists ? "IF EXISTS " : "") + "'${entity.fullTextSearchTableName}'");
+</#if>
     }
 
 </#if>
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, ${entity.className} entity) {
-        stmt.clearBindings();
+    protected void bindValues(SQLiteStatement stmt, ${entity.className} entity, int offset) {
 <#list entity.properties as property>
 <#if property.notNull || entity.protobuf>
 <#if entity.protobuf>
         if(entity.has${property.propertyName?cap_first}()) {
-    </#if>        stmt.bind${toBindType[property.propertyType]}(${property_index + 1}, entity.get${property.propertyName?cap_first}()<#if
+    </#if>        stmt.bind${toBindType[property.propertyType]}(offset + ${property_index + 1}, entity.get${property.propertyName?cap_first}()<#if
      property.propertyType == "Boolean"> ? 1l: 0l</#if><#if property.propertyType == "Date">.getTime()</#if>);
 <#if entity.protobuf>
         }
@@ -135,7 +223,7 @@ as property>${property.columnName}<#if property_has_next>,</#if></#list>);");
 <#else> <#-- nullable, non-protobuff -->
         ${property.javaType} ${property.propertyName} = entity.get${property.propertyName?cap_first}();
         if (${property.propertyName} != null) {
-            stmt.bind${toBindType[property.propertyType]}(${property_index + 1}, ${property.propertyName}<#if
+            stmt.bind${toBindType[property.propertyType]}(offset + ${property_index + 1}, ${property.propertyName}<#if
  property.propertyType == "Boolean"> ? 1l: 0l</#if><#if property.propertyType == "Date">.getTime()</#if>);
         }
 </#if>
@@ -274,23 +362,25 @@ as property>${property.columnName}<#if property_has_next>,</#if></#list>);");
     
 <#list entity.incomingToManyRelations as toMany>
     /** Internal query to resolve the "${toMany.name}" to-many relationship of ${toMany.sourceEntity.className}. */
-    public synchronized List<${toMany.targetEntity.className}> _query${toMany.sourceEntity.className?cap_first}_${toMany.name?cap_first}(<#--
+    public List<${toMany.targetEntity.className}> _query${toMany.sourceEntity.className?cap_first}_${toMany.name?cap_first}(<#--
     --><#list toMany.targetProperties as property>${property.javaType} ${property.propertyName}<#if property_has_next>, </#if></#list>) {
-        if (${toMany.sourceEntity.className?uncap_first}_${toMany.name?cap_first}Query == null) {
-            QueryBuilder<${toMany.targetEntity.className}> queryBuilder = queryBuilder();
+        synchronized (this) {
+            if (${toMany.sourceEntity.className?uncap_first}_${toMany.name?cap_first}Query == null) {
+                QueryBuilder<${toMany.targetEntity.className}> queryBuilder = queryBuilder();
 <#list toMany.targetProperties as property>
-            queryBuilder.where(Properties.${property.propertyName?cap_first}.eq(${property.propertyName}));
+                queryBuilder.where(Properties.${property.propertyName?cap_first}.eq(${property.propertyName}));
 </#list>
 <#if toMany.order?has_content>
-            queryBuilder.orderRaw("${toMany.order}");
+                queryBuilder.orderRaw("${toMany.order}");
 </#if>
-            ${toMany.sourceEntity.className?uncap_first}_${toMany.name?cap_first}Query = queryBuilder.build();
-        } else {
+                ${toMany.sourceEntity.className?uncap_first}_${toMany.name?cap_first}Query = queryBuilder.build();
+            }
+        }
+        Query<${toMany.targetEntity.className}> query = ${toMany.sourceEntity.className?uncap_first}_${toMany.name?cap_first}Query.forCurrentThread();
 <#list toMany.targetProperties as property>
-            ${toMany.sourceEntity.className?uncap_first}_${toMany.name?cap_first}Query.setParameter(${property_index}, ${property.propertyName});
+        query.setParameter(${property_index}, ${property.propertyName});
 </#list>
-        }
-        return ${toMany.sourceEntity.className?uncap_first}_${toMany.name?cap_first}Query.list();
+        return query.list();
     }
 
 </#list>   
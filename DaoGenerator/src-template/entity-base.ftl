@@ -183,6 +183,14 @@ property>${property.javaType} ${property.propertyName}<#if property_has_next>, <
         ${toOne.name}__refreshed = true;
 </#if>
     }
+<#if toOne.useFkProperty>
+
+    /** Sets the resolved to-one relationship for the current FK value; called by greenDAO when resolving relations of many entities at once. */
+    public void __setResolved${toOne.name?cap_first}(${toOne.targetEntity.className} ${toOne.name}) {
+        this.${toOne.name} = ${toOne.name};
+        ${toOne.name}__resolvedKey = ${toOne.fkProperties[0].propertyName};
+    }
+</#if>
 
 </#list>
 <#--
@@ -209,6 +217,11 @@ property>${property.javaType} ${property.propertyName}<#if property_has_next>, <
         ${toMany.name} = null;
     }
 
+    /** Sets the resolved to-many relationship; called by greenDAO when resolving relations of many entities at once. */
+    public synchronized void __set${toMany.name?cap_first}(List<${toMany.targetEntity.className}> ${toMany.name}) {
+        this.${toMany.name} = ${toMany.name};
+    }
+
 </#list>
 <#--
 ##########################################
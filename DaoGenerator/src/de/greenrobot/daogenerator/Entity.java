@@ -47,6 +47,7 @@ public class Entity {
     private List<Property> propertiesColumns;
     private final List<Property> propertiesPk;
     private final List<Property> propertiesNonPk;
+    private final List<Property> propertiesFullTextSearch;
     private final Set<String> propertyNames;
     private final List<Index> indexes;
     private final List<ToOne> toOneRelations;
@@ -81,6 +82,7 @@ public class Entity {
         properties = new ArrayList<Property>();
         propertiesPk = new ArrayList<Property>();
         propertiesNonPk = new ArrayList<Property>();
+        propertiesFullTextSearch = new ArrayList<Property>();
         propertyNames = new HashSet<String>();
         indexes = new ArrayList<Index>();
         toOneRelations = new ArrayList<ToOne>();
@@ -327,6 +329,16 @@ public class Entity {
         return propertiesNonPk;
     }
 
+    /** Properties stored in the full-text search table (see {@link #getFullTextSearchTableName()}). */
+    public List<Property> getPropertiesFullTextSearch() {
+        return propertiesFullTextSearch;
+    }
+
+    /** Name of the FTS4 table if there are full-text search properties, null otherwise. */
+    public String getFullTextSearchTableName() {
+        return propertiesFullTextSearch.isEmpty() ? null : tableName + "_FTS";
+    }
+
     public Property getPkProperty() {
         return pkProperty;
     }
@@ -452,6 +464,9 @@ public class Entity {
             } else {
                 propertiesNonPk.add(property);
             }
+            if (property.isFullTextSearch()) {
+                propertiesFullTextSearch.add(property);
+            }
         }
 
         if (propertiesPk.size() == 1) {
@@ -593,6 +608,13 @@ public class Entity {
         for (ToMany toMany : toManyRelations) {
             Entity targetEntity = toMany.getTargetEntity();
             checkAdditionalImportsEntityTargetEntity(targetEntity);
+            // For ToManyRelations (batch resolving)
+            if (!targetEntity.getJavaPackage().equals(javaPackageDao)) {
+                additionalImportsDao.add(targetEntity.getJavaPackage() + "." + targetEntity.getClassName());
+            }
+            if (!targetEntity.getJavaPackageDao().equals(javaPackageDao)) {
+                additionalImportsDao.add(targetEntity.getJavaPackageDao() + "." + targetEntity.getClassNameDao());
+            }
         }
     }
 
@@ -73,6 +73,18 @@ public class Property {
             return this;
         }
 
+        /**
+         * Adds the String property to the entity's full-text search (FTS4) table, which is kept in sync by triggers.
+         * Use Property.match(String) in queries to search it.
+         */
+        public PropertyBuilder fullTextSearch() {
+            if (property.propertyType != PropertyType.String) {
+                throw new RuntimeException("Full-text search is only available to properties of type String");
+            }
+            property.fullTextSearch = true;
+            return this;
+        }
+
         public PropertyBuilder index() {
             Index index = new Index();
             index.addProperty(property);
@@ -122,6 +134,7 @@ public class Property {
 
     private boolean unique;
     private boolean notNull;
+    private boolean fullTextSearch;
 
     /** Initialized in 2nd pass */
     private String constraints;
@@ -177,6 +190,10 @@ public class Property {
         return notNull;
     }
 
+    public boolean isFullTextSearch() {
+        return fullTextSearch;
+    }
+
     public String getJavaType() {
         return javaType;
     }
@@ -72,67 +72,66 @@ public class AbcdefEntityDao extends AbstractDao<AbcdefEntity, Long> {
 
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, AbcdefEntity entity) {
-        stmt.clearBindings();
+    protected void bindValues(SQLiteStatement stmt, AbcdefEntity entity, int offset) {
  
         Long id = entity.getId();
         if (id != null) {
-            stmt.bindLong(1, id);
+            stmt.bindLong(offset + 1, id);
         }
  
         Integer a = entity.getA();
         if (a != null) {
-            stmt.bindLong(2, a);
+            stmt.bindLong(offset + 2, a);
         }
  
         Integer b = entity.getB();
         if (b != null) {
-            stmt.bindLong(3, b);
+            stmt.bindLong(offset + 3, b);
         }
  
         Integer c = entity.getC();
         if (c != null) {
-            stmt.bindLong(4, c);
+            stmt.bindLong(offset + 4, c);
         }
  
         Integer d = entity.getD();
         if (d != null) {
-            stmt.bindLong(5, d);
+            stmt.bindLong(offset + 5, d);
         }
  
         Integer e = entity.getE();
         if (e != null) {
-            stmt.bindLong(6, e);
+            stmt.bindLong(offset + 6, e);
         }
  
         Integer f = entity.getF();
         if (f != null) {
-            stmt.bindLong(7, f);
+            stmt.bindLong(offset + 7, f);
         }
  
         Integer g = entity.getG();
         if (g != null) {
-            stmt.bindLong(8, g);
+            stmt.bindLong(offset + 8, g);
         }
  
         Integer h = entity.getH();
         if (h != null) {
-            stmt.bindLong(9, h);
+            stmt.bindLong(offset + 9, h);
         }
  
         Integer j = entity.getJ();
         if (j != null) {
-            stmt.bindLong(10, j);
+            stmt.bindLong(offset + 10, j);
         }
  
         Integer i = entity.getI();
         if (i != null) {
-            stmt.bindLong(11, i);
+            stmt.bindLong(offset + 11, i);
         }
  
         Integer k = entity.getK();
         if (k != null) {
-            stmt.bindLong(12, k);
+            stmt.bindLong(offset + 12, k);
         }
     }
 
@@ -50,12 +50,11 @@ public class AutoincrementEntityDao extends AbstractDao<AutoincrementEntity, Lon
 
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, AutoincrementEntity entity) {
-        stmt.clearBindings();
+    protected void bindValues(SQLiteStatement stmt, AutoincrementEntity entity, int offset) {
  
         Long id = entity.getId();
         if (id != null) {
-            stmt.bindLong(1, id);
+            stmt.bindLong(offset + 1, id);
         }
     }
 
@@ -24,6 +24,7 @@ import de.greenrobot.daotest.ExtendsImplementsEntity;
 import de.greenrobot.daotest.StringKeyValueEntity;
 import de.greenrobot.daotest.AutoincrementEntity;
 import de.greenrobot.daotest.SqliteMaster;
+import de.greenrobot.daotest.FullTextEntity;
 
 import de.greenrobot.daotest.SimpleEntityDao;
 import de.greenrobot.daotest.SimpleEntityNotNullDao;
@@ -40,6 +41,7 @@ import de.greenrobot.daotest.ExtendsImplementsEntityDao;
 import de.greenrobot.daotest.StringKeyValueEntityDao;
 import de.greenrobot.daotest.AutoincrementEntityDao;
 import de.greenrobot.daotest.SqliteMasterDao;
+import de.greenrobot.daotest.FullTextEntityDao;
 
 // THIS CODE IS GENERATED BY greenDAO, DO NOT EDIT.
 
@@ -65,6 +67,7 @@ public class DaoSession extends AbstractDaoSession {
     private final DaoConfig stringKeyValueEntityDaoConfig;
     private final DaoConfig autoincrementEntityDaoConfig;
     private final DaoConfig sqliteMasterDaoConfig;
+    private final DaoConfig fullTextEntityDaoConfig;
 
     private final SimpleEntityDao simpleEntityDao;
     private final SimpleEntityNotNullDao simpleEntityNotNullDao;
@@ -81,6 +84,7 @@ public class DaoSession extends AbstractDaoSession {
     private final StringKeyValueEntityDao stringKeyValueEntityDao;
     private final AutoincrementEntityDao autoincrementEntityDao;
     private final SqliteMasterDao sqliteMasterDao;
+    private final FullTextEntityDao fullTextEntityDao;
 
     public DaoSession(SQLiteDatabase db, IdentityScopeType type, Map<Class<? extends AbstractDao<?, ?>>, DaoConfig>
             daoConfigMap) {
@@ -131,6 +135,9 @@ public class DaoSession extends AbstractDaoSession {
         sqliteMasterDaoConfig = daoConfigMap.get(SqliteMasterDao.class).clone();
         sqliteMasterDaoConfig.initIdentityScope(type);
 
+        fullTextEntityDaoConfig = daoConfigMap.get(FullTextEntityDao.class).clone();
+        fullTextEntityDaoConfig.initIdentityScope(type);
+
         simpleEntityDao = new SimpleEntityDao(simpleEntityDaoConfig, this);
         simpleEntityNotNullDao = new SimpleEntityNotNullDao(simpleEntityNotNullDaoConfig, this);
         testEntityDao = new TestEntityDao(testEntityDaoConfig, this);
@@ -146,6 +153,7 @@ public class DaoSession extends AbstractDaoSession {
         stringKeyValueEntityDao = new StringKeyValueEntityDao(stringKeyValueEntityDaoConfig, this);
         autoincrementEntityDao = new AutoincrementEntityDao(autoincrementEntityDaoConfig, this);
         sqliteMasterDao = new SqliteMasterDao(sqliteMasterDaoConfig, this);
+        fullTextEntityDao = new FullTextEntityDao(fullTextEntityDaoConfig, this);
 
         registerDao(SimpleEntity.class, simpleEntityDao);
         registerDao(SimpleEntityNotNull.class, simpleEntityNotNullDao);
@@ -162,6 +170,7 @@ public class DaoSession extends AbstractDaoSession {
         registerDao(StringKeyValueEntity.class, stringKeyValueEntityDao);
         registerDao(AutoincrementEntity.class, autoincrementEntityDao);
         registerDao(SqliteMaster.class, sqliteMasterDao);
+        registerDao(FullTextEntity.class, fullTextEntityDao);
     }
     
     public void clear() {
@@ -180,6 +189,7 @@ public class DaoSession extends AbstractDaoSession {
         stringKeyValueEntityDaoConfig.getIdentityScope().clear();
         autoincrementEntityDaoConfig.getIdentityScope().clear();
         sqliteMasterDaoConfig.getIdentityScope().clear();
+        fullTextEntityDaoConfig.getIdentityScope().clear();
     }
 
     public SimpleEntityDao getSimpleEntityDao() {
@@ -242,4 +252,8 @@ public class DaoSession extends AbstractDaoSession {
         return sqliteMasterDao;
     }
 
+    public FullTextEntityDao getFullTextEntityDao() {
+        return fullTextEntityDao;
+    }
+
 }
@@ -54,19 +54,18 @@ public class DateEntityDao extends AbstractDao<DateEntity, Long> {
 
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, DateEntity entity) {
-        stmt.clearBindings();
+    protected void bindValues(SQLiteStatement stmt, DateEntity entity, int offset) {
  
         Long id = entity.getId();
         if (id != null) {
-            stmt.bindLong(1, id);
+            stmt.bindLong(offset + 1, id);
         }
  
         java.util.Date date = entity.getDate();
         if (date != null) {
-            stmt.bindLong(2, date.getTime());
+            stmt.bindLong(offset + 2, date.getTime());
         }
-        stmt.bindLong(3, entity.getDateNotNull().getTime());
+        stmt.bindLong(offset + 3, entity.getDateNotNull().getTime());
     }
 
     /** @inheritdoc */
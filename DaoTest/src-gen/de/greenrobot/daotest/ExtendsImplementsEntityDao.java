@@ -52,17 +52,16 @@ public class ExtendsImplementsEntityDao extends AbstractDao<ExtendsImplementsEnt
 
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, ExtendsImplementsEntity entity) {
-        stmt.clearBindings();
+    protected void bindValues(SQLiteStatement stmt, ExtendsImplementsEntity entity, int offset) {
  
         Long id = entity.getId();
         if (id != null) {
-            stmt.bindLong(1, id);
+            stmt.bindLong(offset + 1, id);
         }
  
         String text = entity.getText();
         if (text != null) {
-            stmt.bindString(2, text);
+            stmt.bindString(offset + 2, text);
         }
     }
 
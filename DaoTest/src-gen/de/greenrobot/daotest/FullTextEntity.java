@@ -0,0 +1,60 @@
+package de.greenrobot.daotest;
+
+// THIS CODE IS GENERATED BY greenDAO, DO NOT EDIT. Enable "keep" sections if you want to edit. 
+/**
+ * Entity mapped to table FULL_TEXT_ENTITY.
+ */
+public class FullTextEntity {
+
+    private Long id;
+    private String title;
+    private String body;
+    private String author;
+
+    public FullTextEntity() {
+    }
+
+    public FullTextEntity(Long id) {
+        this.id = id;
+    }
+
+    public FullTextEntity(Long id, String title, String body, String author) {
+        this.id = id;
+        this.title = title;
+        this.body = body;
+        this.author = author;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+}
@@ -0,0 +1,143 @@
+package de.greenrobot.daotest;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import de.greenrobot.dao.AbstractDao;
+import de.greenrobot.dao.DaoConfig;
+import de.greenrobot.dao.Property;
+
+import de.greenrobot.daotest.FullTextEntity;
+
+// THIS CODE IS GENERATED BY greenDAO, DO NOT EDIT.
+/** 
+ * DAO for table FULL_TEXT_ENTITY.
+*/
+public class FullTextEntityDao extends AbstractDao<FullTextEntity, Long> {
+
+    public static final String TABLENAME = "FULL_TEXT_ENTITY";
+
+    /**
+     * Properties of entity FullTextEntity.<br/>
+     * Can be used for QueryBuilder and for referencing column names.
+    */
+    public static class Properties {
+        public final static Property Id = new Property(0, Long.class, "id", true, "_id");
+        public final static Property Title = new Property(1, String.class, "title", false, "TITLE", "FULL_TEXT_ENTITY_FTS");
+        public final static Property Body = new Property(2, String.class, "body", false, "BODY", "FULL_TEXT_ENTITY_FTS");
+        public final static Property Author = new Property(3, String.class, "author", false, "AUTHOR");
+    };
+
+
+    public FullTextEntityDao(DaoConfig config) {
+        super(config);
+    }
+    
+    public FullTextEntityDao(DaoConfig config, DaoSession daoSession) {
+        super(config, daoSession);
+    }
+
+    /** Creates the underlying database table. */
+    public static void createTable(SQLiteDatabase db, boolean ifNotExists) {
+        String constraint = ifNotExists? "IF NOT EXISTS ": "";
+        db.execSQL("CREATE TABLE " + constraint + "'FULL_TEXT_ENTITY' (" + //
+                "'_id' INTEGER PRIMARY KEY ," + // 0: id
+                "'TITLE' TEXT," + // 1: title
+                "'BODY' TEXT," + // 2: body
+                "'AUTHOR' TEXT);"); // 3: author
+        // Add full-text search table, kept in sync by triggers
+        db.execSQL("CREATE VIRTUAL TABLE " + constraint + "FULL_TEXT_ENTITY_FTS USING fts4('TITLE', 'BODY');");
+        db.execSQL("CREATE TRIGGER " + constraint + "FULL_TEXT_ENTITY_FTS_INSERT AFTER INSERT ON FULL_TEXT_ENTITY BEGIN" + //
+                " DELETE FROM FULL_TEXT_ENTITY_FTS WHERE docid=new.ROWID;" + //
+                " INSERT INTO FULL_TEXT_ENTITY_FTS (docid, 'TITLE', 'BODY') VALUES (new.ROWID, new.'TITLE', new.'BODY'); END");
+        db.execSQL("CREATE TRIGGER " + constraint + "FULL_TEXT_ENTITY_FTS_UPDATE AFTER UPDATE ON FULL_TEXT_ENTITY BEGIN" + //
+                " DELETE FROM FULL_TEXT_ENTITY_FTS WHERE docid=old.ROWID;" + //
+                " INSERT INTO FULL_TEXT_ENTITY_FTS (docid, 'TITLE', 'BODY') VALUES (new.ROWID, new.'TITLE', new.'BODY'); END");
+        db.execSQL("CREATE TRIGGER " + constraint + "FULL_TEXT_ENTITY_FTS_DELETE AFTER DELETE ON FULL_TEXT_ENTITY BEGIN" + //
+                " DELETE FROM FULL_TEXT_ENTITY_FTS WHERE docid=old.ROWID; END");
+    }
+
+    /** Drops the underlying database table. */
+    public static void dropTable(SQLiteDatabase db, boolean ifExists) {
+        String sql = "DROP TABLE " + (ifExists ? "IF EXISTS " : "") + "'FULL_TEXT_ENTITY'";
+        db.execSQL(sql);
+        db.execSQL("DROP TABLE " + (ifExists ? "IF EXISTS " : "") + "'FULL_TEXT_ENTITY_FTS'");
+    }
+
+    /** @inheritdoc */
+    @Override
+    protected void bindValues(SQLiteStatement stmt, FullTextEntity entity, int offset) {
+ 
+        Long id = entity.getId();
+        if (id != null) {
+            stmt.bindLong(offset + 1, id);
+        }
+ 
+        String title = entity.getTitle();
+        if (title != null) {
+            stmt.bindString(offset + 2, title);
+        }
+ 
+        String body = entity.getBody();
+        if (body != null) {
+            stmt.bindString(offset + 3, body);
+        }
+ 
+        String author = entity.getAuthor();
+        if (author != null) {
+            stmt.bindString(offset + 4, author);
+        }
+    }
+
+    /** @inheritdoc */
+    @Override
+    public Long readKey(Cursor cursor, int offset) {
+        return cursor.isNull(offset + 0) ? null : cursor.getLong(offset + 0);
+    }    
+
+    /** @inheritdoc */
+    @Override
+    public FullTextEntity readEntity(Cursor cursor, int offset) {
+        FullTextEntity entity = new FullTextEntity( //
+            cursor.isNull(offset + 0) ? null : cursor.getLong(offset + 0), // id
+            cursor.isNull(offset + 1) ? null : cursor.getString(offset + 1), // title
+            cursor.isNull(offset + 2) ? null : cursor.getString(offset + 2), // body
+            cursor.isNull(offset + 3) ? null : cursor.getString(offset + 3) // author
+        );
+        return entity;
+    }
+     
+    /** @inheritdoc */
+    @Override
+    public void readEntity(Cursor cursor, FullTextEntity entity, int offset) {
+        entity.setId(cursor.isNull(offset + 0) ? null : cursor.getLong(offset + 0));
+        entity.setTitle(cursor.isNull(offset + 1) ? null : cursor.getString(offset + 1));
+        entity.setBody(cursor.isNull(offset + 2) ? null : cursor.getString(offset + 2));
+        entity.setAuthor(cursor.isNull(offset + 3) ? null : cursor.getString(offset + 3));
+     }
+    
+    /** @inheritdoc */
+    @Override
+    protected Long updateKeyAfterInsert(FullTextEntity entity, long rowId) {
+        entity.setId(rowId);
+        return rowId;
+    }
+    
+    /** @inheritdoc */
+    @Override
+    public Long getKey(FullTextEntity entity) {
+        if(entity != null) {
+            return entity.getId();
+        } else {
+            return null;
+        }
+    }
+
+    /** @inheritdoc */
+    @Override    
+    protected boolean isEntityUpdateable() {
+        return true;
+    }
+    
+}
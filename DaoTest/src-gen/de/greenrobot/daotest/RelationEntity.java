@@ -114,6 +114,12 @@ public class RelationEntity {
         parent__resolvedKey = parentId;
     }
 
+    /** Sets the resolved to-one relationship for the current FK value; called by greenDAO when resolving relations of many entities at once. */
+    public void __setResolvedParent(RelationEntity parent) {
+        this.parent = parent;
+        parent__resolvedKey = parentId;
+    }
+
     /** To-one relationship, resolved on first access. */
     public TestEntity getTestEntity() {
         if (testEntity__resolvedKey == null || !testEntity__resolvedKey.equals(testId)) {
@@ -133,6 +139,12 @@ public class RelationEntity {
         testEntity__resolvedKey = testId;
     }
 
+    /** Sets the resolved to-one relationship for the current FK value; called by greenDAO when resolving relations of many entities at once. */
+    public void __setResolvedTestEntity(TestEntity testEntity) {
+        this.testEntity = testEntity;
+        testEntity__resolvedKey = testId;
+    }
+
     /** To-one relationship, resolved on first access. */
     public TestEntity getTestNotNull() {
         if (testNotNull__resolvedKey == null || !testNotNull__resolvedKey.equals(testIdNotNull)) {
@@ -155,6 +167,12 @@ public class RelationEntity {
         testNotNull__resolvedKey = testIdNotNull;
     }
 
+    /** Sets the resolved to-one relationship for the current FK value; called by greenDAO when resolving relations of many entities at once. */
+    public void __setResolvedTestNotNull(TestEntity testNotNull) {
+        this.testNotNull = testNotNull;
+        testNotNull__resolvedKey = testIdNotNull;
+    }
+
     /** To-one relationship, resolved on first access. */
     public TestEntity getTestWithoutProperty() {
         if (testWithoutProperty != null || !testWithoutProperty__refreshed) {
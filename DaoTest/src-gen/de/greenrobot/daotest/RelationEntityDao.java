@@ -10,6 +10,7 @@ import de.greenrobot.dao.AbstractDao;
 import de.greenrobot.dao.DaoConfig;
 import de.greenrobot.dao.Property;
 import de.greenrobot.dao.SqlUtils;
+import de.greenrobot.dao.ToOneRelation;
 
 import de.greenrobot.daotest.RelationEntity;
 
@@ -34,6 +35,51 @@ public class RelationEntityDao extends AbstractDao<RelationEntity, Long> {
         public final static Property TestWithoutProperty = new Property(5, Long.class, "testWithoutProperty", false, "WITHOUT_PROPERTY_TEST_ID");
     };
 
+    /**
+     * To-one relations of entity RelationEntity.<br/>
+     * Can be used to resolve relations of many entities at once (see QueryBuilder.prefetch and resolveToOne).
+    */
+    public static class ToOneRelations {
+        public final static ToOneRelation<RelationEntity, RelationEntity> Parent = //
+                new ToOneRelation<RelationEntity, RelationEntity>("parent", RelationEntity.class) {
+            @Override
+            protected Object getFkValue(RelationEntity entity) {
+                return entity.getParentId();
+            }
+
+            @Override
+            protected void setResolved(RelationEntity entity, RelationEntity target) {
+                entity.__setResolvedParent(target);
+            }
+        };
+
+        public final static ToOneRelation<RelationEntity, TestEntity> TestEntity = //
+                new ToOneRelation<RelationEntity, TestEntity>("testEntity", TestEntity.class) {
+            @Override
+            protected Object getFkValue(RelationEntity entity) {
+                return entity.getTestId();
+            }
+
+            @Override
+            protected void setResolved(RelationEntity entity, TestEntity target) {
+                entity.__setResolvedTestEntity(target);
+            }
+        };
+
+        public final static ToOneRelation<RelationEntity, TestEntity> TestNotNull = //
+                new ToOneRelation<RelationEntity, TestEntity>("testNotNull", TestEntity.class) {
+            @Override
+            protected Object getFkValue(RelationEntity entity) {
+                return entity.getTestIdNotNull();
+            }
+
+            @Override
+            protected void setResolved(RelationEntity entity, TestEntity target) {
+                entity.__setResolvedTestNotNull(target);
+            }
+        };
+    };
+
     private DaoSession daoSession;
 
 
@@ -66,28 +112,27 @@ public class RelationEntityDao extends AbstractDao<RelationEntity, Long> {
 
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, RelationEntity entity) {
-        stmt.clearBindings();
+    protected void bindValues(SQLiteStatement stmt, RelationEntity entity, int offset) {
  
         Long id = entity.getId();
         if (id != null) {
-            stmt.bindLong(1, id);
+            stmt.bindLong(offset + 1, id);
         }
  
         Long parentId = entity.getParentId();
         if (parentId != null) {
-            stmt.bindLong(2, parentId);
+            stmt.bindLong(offset + 2, parentId);
         }
  
         Long testId = entity.getTestId();
         if (testId != null) {
-            stmt.bindLong(3, testId);
+            stmt.bindLong(offset + 3, testId);
         }
-        stmt.bindLong(4, entity.getTestIdNotNull());
+        stmt.bindLong(offset + 4, entity.getTestIdNotNull());
  
         String simpleString = entity.getSimpleString();
         if (simpleString != null) {
-            stmt.bindString(5, simpleString);
+            stmt.bindString(offset + 5, simpleString);
         }
     }
 
@@ -173,6 +218,10 @@ public class RelationEntityDao extends AbstractDao<RelationEntity, Long> {
         }
         return selectDeep;
     }
+
+    protected String[] getDeepTablenames() {
+        return new String[] { "RELATION_ENTITY", "TEST_ENTITY", "TEST_ENTITY", "TEST_ENTITY" };
+    }
     
     protected RelationEntity loadCurrentDeep(Cursor cursor, boolean lock) {
         RelationEntity entity = loadCurrent(cursor, 0, lock);
@@ -68,57 +68,56 @@ public class SimpleEntityDao extends AbstractDao<SimpleEntity, Long> {
 
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, SimpleEntity entity) {
-        stmt.clearBindings();
+    protected void bindValues(SQLiteStatement stmt, SimpleEntity entity, int offset) {
  
         Long id = entity.getId();
         if (id != null) {
-            stmt.bindLong(1, id);
+            stmt.bindLong(offset + 1, id);
         }
  
         Boolean simpleBoolean = entity.getSimpleBoolean();
         if (simpleBoolean != null) {
-            stmt.bindLong(2, simpleBoolean ? 1l: 0l);
+            stmt.bindLong(offset + 2, simpleBoolean ? 1l: 0l);
         }
  
         Byte simpleByte = entity.getSimpleByte();
         if (simpleByte != null) {
-            stmt.bindLong(3, simpleByte);
+            stmt.bindLong(offset + 3, simpleByte);
         }
  
         Short simpleShort = entity.getSimpleShort();
         if (simpleShort != null) {
-            stmt.bindLong(4, simpleShort);
+            stmt.bindLong(offset + 4, simpleShort);
         }
  
         Integer simpleInt = entity.getSimpleInt();
         if (simpleInt != null) {
-            stmt.bindLong(5, simpleInt);
+            stmt.bindLong(offset + 5, simpleInt);
         }
  
         Long simpleLong = entity.getSimpleLong();
         if (simpleLong != null) {
-            stmt.bindLong(6, simpleLong);
+            stmt.bindLong(offset + 6, simpleLong);
         }
  
         Float simpleFloat = entity.getSimpleFloat();
         if (simpleFloat != null) {
-            stmt.bindDouble(7, simpleFloat);
+            stmt.bindDouble(offset + 7, simpleFloat);
         }
  
         Double simpleDouble = entity.getSimpleDouble();
         if (simpleDouble != null) {
-            stmt.bindDouble(8, simpleDouble);
+            stmt.bindDouble(offset + 8, simpleDouble);
         }
  
         String simpleString = entity.getSimpleString();
         if (simpleString != null) {
-            stmt.bindString(9, simpleString);
+            stmt.bindString(offset + 9, simpleString);
         }
  
         byte[] simpleByteArray = entity.getSimpleByteArray();
         if (simpleByteArray != null) {
-            stmt.bindBlob(10, simpleByteArray);
+            stmt.bindBlob(offset + 10, simpleByteArray);
         }
     }
 
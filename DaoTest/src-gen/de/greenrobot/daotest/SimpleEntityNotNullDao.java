@@ -68,18 +68,17 @@ public class SimpleEntityNotNullDao extends AbstractDao<SimpleEntityNotNull, Lon
 
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, SimpleEntityNotNull entity) {
-        stmt.clearBindings();
-        stmt.bindLong(1, entity.getId());
-        stmt.bindLong(2, entity.getSimpleBoolean() ? 1l: 0l);
-        stmt.bindLong(3, entity.getSimpleByte());
-        stmt.bindLong(4, entity.getSimpleShort());
-        stmt.bindLong(5, entity.getSimpleInt());
-        stmt.bindLong(6, entity.getSimpleLong());
-        stmt.bindDouble(7, entity.getSimpleFloat());
-        stmt.bindDouble(8, entity.getSimpleDouble());
-        stmt.bindString(9, entity.getSimpleString());
-        stmt.bindBlob(10, entity.getSimpleByteArray());
+    protected void bindValues(SQLiteStatement stmt, SimpleEntityNotNull entity, int offset) {
+        stmt.bindLong(offset + 1, entity.getId());
+        stmt.bindLong(offset + 2, entity.getSimpleBoolean() ? 1l: 0l);
+        stmt.bindLong(offset + 3, entity.getSimpleByte());
+        stmt.bindLong(offset + 4, entity.getSimpleShort());
+        stmt.bindLong(offset + 5, entity.getSimpleInt());
+        stmt.bindLong(offset + 6, entity.getSimpleLong());
+        stmt.bindDouble(offset + 7, entity.getSimpleFloat());
+        stmt.bindDouble(offset + 8, entity.getSimpleDouble());
+        stmt.bindString(offset + 9, entity.getSimpleString());
+        stmt.bindBlob(offset + 10, entity.getSimpleByteArray());
     }
 
     /** @inheritdoc */
@@ -41,32 +41,31 @@ public class SqliteMasterDao extends AbstractDao<SqliteMaster, Void> {
 
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, SqliteMaster entity) {
-        stmt.clearBindings();
+    protected void bindValues(SQLiteStatement stmt, SqliteMaster entity, int offset) {
  
         String type = entity.getType();
         if (type != null) {
-            stmt.bindString(1, type);
+            stmt.bindString(offset + 1, type);
         }
  
         String name = entity.getName();
         if (name != null) {
-            stmt.bindString(2, name);
+            stmt.bindString(offset + 2, name);
         }
  
         String tableName = entity.getTableName();
         if (tableName != null) {
-            stmt.bindString(3, tableName);
+            stmt.bindString(offset + 3, tableName);
         }
  
         Long rootpage = entity.getRootpage();
         if (rootpage != null) {
-            stmt.bindLong(4, rootpage);
+            stmt.bindLong(offset + 4, rootpage);
         }
  
         String sql = entity.getSql();
         if (sql != null) {
-            stmt.bindString(5, sql);
+            stmt.bindString(offset + 5, sql);
         }
     }
 
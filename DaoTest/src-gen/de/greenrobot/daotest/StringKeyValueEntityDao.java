@@ -52,17 +52,16 @@ public class StringKeyValueEntityDao extends AbstractDao<StringKeyValueEntity, S
 
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, StringKeyValueEntity entity) {
-        stmt.clearBindings();
+    protected void bindValues(SQLiteStatement stmt, StringKeyValueEntity entity, int offset) {
  
         String key = entity.getKey();
         if (key != null) {
-            stmt.bindString(1, key);
+            stmt.bindString(offset + 1, key);
         }
  
         String value = entity.getValue();
         if (value != null) {
-            stmt.bindString(2, value);
+            stmt.bindString(offset + 2, value);
         }
     }
 
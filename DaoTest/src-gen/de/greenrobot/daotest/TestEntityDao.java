@@ -71,44 +71,43 @@ public class TestEntityDao extends AbstractDao<TestEntity, Long> {
 
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, TestEntity entity) {
-        stmt.clearBindings();
+    protected void bindValues(SQLiteStatement stmt, TestEntity entity, int offset) {
  
         Long id = entity.getId();
         if (id != null) {
-            stmt.bindLong(1, id);
+            stmt.bindLong(offset + 1, id);
         }
-        stmt.bindLong(2, entity.getSimpleInt());
+        stmt.bindLong(offset + 2, entity.getSimpleInt());
  
         Integer simpleInteger = entity.getSimpleInteger();
         if (simpleInteger != null) {
-            stmt.bindLong(3, simpleInteger);
+            stmt.bindLong(offset + 3, simpleInteger);
         }
-        stmt.bindString(4, entity.getSimpleStringNotNull());
+        stmt.bindString(offset + 4, entity.getSimpleStringNotNull());
  
         String simpleString = entity.getSimpleString();
         if (simpleString != null) {
-            stmt.bindString(5, simpleString);
+            stmt.bindString(offset + 5, simpleString);
         }
  
         String indexedString = entity.getIndexedString();
         if (indexedString != null) {
-            stmt.bindString(6, indexedString);
+            stmt.bindString(offset + 6, indexedString);
         }
  
         String indexedStringAscUnique = entity.getIndexedStringAscUnique();
         if (indexedStringAscUnique != null) {
-            stmt.bindString(7, indexedStringAscUnique);
+            stmt.bindString(offset + 7, indexedStringAscUnique);
         }
  
         java.util.Date simpleDate = entity.getSimpleDate();
         if (simpleDate != null) {
-            stmt.bindLong(8, simpleDate.getTime());
+            stmt.bindLong(offset + 8, simpleDate.getTime());
         }
  
         Boolean simpleBoolean = entity.getSimpleBoolean();
         if (simpleBoolean != null) {
-            stmt.bindLong(9, simpleBoolean ? 1l: 0l);
+            stmt.bindLong(offset + 9, simpleBoolean ? 1l: 0l);
         }
     }
 
@@ -75,6 +75,11 @@ public class ToManyEntity {
         toManyTargetEntityList = null;
     }
 
+    /** Sets the resolved to-many relationship; called by greenDAO when resolving relations of many entities at once. */
+    public synchronized void __setToManyTargetEntityList(List<ToManyTargetEntity> toManyTargetEntityList) {
+        this.toManyTargetEntityList = toManyTargetEntityList;
+    }
+
     /** To-many relationship, resolved on first access (and after reset). Changes to to-many relations are not persisted, make changes to the target entity. */
     public synchronized List<ToManyTargetEntity> getToManyDescList() {
         if (ToManyDescList == null) {
@@ -92,6 +97,11 @@ public class ToManyEntity {
         ToManyDescList = null;
     }
 
+    /** Sets the resolved to-many relationship; called by greenDAO when resolving relations of many entities at once. */
+    public synchronized void __setToManyDescList(List<ToManyTargetEntity> ToManyDescList) {
+        this.ToManyDescList = ToManyDescList;
+    }
+
     /** To-many relationship, resolved on first access (and after reset). Changes to to-many relations are not persisted, make changes to the target entity. */
     public synchronized List<ToManyTargetEntity> getToManyByJoinProperty() {
         if (ToManyByJoinProperty == null) {
@@ -109,6 +119,11 @@ public class ToManyEntity {
         ToManyByJoinProperty = null;
     }
 
+    /** Sets the resolved to-many relationship; called by greenDAO when resolving relations of many entities at once. */
+    public synchronized void __setToManyByJoinProperty(List<ToManyTargetEntity> ToManyByJoinProperty) {
+        this.ToManyByJoinProperty = ToManyByJoinProperty;
+    }
+
     /** To-many relationship, resolved on first access (and after reset). Changes to to-many relations are not persisted, make changes to the target entity. */
     public synchronized List<ToManyTargetEntity> getToManyJoinTwo() {
         if (ToManyJoinTwo == null) {
@@ -126,6 +141,11 @@ public class ToManyEntity {
         ToManyJoinTwo = null;
     }
 
+    /** Sets the resolved to-many relationship; called by greenDAO when resolving relations of many entities at once. */
+    public synchronized void __setToManyJoinTwo(List<ToManyTargetEntity> ToManyJoinTwo) {
+        this.ToManyJoinTwo = ToManyJoinTwo;
+    }
+
     /** Convenient call for {@link AbstractDao#delete(Object)}. Entity must attached to an entity context. */
     public void delete() {
         if (myDao == null) {
@@ -1,5 +1,6 @@
 package de.greenrobot.daotest;
 
+import java.util.List;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteStatement;
@@ -7,6 +8,7 @@ import android.database.sqlite.SQLiteStatement;
 import de.greenrobot.dao.AbstractDao;
 import de.greenrobot.dao.DaoConfig;
 import de.greenrobot.dao.Property;
+import de.greenrobot.dao.ToManyRelation;
 
 import de.greenrobot.daotest.ToManyEntity;
 
@@ -27,6 +29,92 @@ public class ToManyEntityDao extends AbstractDao<ToManyEntity, Long> {
         public final static Property SourceJoinProperty = new Property(1, String.class, "sourceJoinProperty", false, "SOURCE_JOIN_PROPERTY");
     };
 
+    /**
+     * To-many relations of entity ToManyEntity.<br/>
+     * Can be used to resolve relations of many entities at once (see QueryBuilder.prefetch and resolveToMany).
+    */
+    public static class ToManyRelations {
+        public final static ToManyRelation<ToManyEntity, ToManyTargetEntity> ToManyTargetEntityList = //
+                new ToManyRelation<ToManyEntity, ToManyTargetEntity>("toManyTargetEntityList", ToManyTargetEntity.class, //
+                new Property[] { ToManyTargetEntityDao.Properties.ToManyId }, //
+                "_id ASC") {
+            @Override
+            protected Object[] getSourceValues(ToManyEntity entity) {
+                return new Object[] { entity.getId() };
+            }
+
+            @Override
+            protected Object[] getTargetValues(ToManyTargetEntity entity) {
+                return new Object[] { entity.getToManyId() };
+            }
+
+            @Override
+            protected void setResolved(ToManyEntity entity, List<ToManyTargetEntity> targets) {
+                entity.__setToManyTargetEntityList(targets);
+            }
+        };
+
+        public final static ToManyRelation<ToManyEntity, ToManyTargetEntity> ToManyDescList = //
+                new ToManyRelation<ToManyEntity, ToManyTargetEntity>("ToManyDescList", ToManyTargetEntity.class, //
+                new Property[] { ToManyTargetEntityDao.Properties.ToManyIdDesc }, //
+                "_id DESC") {
+            @Override
+            protected Object[] getSourceValues(ToManyEntity entity) {
+                return new Object[] { entity.getId() };
+            }
+
+            @Override
+            protected Object[] getTargetValues(ToManyTargetEntity entity) {
+                return new Object[] { entity.getToManyIdDesc() };
+            }
+
+            @Override
+            protected void setResolved(ToManyEntity entity, List<ToManyTargetEntity> targets) {
+                entity.__setToManyDescList(targets);
+            }
+        };
+
+        public final static ToManyRelation<ToManyEntity, ToManyTargetEntity> ToManyByJoinProperty = //
+                new ToManyRelation<ToManyEntity, ToManyTargetEntity>("ToManyByJoinProperty", ToManyTargetEntity.class, //
+                new Property[] { ToManyTargetEntityDao.Properties.TargetJoinProperty }, //
+                "_id ASC") {
+            @Override
+            protected Object[] getSourceValues(ToManyEntity entity) {
+                return new Object[] { entity.getSourceJoinProperty() };
+            }
+
+            @Override
+            protected Object[] getTargetValues(ToManyTargetEntity entity) {
+                return new Object[] { entity.getTargetJoinProperty() };
+            }
+
+            @Override
+            protected void setResolved(ToManyEntity entity, List<ToManyTargetEntity> targets) {
+                entity.__setToManyByJoinProperty(targets);
+            }
+        };
+
+        public final static ToManyRelation<ToManyEntity, ToManyTargetEntity> ToManyJoinTwo = //
+                new ToManyRelation<ToManyEntity, ToManyTargetEntity>("ToManyJoinTwo", ToManyTargetEntity.class, //
+                new Property[] { ToManyTargetEntityDao.Properties.ToManyId, ToManyTargetEntityDao.Properties.TargetJoinProperty }, //
+                "TARGET_JOIN_PROPERTY DESC,_id DESC") {
+            @Override
+            protected Object[] getSourceValues(ToManyEntity entity) {
+                return new Object[] { entity.getId(), entity.getSourceJoinProperty() };
+            }
+
+            @Override
+            protected Object[] getTargetValues(ToManyTargetEntity entity) {
+                return new Object[] { entity.getToManyId(), entity.getTargetJoinProperty() };
+            }
+
+            @Override
+            protected void setResolved(ToManyEntity entity, List<ToManyTargetEntity> targets) {
+                entity.__setToManyJoinTwo(targets);
+            }
+        };
+    };
+
     private DaoSession daoSession;
 
 
@@ -55,17 +143,16 @@ public class ToManyEntityDao extends AbstractDao<ToManyEntity, Long> {
 
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, ToManyEntity entity) {
-        stmt.clearBindings();
+    protected void bindValues(SQLiteStatement stmt, ToManyEntity entity, int offset) {
  
         Long id = entity.getId();
         if (id != null) {
-            stmt.bindLong(1, id);
+            stmt.bindLong(offset + 1, id);
         }
  
         String sourceJoinProperty = entity.getSourceJoinProperty();
         if (sourceJoinProperty != null) {
-            stmt.bindString(2, sourceJoinProperty);
+            stmt.bindString(offset + 2, sourceJoinProperty);
         }
     }
 
@@ -77,6 +77,12 @@ public class TreeEntity {
         parent__resolvedKey = parentId;
     }
 
+    /** Sets the resolved to-one relationship for the current FK value; called by greenDAO when resolving relations of many entities at once. */
+    public void __setResolvedParent(TreeEntity parent) {
+        this.parent = parent;
+        parent__resolvedKey = parentId;
+    }
+
     /** To-many relationship, resolved on first access (and after reset). Changes to to-many relations are not persisted, make changes to the target entity. */
     public synchronized List<TreeEntity> getChildren() {
         if (children == null) {
@@ -94,6 +100,11 @@ public class TreeEntity {
         children = null;
     }
 
+    /** Sets the resolved to-many relationship; called by greenDAO when resolving relations of many entities at once. */
+    public synchronized void __setChildren(List<TreeEntity> children) {
+        this.children = children;
+    }
+
     /** Convenient call for {@link AbstractDao#delete(Object)}. Entity must attached to an entity context. */
     public void delete() {
         if (myDao == null) {
@@ -12,6 +12,8 @@ import de.greenrobot.dao.Property;
 import de.greenrobot.dao.SqlUtils;
 import de.greenrobot.dao.Query;
 import de.greenrobot.dao.QueryBuilder;
+import de.greenrobot.dao.ToManyRelation;
+import de.greenrobot.dao.ToOneRelation;
 
 import de.greenrobot.daotest.TreeEntity;
 
@@ -32,6 +34,51 @@ public class TreeEntityDao extends AbstractDao<TreeEntity, Long> {
         public final static Property ParentId = new Property(1, Long.class, "parentId", false, "PARENT_ID");
     };
 
+    /**
+     * To-one relations of entity TreeEntity.<br/>
+     * Can be used to resolve relations of many entities at once (see QueryBuilder.prefetch and resolveToOne).
+    */
+    public static class ToOneRelations {
+        public final static ToOneRelation<TreeEntity, TreeEntity> Parent = //
+                new ToOneRelation<TreeEntity, TreeEntity>("parent", TreeEntity.class) {
+            @Override
+            protected Object getFkValue(TreeEntity entity) {
+                return entity.getParentId();
+            }
+
+            @Override
+            protected void setResolved(TreeEntity entity, TreeEntity target) {
+                entity.__setResolvedParent(target);
+            }
+        };
+    };
+
+    /**
+     * To-many relations of entity TreeEntity.<br/>
+     * Can be used to resolve relations of many entities at once (see QueryBuilder.prefetch and resolveToMany).
+    */
+    public static class ToManyRelations {
+        public final static ToManyRelation<TreeEntity, TreeEntity> Children = //
+                new ToManyRelation<TreeEntity, TreeEntity>("children", TreeEntity.class, //
+                new Property[] { TreeEntityDao.Properties.ParentId }, //
+                null) {
+            @Override
+            protected Object[] getSourceValues(TreeEntity entity) {
+                return new Object[] { entity.getId() };
+            }
+
+            @Override
+            protected Object[] getTargetValues(TreeEntity entity) {
+                return new Object[] { entity.getParentId() };
+            }
+
+            @Override
+            protected void setResolved(TreeEntity entity, List<TreeEntity> targets) {
+                entity.__setChildren(targets);
+            }
+        };
+    };
+
     private DaoSession daoSession;
 
     private Query<TreeEntity> treeEntity_ChildrenQuery;
@@ -61,17 +108,16 @@ public class TreeEntityDao extends AbstractDao<TreeEntity, Long> {
 
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, TreeEntity entity) {
-        stmt.clearBindings();
+    protected void bindValues(SQLiteStatement stmt, TreeEntity entity, int offset) {
  
         Long id = entity.getId();
         if (id != null) {
-            stmt.bindLong(1, id);
+            stmt.bindLong(offset + 1, id);
         }
  
         Long parentId = entity.getParentId();
         if (parentId != null) {
-            stmt.bindLong(2, parentId);
+            stmt.bindLong(offset + 2, parentId);
         }
     }
 
@@ -128,15 +174,17 @@ public class TreeEntityDao extends AbstractDao<TreeEntity, Long> {
     }
     
     /** Internal query to resolve the "children" to-many relationship of TreeEntity. */
-    public synchronized List<TreeEntity> _queryTreeEntity_Children(Long parentId) {
-        if (treeEntity_ChildrenQuery == null) {
-            QueryBuilder<TreeEntity> queryBuilder = queryBuilder();
-            queryBuilder.where(Properties.ParentId.eq(parentId));
-            treeEntity_ChildrenQuery = queryBuilder.build();
-        } else {
-            treeEntity_ChildrenQuery.setParameter(0, parentId);
+    public List<TreeEntity> _queryTreeEntity_Children(Long parentId) {
+        synchronized (this) {
+            if (treeEntity_ChildrenQuery == null) {
+                QueryBuilder<TreeEntity> queryBuilder = queryBuilder();
+                queryBuilder.where(Properties.ParentId.eq(parentId));
+                treeEntity_ChildrenQuery = queryBuilder.build();
+            }
         }
-        return treeEntity_ChildrenQuery.list();
+        Query<TreeEntity> query = treeEntity_ChildrenQuery.forCurrentThread();
+        query.setParameter(0, parentId);
+        return query.list();
     }
 
     private String selectDeep;
@@ -154,6 +202,10 @@ public class TreeEntityDao extends AbstractDao<TreeEntity, Long> {
         }
         return selectDeep;
     }
+
+    protected String[] getDeepTablenames() {
+        return new String[] { "TREE_ENTITY" };
+    }
     
     protected TreeEntity loadCurrentDeep(Cursor cursor, boolean lock) {
         TreeEntity entity = loadCurrent(cursor, 0, lock);
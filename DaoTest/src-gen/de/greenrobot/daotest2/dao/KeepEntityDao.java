@@ -50,12 +50,11 @@ public class KeepEntityDao extends AbstractDao<KeepEntity, Long> {
 
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, KeepEntity entity) {
-        stmt.clearBindings();
+    protected void bindValues(SQLiteStatement stmt, KeepEntity entity, int offset) {
  
         Long id = entity.getId();
         if (id != null) {
-            stmt.bindLong(1, id);
+            stmt.bindLong(offset + 1, id);
         }
     }
 
@@ -10,9 +10,13 @@ import de.greenrobot.dao.AbstractDao;
 import de.greenrobot.dao.DaoConfig;
 import de.greenrobot.dao.Property;
 import de.greenrobot.dao.SqlUtils;
+import de.greenrobot.dao.ToManyRelation;
+import de.greenrobot.dao.ToOneRelation;
 
 import de.greenrobot.daotest2.dao.DaoSession;
 
+import de.greenrobot.daotest2.ToManyTarget2;
+import de.greenrobot.daotest2.dao.ToManyTarget2Dao;
 import de.greenrobot.daotest2.to1_specialentity.ToOneTarget2;
 
 import de.greenrobot.daotest2.specialentity.RelationSource2;
@@ -34,6 +38,51 @@ public class RelationSource2Dao extends AbstractDao<RelationSource2, Long> {
         public final static Property ToOneId = new Property(1, Long.class, "toOneId", false, "TO_ONE_ID");
     };
 
+    /**
+     * To-one relations of entity RelationSource2.<br/>
+     * Can be used to resolve relations of many entities at once (see QueryBuilder.prefetch and resolveToOne).
+    */
+    public static class ToOneRelations {
+        public final static ToOneRelation<RelationSource2, ToOneTarget2> ToOneTarget2 = //
+                new ToOneRelation<RelationSource2, ToOneTarget2>("toOneTarget2", ToOneTarget2.class) {
+            @Override
+            protected Object getFkValue(RelationSource2 entity) {
+                return entity.getToOneId();
+            }
+
+            @Override
+            protected void setResolved(RelationSource2 entity, ToOneTarget2 target) {
+                entity.__setResolvedToOneTarget2(target);
+            }
+        };
+    };
+
+    /**
+     * To-many relations of entity RelationSource2.<br/>
+     * Can be used to resolve relations of many entities at once (see QueryBuilder.prefetch and resolveToMany).
+    */
+    public static class ToManyRelations {
+        public final static ToManyRelation<RelationSource2, ToManyTarget2> ToManyTarget2List = //
+                new ToManyRelation<RelationSource2, ToManyTarget2>("toManyTarget2List", ToManyTarget2.class, //
+                new Property[] { ToManyTarget2Dao.Properties.FkId }, //
+                null) {
+            @Override
+            protected Object[] getSourceValues(RelationSource2 entity) {
+                return new Object[] { entity.getId() };
+            }
+
+            @Override
+            protected Object[] getTargetValues(ToManyTarget2 entity) {
+                return new Object[] { entity.getFkId() };
+            }
+
+            @Override
+            protected void setResolved(RelationSource2 entity, List<ToManyTarget2> targets) {
+                entity.__setToManyTarget2List(targets);
+            }
+        };
+    };
+
     private DaoSession daoSession;
 
 
@@ -62,17 +111,16 @@ public class RelationSource2Dao extends AbstractDao<RelationSource2, Long> {
 
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, RelationSource2 entity) {
-        stmt.clearBindings();
+    protected void bindValues(SQLiteStatement stmt, RelationSource2 entity, int offset) {
  
         Long id = entity.getId();
         if (id != null) {
-            stmt.bindLong(1, id);
+            stmt.bindLong(offset + 1, id);
         }
  
         Long toOneId = entity.getToOneId();
         if (toOneId != null) {
-            stmt.bindLong(2, toOneId);
+            stmt.bindLong(offset + 2, toOneId);
         }
     }
 
@@ -143,6 +191,10 @@ public class RelationSource2Dao extends AbstractDao<RelationSource2, Long> {
         }
         return selectDeep;
     }
+
+    protected String[] getDeepTablenames() {
+        return new String[] { "TO_ONE_TARGET2" };
+    }
     
     protected RelationSource2 loadCurrentDeep(Cursor cursor, boolean lock) {
         RelationSource2 entity = loadCurrent(cursor, 0, lock);
@@ -89,6 +89,12 @@ public class RelationSource2 {
         toOneTarget2__resolvedKey = toOneId;
     }
 
+    /** Sets the resolved to-one relationship for the current FK value; called by greenDAO when resolving relations of many entities at once. */
+    public void __setResolvedToOneTarget2(ToOneTarget2 toOneTarget2) {
+        this.toOneTarget2 = toOneTarget2;
+        toOneTarget2__resolvedKey = toOneId;
+    }
+
     /** To-many relationship, resolved on first access (and after reset). Changes to to-many relations are not persisted, make changes to the target entity. */
     public synchronized List<ToManyTarget2> getToManyTarget2List() {
         if (toManyTarget2List == null) {
@@ -106,6 +112,11 @@ public class RelationSource2 {
         toManyTarget2List = null;
     }
 
+    /** Sets the resolved to-many relationship; called by greenDAO when resolving relations of many entities at once. */
+    public synchronized void __setToManyTarget2List(List<ToManyTarget2> toManyTarget2List) {
+        this.toManyTarget2List = toManyTarget2List;
+    }
+
     /** Convenient call for {@link AbstractDao#delete(Object)}. Entity must attached to an entity context. */
     public void delete() {
         if (myDao == null) {
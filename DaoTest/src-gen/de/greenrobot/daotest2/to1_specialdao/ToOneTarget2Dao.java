@@ -52,12 +52,11 @@ public class ToOneTarget2Dao extends AbstractDao<ToOneTarget2, Long> {
 
     /** @inheritdoc */
     @Override
-    protected void bindValues(SQLiteStatement stmt, ToOneTarget2 entity) {
-        stmt.clearBindings();
+    protected void bindValues(SQLiteStatement stmt, ToOneTarget2 entity, int offset) {
  
         Long id = entity.getId();
         if (id != null) {
-            stmt.bindLong(1, id);
+            stmt.bindLong(offset + 1, id);
         }
     }
 
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * This file is part of greenDAO Generator.
+ * 
+ * greenDAO Generator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * greenDAO Generator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with greenDAO Generator.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.greenrobot.daotest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+import de.greenrobot.dao.DaoException;
+import de.greenrobot.dao.LongOpenHashMap;
+
+public class LongOpenHashMapTest extends TestCase {
+
+    Random random;
+
+    public LongOpenHashMapTest() {
+        this.random = new Random();
+    }
+
+    public void testSimple() {
+        LongOpenHashMap<Object> map = new LongOpenHashMap<Object>();
+
+        map.put(1l << 33, "OK");
+        assertNull(map.get(0));
+        assertEquals("OK", map.get(1l << 33));
+
+        map.put(0, "zero");
+        assertEquals("zero", map.get(0));
+        assertEquals("zero", map.put(0, "zero2"));
+        assertEquals(2, map.size());
+
+        long keyLong = 0x7fffffffl << 33l + 14;
+        assertNull(map.remove(keyLong));
+        map.put(keyLong, "OK");
+        assertTrue(map.containsKey(keyLong));
+        assertEquals("OK", map.remove(keyLong));
+        assertFalse(map.containsKey(keyLong));
+
+        map.put(Long.MAX_VALUE, "max");
+        map.put(Long.MIN_VALUE, "min");
+        assertEquals("max", map.get(Long.MAX_VALUE));
+        assertEquals("min", map.get(Long.MIN_VALUE));
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(0));
+    }
+
+    public void testNullValue() {
+        try {
+            new LongOpenHashMap<Object>().put(1, null);
+            fail("Null values are not supported");
+        } catch (DaoException expected) {
+            // OK
+        }
+    }
+
+    public void testLinearKeysGrowing() {
+        LongOpenHashMap<Object> map = new LongOpenHashMap<Object>(2);
+        for (long key = 0; key < 10000; key++) {
+            map.put(key, key);
+        }
+        assertEquals(10000, map.size());
+        for (long key = 0; key < 10000; key++) {
+            assertEquals(key, map.get(key));
+        }
+        for (long key = 0; key < 10000; key += 2) {
+            assertEquals(key, map.remove(key));
+        }
+        assertEquals(5000, map.size());
+        for (long key = 0; key < 10000; key++) {
+            assertEquals(key % 2 == 0 ? null : (Object) key, map.get(key));
+        }
+    }
+
+    /** Compares with HashMap, removing keys often to exercise backward shift deletion in crowded tables. */
+    public void testRandomAgainstHashMap() {
+        LongOpenHashMap<Object> map = new LongOpenHashMap<Object>();
+        Map<Long, Object> expected = new HashMap<Long, Object>();
+        List<Long> keys = new ArrayList<Long>();
+        for (int i = 0; i < 20000; i++) {
+            // Few distinct keys in a small range cause many collisions
+            long key = random.nextInt(4) == 0 ? random.nextLong() : random.nextInt(3000);
+            if (random.nextInt(3) == 0 && !keys.isEmpty()) {
+                Long removeKey = keys.remove(random.nextInt(keys.size()));
+                assertEquals(expected.remove(removeKey), map.remove(removeKey));
+            } else {
+                String value = "Value-" + i;
+                if (!expected.containsKey(key)) {
+                    keys.add(key);
+                }
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (Map.Entry<Long, Object> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        for (Long key : keys) {
+            assertEquals(expected.remove(key), map.remove(key));
+        }
+        assertEquals(0, map.size());
+    }
+
+    public void testReserveRoom() {
+        LongOpenHashMap<Object> map = new LongOpenHashMap<Object>();
+        map.put(42, "OK");
+        map.reserveRoom(1000);
+        map.reserveRoom(10);
+        assertEquals("OK", map.get(42));
+        for (long key = 0; key < 1000; key++) {
+            map.put(key * 31, key);
+        }
+        assertEquals(1001, map.size());
+        assertEquals(0l, map.get(0));
+        assertEquals(999l, map.get(999 * 31));
+    }
+
+}
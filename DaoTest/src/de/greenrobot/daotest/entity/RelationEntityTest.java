@@ -17,14 +17,20 @@
  */
 package de.greenrobot.daotest.entity;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import de.greenrobot.dao.DaoException;
 import de.greenrobot.dao.IdentityScopeType;
+import de.greenrobot.dao.KeysetPager;
+import de.greenrobot.dao.Query;
+import de.greenrobot.dao.QueryBuilder;
 import de.greenrobot.dao.test.AbstractDaoTestLongPk;
 import de.greenrobot.daotest.DaoMaster;
 import de.greenrobot.daotest.DaoSession;
 import de.greenrobot.daotest.RelationEntity;
 import de.greenrobot.daotest.RelationEntityDao;
+import de.greenrobot.daotest.RelationEntityDao.ToOneRelations;
 import de.greenrobot.daotest.TestEntity;
 import de.greenrobot.daotest.TestEntityDao;
 
@@ -167,6 +173,151 @@ public class RelationEntityTest extends AbstractDaoTestLongPk<RelationEntityDao,
         assertTestEntity(entityList.get(0));
     }
 
+    public void testQueryBuilderDeep() {
+        insertEntityWithRelations(42l);
+        insertEntityWithRelations(42l);
+        List<RelationEntity> entityList = dao.queryBuilder()
+                .where(RelationEntityDao.Properties.SimpleString.eq("findMe"))
+                .orderDesc(RelationEntityDao.Properties.Id).limit(1).listDeep();
+
+        // Getters must not load anymore
+        deleteTargets();
+        assertEquals(1, entityList.size());
+        RelationEntity entity = entityList.get(0);
+        assertTestEntity(entity);
+        assertEquals(4l, (long) entity.getId());
+    }
+
+    public void testQueryBuilderDeepUnique() {
+        RelationEntity entity = insertEntityWithRelations(42l);
+        Query<RelationEntity> query = dao.queryBuilder().where(RelationEntityDao.Properties.Id.eq(entity.getId()))
+                .deep().build();
+        entity = query.unique();
+        deleteTargets();
+        assertTestEntity(entity);
+
+        query.setParameter(0, -1l);
+        assertNull(query.unique());
+    }
+
+    public void testQueryBuilderDeepNull() {
+        RelationEntity entity = insertEntityWithRelations(42l);
+        entity.setParentId(null);
+        entity.setTestId(23l);
+        dao.update(entity);
+        entity = dao.queryBuilder().where(RelationEntityDao.Properties.Id.eq(entity.getId())).deep().unique();
+        assertNull(entity.getParent());
+        assertNull(entity.getTestEntity());
+        assertNotNull(entity.getTestNotNull());
+    }
+
+    public void testQueryBuilderDeepJoin() {
+        insertEntityWithRelations(42l);
+        insertEntityWithRelations(43l);
+        QueryBuilder<RelationEntity> queryBuilder = dao.queryBuilder().deep();
+        queryBuilder.join(TestEntity.class, RelationEntityDao.Properties.TestId).where(
+                TestEntityDao.Properties.Id.eq(42l));
+        List<RelationEntity> entityList = queryBuilder.list();
+        assertEquals(1, entityList.size());
+        deleteTargets();
+        assertTestEntity(entityList.get(0));
+    }
+
+    public void testQueryBuilderDeepKeysetPager() {
+        insertEntityWithRelations(42l);
+        insertEntityWithRelations(42l);
+        insertEntityWithRelations(42l);
+        KeysetPager<RelationEntity> pager = dao.queryBuilder()
+                .where(RelationEntityDao.Properties.SimpleString.eq("findMe")).orderAsc(RelationEntityDao.Properties.Id)
+                .deep().buildKeysetPager(2);
+        List<RelationEntity> entityList = new ArrayList<RelationEntity>(pager.nextPage());
+        entityList.addAll(pager.nextPage());
+
+        // Getters must not load anymore
+        deleteTargets();
+        assertEquals(3, entityList.size());
+        for (RelationEntity entity : entityList) {
+            assertTestEntity(entity);
+        }
+    }
+
+    public void testQueryBuilderDeepDistinct() {
+        try {
+            dao.queryBuilder().distinct().deep().build();
+            fail("Deep queries must not be distinct");
+        } catch (DaoException expected) {
+            // OK
+        }
+    }
+
+    public void testResolveToOnes() {
+        insertEntityWithRelations(42l);
+        insertEntityWithRelations(42l);
+        List<RelationEntity> entityList = queryFindMe();
+        dao.resolveToOne(entityList, ToOneRelations.Parent);
+        dao.resolveToOne(entityList, ToOneRelations.TestEntity);
+        dao.resolveToOne(entityList, ToOneRelations.TestNotNull);
+
+        // Getters must not load anymore
+        deleteTargets();
+        assertEquals(2, entityList.size());
+        for (RelationEntity entity : entityList) {
+            assertTestEntity(entity);
+        }
+    }
+
+    public void testResolveToOnesNullAndNoMatch() {
+        RelationEntity entity = insertEntityWithRelations(42l);
+        entity.setParentId(null);
+        entity.setTestId(23l);
+        entity.setTestIdNotNull(-78);
+        dao.update(entity);
+
+        List<RelationEntity> entityList = queryFindMe();
+        dao.resolveToOne(entityList, ToOneRelations.Parent);
+        dao.resolveToOne(entityList, ToOneRelations.TestEntity);
+        dao.resolveToOne(entityList, ToOneRelations.TestNotNull);
+        entity = entityList.get(0);
+        assertNull(entity.getParent());
+        assertNull(entity.getTestEntity());
+        assertNull(entity.getTestNotNull());
+    }
+
+    public void testResolveToOnesChangedKey() {
+        insertEntityWithRelations(42l);
+        insertEntityWithRelations(43l);
+        List<RelationEntity> entityList = queryFindMe();
+        dao.resolveToOne(entityList, ToOneRelations.TestEntity);
+        RelationEntity entity = entityList.get(0);
+        assertEquals(42l, (long) entity.getTestEntity().getId());
+
+        // Resolved key does not match the changed FK anymore, so the getter loads again
+        entity.setTestId(43l);
+        assertEquals(43l, (long) entity.getTestEntity().getId());
+    }
+
+    public void testPrefetchToOne() {
+        insertEntityWithRelations(42l);
+        List<RelationEntity> entityList = dao.queryBuilder()
+                .where(RelationEntityDao.Properties.SimpleString.eq("findMe")).prefetch(ToOneRelations.TestEntity)
+                .prefetch(ToOneRelations.Parent).prefetch(ToOneRelations.TestNotNull).list();
+        deleteTargets();
+        assertEquals(1, entityList.size());
+        assertTestEntity(entityList.get(0));
+    }
+
+    protected List<RelationEntity> queryFindMe() {
+        return dao.queryBuilder().where(RelationEntityDao.Properties.SimpleString.eq("findMe"))
+                .orderAsc(RelationEntityDao.Properties.Id).list();
+    }
+
+    /** Deletes test entities and parents without detaching them. */
+    protected void deleteTargets() {
+        daoSession.getTestEntityDao().queryBuilder().buildDelete().executeDeleteWithoutDetachingEntities();
+        dao.queryBuilder().where(RelationEntityDao.Properties.SimpleString.eq("I'm a parent")).buildDelete()
+                .executeDeleteWithoutDetachingEntities();
+    }
+
     protected RelationEntity insertEntityWithRelations(Long testEntityId) {
         TestEntity testEntity = daoSession.getTestEntityDao().load(testEntityId);
         if (testEntity == null) {
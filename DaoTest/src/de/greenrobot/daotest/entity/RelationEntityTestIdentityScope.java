@@ -22,6 +22,8 @@ import java.util.List;
 import de.greenrobot.dao.IdentityScopeType;
 import de.greenrobot.daotest.RelationEntity;
 import de.greenrobot.daotest.RelationEntityDao;
+import de.greenrobot.daotest.RelationEntityDao.ToOneRelations;
+import de.greenrobot.daotest.TestEntity;
 
 /**
  * @author Markus
@@ -58,6 +60,19 @@ public class RelationEntityTestIdentityScope extends RelationEntityTest {
         assertSame(entity.getTestEntity(), entity2.getTestEntity());
     }
 
+    public void testResolveToOnesIdentityScope() {
+        insertEntityWithRelations(42l);
+        insertEntityWithRelations(42l);
+        TestEntity testEntity = daoSession.getTestEntityDao().load(42l);
+        List<RelationEntity> entityList = queryFindMe();
+        dao.resolveToOne(entityList, ToOneRelations.TestEntity);
+        dao.resolveToOne(entityList, ToOneRelations.TestNotNull);
+        deleteTargets();
+        assertSame(testEntity, entityList.get(0).getTestEntity());
+        assertSame(testEntity, entityList.get(1).getTestEntity());
+        assertSame(testEntity, entityList.get(1).getTestNotNull());
+    }
+
     public void testLoadDeepIdentityScope() {
         RelationEntity entity = insertEntityWithRelations(42l);
         RelationEntity entity2 = dao.loadDeep(entity.getId());
@@ -49,6 +49,15 @@ public abstract class TestEntityTestBase extends AbstractDaoTest<TestEntityDao,
         return list;
     }
 
+    /** Inserts entities with repeating simpleInteger and simpleString values, e.g. to test ordering by them. */
+    protected void insertWithDuplicates(int count) {
+        ArrayList<TestEntity> entities = new ArrayList<TestEntity>();
+        for (int i = 0; i < count; i++) {
+            entities.add(createEntity(i % 7, "String" + (i % 5)));
+        }
+        dao.insertInTx(entities);
+    }
+
     protected String getSimpleString(int i) {
         return "String" + (i + 100);
     }
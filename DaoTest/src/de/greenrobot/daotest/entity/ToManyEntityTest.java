@@ -17,6 +17,7 @@
  */
 package de.greenrobot.daotest.entity;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +29,7 @@ import de.greenrobot.daotest.DaoMaster;
 import de.greenrobot.daotest.DaoSession;
 import de.greenrobot.daotest.ToManyEntity;
 import de.greenrobot.daotest.ToManyEntityDao;
+import de.greenrobot.daotest.ToManyEntityDao.ToManyRelations;
 import de.greenrobot.daotest.ToManyTargetEntity;
 import de.greenrobot.daotest.ToManyTargetEntityDao;
 
@@ -196,4 +198,121 @@ public class ToManyEntityTest extends AbstractDaoSessionTest<Application,DaoMast
         assertFalse(middleEntity.getId() == targetEntities.get(1).getId());
     }
 
+    public void testResolveToMany() {
+        List<ToManyTargetEntity[]> targetEntitiesList = new ArrayList<ToManyTargetEntity[]>();
+        for (int i = 0; i < 16; i++) {
+            targetEntitiesList.add(prepareToMany(i + 1, i));
+        }
+        List<ToManyEntity> entities = toManyEntityDao.queryBuilder().orderAsc(ToManyEntityDao.Properties.Id).list();
+        toManyEntityDao.resolveToMany(entities, ToManyRelations.ToManyTargetEntityList);
+
+        // Getters must not query anymore
+        toManyTargetEntityDao.deleteAll();
+        for (int i = 0; i < 16; i++) {
+            assertSameEntities(targetEntitiesList.get(i), entities.get(i).getToManyTargetEntityList());
+        }
+    }
+
+    public void testResolveToManyManyChunks() {
+        int count = 1234;
+        ToManyEntity[] entities = new ToManyEntity[count];
+        ToManyTargetEntity[] targetEntities = new ToManyTargetEntity[count * 2];
+        for (int i = 0; i < count; i++) {
+            entities[i] = new ToManyEntity((long) i + 1);
+            for (int j = 0; j < 2; j++) {
+                ToManyTargetEntity target = new ToManyTargetEntity();
+                target.setToManyId((long) i + 1);
+                targetEntities[i * 2 + j] = target;
+            }
+        }
+        toManyEntityDao.insertInTx(entities);
+        toManyTargetEntityDao.insertInTx(targetEntities);
+
+        List<ToManyEntity> loaded = toManyEntityDao.queryBuilder().prefetch(ToManyRelations.ToManyTargetEntityList)
+                .orderAsc(ToManyEntityDao.Properties.Id).list();
+        toManyTargetEntityDao.deleteAll();
+        assertEquals(count, loaded.size());
+        for (int i = 0; i < count; i++) {
+            List<ToManyTargetEntity> targets = loaded.get(i).getToManyTargetEntityList();
+            assertEquals(2, targets.size());
+            assertSame(targetEntities[i * 2], targets.get(0));
+            assertSame(targetEntities[i * 2 + 1], targets.get(1));
+        }
+    }
+
+    public void testPrefetchOrder() {
+        prepareToMany(1, 3);
+        prepareToMany(2, 2);
+        prepareToMany(3, 0);
+        List<ToManyEntity> entities = toManyEntityDao.queryBuilder()
+                .prefetch(ToManyRelations.ToManyTargetEntityList).prefetch(ToManyRelations.ToManyDescList)
+                .orderAsc(ToManyEntityDao.Properties.Id).list();
+        toManyTargetEntityDao.deleteAll();
+
+        for (ToManyEntity entity : entities) {
+            List<ToManyTargetEntity> asc = entity.getToManyTargetEntityList();
+            List<ToManyTargetEntity> desc = entity.getToManyDescList();
+            assertNotSame(asc, desc);
+            assertEquals(asc.size(), desc.size());
+            for (int i = 0; i < asc.size(); i++) {
+                assertSame(asc.get(i), desc.get(asc.size() - 1 - i));
+            }
+        }
+        assertEquals(3, entities.get(0).getToManyTargetEntityList().size());
+        assertEquals(2, entities.get(1).getToManyTargetEntityList().size());
+        assertEquals(0, entities.get(2).getToManyTargetEntityList().size());
+        assertTrue(entities.get(0).getToManyTargetEntityList().get(0).getId() < entities.get(0)
+                .getToManyTargetEntityList().get(1).getId());
+    }
+
+    public void testPrefetchUnique() {
+        ToManyTargetEntity[] targetEntities = prepareToMany(1, 3);
+        ToManyEntity entity = toManyEntityDao.queryBuilder().prefetch(ToManyRelations.ToManyTargetEntityList)
+                .unique();
+        toManyTargetEntityDao.deleteAll();
+        assertSameEntities(targetEntities, entity.getToManyTargetEntityList());
+    }
+
+    public void testResolveTwoJoinProperties() {
+        ToManyEntity entity1 = new ToManyEntity(1l);
+        entity1.setSourceJoinProperty("JOIN ME");
+        ToManyEntity entity2 = new ToManyEntity(2l);
+        entity2.setSourceJoinProperty("JOIN ME TOO");
+        ToManyEntity entity3 = new ToManyEntity(3l);
+        daoSession.insert(entity1);
+        daoSession.insert(entity2);
+        daoSession.insert(entity3);
+        ToManyTargetEntity[] targets1 = insertTargetEntitites(1l, 2, "JOIN ME");
+        insertTargetEntitites(1l, 3, "JOIN ME TOO");
+        ToManyTargetEntity[] targets2 = insertTargetEntitites(2l, 1, "JOIN ME TOO");
+        insertTargetEntitites(3l, 1, null);
+
+        List<ToManyEntity> entities = toManyEntityDao.queryBuilder().orderAsc(ToManyEntityDao.Properties.Id).list();
+        toManyEntityDao.resolveToMany(entities, ToManyRelations.ToManyJoinTwo);
+        toManyTargetEntityDao.deleteAll();
+
+        assertSameEntities(targets1, entities.get(0).getToManyJoinTwo());
+        assertSameEntities(targets2, entities.get(1).getToManyJoinTwo());
+        // NULL references don't match anything
+        assertEquals(0, entities.get(2).getToManyJoinTwo().size());
+    }
+
+    public void testResolveSharedJoinProperty() {
+        ToManyEntity entity1 = new ToManyEntity(1l);
+        entity1.setSourceJoinProperty("JOIN ME");
+        ToManyEntity entity2 = new ToManyEntity(2l);
+        entity2.setSourceJoinProperty("JOIN ME");
+        daoSession.insert(entity1);
+        daoSession.insert(entity2);
+        ToManyTargetEntity[] targets = insertTargetEntitites(null, 3, "JOIN ME");
+
+        List<ToManyEntity> entities = toManyEntityDao.loadAll();
+        toManyEntityDao.resolveToMany(entities, ToManyRelations.ToManyByJoinProperty);
+        List<ToManyTargetEntity> resolved1 = entities.get(0).getToManyByJoinProperty();
+        List<ToManyTargetEntity> resolved2 = entities.get(1).getToManyByJoinProperty();
+        assertNotSame(resolved1, resolved2);
+        assertSameEntities(targets, resolved1);
+        assertSameEntities(targets, resolved2);
+    }
+
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2013 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * This file is part of greenDAO Generator.
+ * 
+ * greenDAO Generator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * greenDAO Generator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with greenDAO Generator.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.greenrobot.daotest.performance;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import android.app.Application;
+import de.greenrobot.dao.DaoLog;
+import de.greenrobot.dao.IdentityScopeType;
+import de.greenrobot.dao.test.AbstractDaoSessionTest;
+import de.greenrobot.daotest.DaoMaster;
+import de.greenrobot.daotest.DaoSession;
+import de.greenrobot.daotest.RelationEntity;
+import de.greenrobot.daotest.RelationEntityDao;
+import de.greenrobot.daotest.RelationEntityDao.ToOneRelations;
+import de.greenrobot.daotest.TestEntity;
+
+/** Compares loading entities with their to-ones lazily (1+N loads), with prefetching and deep (LEFT JOIN). */
+public class DeepLoadPerformanceTest extends AbstractDaoSessionTest<Application, DaoMaster, DaoSession> {
+    private long start;
+    private String traceName;
+
+    public DeepLoadPerformanceTest() {
+        super(DaoMaster.class, false);
+    }
+
+    public void testDeepLoadPerformance() throws Exception {
+        // runDeepLoadTests(1000);
+        // runDeepLoadTests(10000);
+    }
+
+    protected void runDeepLoadTests(int entityCount) {
+        List<TestEntity> targets = new ArrayList<TestEntity>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            TestEntity testEntity = new TestEntity();
+            testEntity.setSimpleStringNotNull("target" + i);
+            targets.add(testEntity);
+        }
+        daoSession.getTestEntityDao().insertInTx(targets);
+        List<RelationEntity> entities = new ArrayList<RelationEntity>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            RelationEntity entity = new RelationEntity();
+            entity.setSimpleString("entity" + i);
+            entity.setTestEntity(targets.get(i));
+            entity.setTestNotNull(targets.get(entityCount - 1 - i));
+            entities.add(entity);
+        }
+        daoSession.getRelationEntityDao().insertInTx(entities);
+        targets = null;
+        entities = null;
+
+        DaoLog.d("####################");
+        DaoLog.d(getClass().getSimpleName() + ": deep loading " + entityCount + " entities on " + new Date());
+        DaoLog.d("####################");
+
+        // No identity scope, so each lazy getter runs a load
+        RelationEntityDao dao = daoMaster.newSession(IdentityScopeType.None).getRelationEntityDao();
+        startClock("list-and-getters-" + entityCount);
+        entities = dao.queryBuilder().list();
+        accessToOnes(entities);
+        stopClockWithRate(entities.size());
+
+        startClock("prefetch-" + entityCount);
+        entities = dao.queryBuilder().prefetch(ToOneRelations.TestEntity).prefetch(ToOneRelations.TestNotNull)
+                .list();
+        accessToOnes(entities);
+        stopClockWithRate(entities.size());
+
+        startClock("deep-" + entityCount);
+        entities = dao.queryBuilder().listDeep();
+        accessToOnes(entities);
+        stopClockWithRate(entities.size());
+    }
+
+    private void accessToOnes(List<RelationEntity> entities) {
+        for (RelationEntity entity : entities) {
+            assertNotNull(entity.getTestEntity());
+            assertNotNull(entity.getTestNotNull());
+        }
+    }
+
+    protected void startClock(String traceName) {
+        System.gc();
+        this.traceName = traceName;
+        start = System.currentTimeMillis();
+    }
+
+    protected void stopClockWithRate(int entityCount) {
+        long time = Math.max(System.currentTimeMillis() - start, 1);
+        DaoLog.d(traceName + " completed in " + time + "ms (" + entityCount + " entities, "
+                + (entityCount * 1000L / time) + " entities/s)");
+    }
+
+}
@@ -25,6 +25,7 @@ import java.util.Random;
 import junit.framework.TestCase;
 import de.greenrobot.dao.DaoLog;
 import de.greenrobot.dao.LongHashMap;
+import de.greenrobot.dao.LongOpenHashMap;
 import de.greenrobot.daotest.performance.target.LongHashMapAmarena2DZechner;
 import de.greenrobot.daotest.performance.target.LongHashMapJDBM;
 import de.greenrobot.daotest.performance.target.LongSparseArray;
@@ -43,7 +44,10 @@ public class LoockupPerformanceTest extends TestCase {
         // runTests(100);
         // runTests(1000);
         // runTests(10000);
-        // runTests(100000); // hash: 1485/420ms; sparse: 148196/196ms
+        runTests(100000); // hash: 1485/420ms; sparse: 148196/196ms
+        // Larger counts need a big heap (HashMap with 10M entries: about 1 GB)
+        // runTests(1000000);
+        // runTests(10000000);
         DaoLog.d("testHashMapPerformance DONE");
     }
 
@@ -68,8 +72,9 @@ public class LoockupPerformanceTest extends TestCase {
             runMapTest(new HashMap<Long, Object>(count), keys, "hashmap");
             // runMapTest(new WeakHashMap<Long, Object>(count), keys, "weakhashmap");
             // runMapTest(new ConcurrentHashMap<Long, Object>(count), keys, "concurrent-hashmap");
-            // runLongSparseArrayTest(keys);
+            runLongSparseArrayTest(keys, randomKeys);
             runLongHashMap(keys);
+            runLongOpenHashMap(keys);
             runLongHashMapAmarena2DZechnerTest(keys);
             // runLongHashMapJDBMTest(keys);
             DaoLog.d("-----------------------------------");
@@ -98,8 +103,9 @@ public class LoockupPerformanceTest extends TestCase {
         }
     }
 
-    private void runLongSparseArrayTest(long[] keys) {
-        if (keys.length > 10000) {
+    private void runLongSparseArrayTest(long[] keys, boolean randomKeys) {
+        // Inserting random keys shifts the array for each key (linear keys are appended)
+        if (randomKeys && keys.length > 10000) {
             DaoLog.d("Skipping runLongSparseArrayTest for " + keys.length);
             return;
         }
@@ -161,6 +167,34 @@ public class LoockupPerformanceTest extends TestCase {
         map.logStats();
     }
 
+    private void runLongOpenHashMap(long[] keys) {
+        LongOpenHashMap<Object> map = new LongOpenHashMap<Object>();
+        map.reserveRoom(keys.length);
+
+        startClock("put-open-" + keys.length);
+        for (long key : keys) {
+            map.put(key, this);
+        }
+        stopClock();
+
+        startClock("get-open-" + keys.length);
+        for (long key : keys) {
+            Object object = map.get(key);
+            if (object != this) {
+                fail("Ups: " + object);
+            }
+        }
+        stopClock();
+        map.logStats();
+
+        startClock("remove-open-" + keys.length);
+        for (long key : keys) {
+            map.remove(key);
+        }
+        stopClock();
+        assertEquals(0, map.size());
+    }
+
     private void runLongHashMapAmarena2DZechnerTest(long[] keys) {
         LongHashMapAmarena2DZechner<Object> map = new LongHashMapAmarena2DZechner<Object>(keys.length);
 
@@ -20,10 +20,18 @@ package de.greenrobot.daotest.performance;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
 
 import android.os.Debug;
 import de.greenrobot.dao.AbstractDao;
 import de.greenrobot.dao.DaoLog;
+import de.greenrobot.dao.EntityVisitor;
+import de.greenrobot.dao.LazyList;
+import de.greenrobot.dao.Property;
+import de.greenrobot.dao.Query;
+import de.greenrobot.dao.QueryBuilder;
+import de.greenrobot.dao.SqlUtils;
 import de.greenrobot.dao.test.AbstractDaoTest;
 
 public abstract class PerformanceTest<D extends AbstractDao<T, K>, T, K> extends AbstractDaoTest<D, T, K> {
@@ -44,6 +52,38 @@ public abstract class PerformanceTest<D extends AbstractDao<T, K>, T, K> extends
         // runTests(1000);
     }
 
+    public void testMultiRowInsertPerformance() throws Exception {
+        // runMultiRowInsertTests(1000);
+        // runMultiRowInsertTests(10000);
+        // runMultiRowInsertTests(100000);
+    }
+
+    public void testDeleteInTxPerformance() throws Exception {
+        // runDeleteInTxTests(1000);
+        // runDeleteInTxTests(10000);
+        // runDeleteInTxTests(100000);
+    }
+
+    public void testLoadByLongKeyPerformance() throws Exception {
+        // runLoadByLongKeyTests(10000, 1000000);
+    }
+
+    public void testStreamingPerformance() throws Exception {
+        // runStreamingTests(100000);
+    }
+
+    public void testBulkUpdatePerformance() throws Exception {
+        // runBulkUpdateTests(50000);
+    }
+
+    public void testInQueryPerformance() throws Exception {
+        // runInQueryTests(100000, 100, 1000, 10000, 100000);
+    }
+
+    public void testLazyListReadPerformance() throws Exception {
+        // runLazyListReadTests(10000, 20, 1, 2, 4, 8);
+    }
+
     protected void runTests(int entityCount) {
         DaoLog.d("####################");
         DaoLog.d(getClass().getSimpleName() + ": " + entityCount + " entities on " + new Date());
@@ -135,6 +175,301 @@ public abstract class PerformanceTest<D extends AbstractDao<T, K>, T, K> extends
         stopClock(list.size() + " entities");
     }
 
+    protected void runMultiRowInsertTests(int entityCount) {
+        DaoLog.d("####################");
+        DaoLog.d(getClass().getSimpleName() + ": multi-row insert, " + entityCount + " entities on " + new Date());
+        DaoLog.d("####################");
+        List<T> list = new ArrayList<T>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            list.add(createEntity());
+        }
+        dao.deleteAll();
+        clearIdentityScopeIfAny();
+
+        runInsertInTx(list, false, "insert-single-row");
+        runInsertInTx(list, true, "insert-multi-row");
+        runInsertInTx(list, false, "insert-single-row-2");
+        runInsertInTx(list, true, "insert-multi-row-2");
+    }
+
+    protected void runInsertInTx(List<T> list, boolean multiRow, String traceName) {
+        dao.setMultiRowInsertEnabled(multiRow);
+        try {
+            startClock(traceName);
+            dao.insertInTx(list);
+            stopClockWithRate(list.size());
+        } finally {
+            dao.setMultiRowInsertEnabled(false);
+        }
+        dao.deleteAll();
+        clearIdentityScopeIfAny();
+    }
+
+    protected void runDeleteInTxTests(int entityCount) {
+        DaoLog.d("####################");
+        DaoLog.d(getClass().getSimpleName() + ": delete in TX, " + entityCount + " entities on " + new Date());
+        DaoLog.d("####################");
+        List<T> list = new ArrayList<T>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            list.add(createEntity());
+        }
+        dao.deleteAll();
+        clearIdentityScopeIfAny();
+
+        dao.insertInTx(list);
+        List<K> keys = new ArrayList<K>(entityCount);
+        for (T entity : list) {
+            keys.add(daoAccess.getKey(entity));
+        }
+        startClock("delete-per-row-in-tx");
+        db.beginTransaction();
+        try {
+            for (K key : keys) {
+                dao.deleteByKey(key);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        stopClockWithRate(entityCount);
+
+        dao.insertInTx(list);
+        startClock("delete-by-key-in-tx");
+        dao.deleteByKeyInTx(keys);
+        stopClockWithRate(entityCount);
+
+        dao.insertInTx(list);
+        startClock("delete-in-tx");
+        dao.deleteInTx(list);
+        stopClockWithRate(entityCount);
+    }
+
+    /** Compares load(K) with load(long) for random lookups; only runs for DAOs with Long PKs. */
+    protected void runLoadByLongKeyTests(int entityCount, int lookupCount) {
+        List<T> list = new ArrayList<T>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            list.add(createEntity());
+        }
+        dao.deleteAll();
+        dao.insertInTx(list);
+        K firstKey = daoAccess.getKey(list.get(0));
+        if (!(firstKey instanceof Long)) {
+            DaoLog.d("Skipping load by long key tests for " + daoClass + " (PK is not a Long)");
+            return;
+        }
+        List<K> keys = new ArrayList<K>(lookupCount);
+        long[] longKeys = new long[lookupCount];
+        Random random = new Random(42);
+        for (int i = 0; i < lookupCount; i++) {
+            K key = daoAccess.getKey(list.get(random.nextInt(entityCount)));
+            keys.add(key);
+            longKeys[i] = (Long) key;
+        }
+        list = null;
+        clearIdentityScopeIfAny();
+
+        DaoLog.d("####################");
+        DaoLog.d(getClass().getSimpleName() + ": " + lookupCount + " random lookups on " + new Date());
+        DaoLog.d("####################");
+        startClock("load-by-object-key");
+        for (K key : keys) {
+            dao.load(key);
+        }
+        stopClockWithRate(lookupCount);
+        clearIdentityScopeIfAny();
+
+        startClock("load-by-long-key");
+        for (long key : longKeys) {
+            dao.load(key);
+        }
+        stopClockWithRate(lookupCount);
+        clearIdentityScopeIfAny();
+    }
+
+    /** Compares Query.list() with streaming using forEach, with and without reusing a single entity. */
+    protected void runStreamingTests(int entityCount) {
+        List<T> list = new ArrayList<T>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            list.add(createEntity());
+        }
+        dao.deleteAll();
+        dao.insertInTx(list);
+        list = null;
+        clearIdentityScopeIfAny();
+
+        DaoLog.d("####################");
+        DaoLog.d(getClass().getSimpleName() + ": streaming " + entityCount + " entities on " + new Date());
+        DaoLog.d("####################");
+        Query<T> query = dao.queryBuilder().build();
+        startClock("query-list");
+        int count = query.list().size();
+        stopClockWithRate(count);
+        clearIdentityScopeIfAny();
+
+        final int[] visitCount = new int[1];
+        EntityVisitor<T> visitor = new EntityVisitor<T>() {
+            @Override
+            public boolean visit(T entity) {
+                visitCount[0]++;
+                return true;
+            }
+        };
+        startClock("query-for-each");
+        query.forEach(visitor);
+        stopClockWithRate(visitCount[0]);
+        clearIdentityScopeIfAny();
+
+        visitCount[0] = 0;
+        startClock("query-for-each-reuse");
+        query.forEach(visitor, createEntity());
+        stopClockWithRate(visitCount[0]);
+    }
+
+    /** Compares loading and updating all entities with a single UPDATE statement built by QueryBuilder.buildUpdate(). */
+    protected void runBulkUpdateTests(int entityCount) {
+        Property stringProperty = null;
+        for (Property property : dao.getProperties()) {
+            if (!property.primaryKey && property.type == String.class) {
+                stringProperty = property;
+                break;
+            }
+        }
+        if (stringProperty == null) {
+            DaoLog.d("Skipping bulk update tests for " + daoClass + " (no String property)");
+            return;
+        }
+        List<T> list = new ArrayList<T>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            list.add(createEntity());
+        }
+        dao.deleteAll();
+        dao.insertInTx(list);
+        list = null;
+        clearIdentityScopeIfAny();
+
+        DaoLog.d("####################");
+        DaoLog.d(getClass().getSimpleName() + ": bulk update of " + entityCount + " entities on " + new Date());
+        DaoLog.d("####################");
+        startClock("load-all-and-update-in-tx");
+        list = dao.loadAll();
+        dao.updateInTx(list);
+        stopClockWithRate(list.size());
+        list = null;
+
+        startClock("update-query");
+        dao.queryBuilder().buildUpdate().set(stringProperty, "synced").executeUpdate();
+        stopClockWithRate(entityCount);
+        clearIdentityScopeIfAny();
+    }
+
+    /**
+     * Queries entities by PK using IN conditions with the given numbers of values. Up to 999 values, binding each value
+     * is compared to using a temporary table; above, only the temporary table works.
+     */
+    protected void runInQueryTests(int entityCount, int... valueCounts) {
+        List<T> list = new ArrayList<T>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            list.add(createEntity());
+        }
+        dao.deleteAll();
+        dao.insertInTx(list);
+        List<K> keys = new ArrayList<K>(entityCount);
+        for (T entity : list) {
+            keys.add(daoAccess.getKey(entity));
+        }
+        list = null;
+        clearIdentityScopeIfAny();
+        Property pkProperty = dao.getPkProperty();
+        if (pkProperty == null) {
+            DaoLog.d("Skipping IN query tests for " + daoClass + " (no single PK)");
+            return;
+        }
+
+        DaoLog.d("####################");
+        DaoLog.d(getClass().getSimpleName() + ": IN queries on " + entityCount + " entities on " + new Date());
+        DaoLog.d("####################");
+        int thresholdBefore = QueryBuilder.IN_TEMP_TABLE_THRESHOLD;
+        Random random = new Random(42);
+        try {
+            for (int valueCount : valueCounts) {
+                List<K> values = new ArrayList<K>(valueCount);
+                for (int i = 0; i < valueCount; i++) {
+                    values.add(keys.get(random.nextInt(entityCount)));
+                }
+                if (valueCount <= SqlUtils.MAX_VARIABLE_NUMBER) {
+                    QueryBuilder.IN_TEMP_TABLE_THRESHOLD = Integer.MAX_VALUE;
+                    startClock("in-placeholders-" + valueCount);
+                    int count = dao.queryBuilder().where(pkProperty.in(values)).list().size();
+                    stopClockWithRate(count);
+                    clearIdentityScopeIfAny();
+                }
+                QueryBuilder.IN_TEMP_TABLE_THRESHOLD = 0;
+                startClock("in-temp-table-" + valueCount);
+                int count = dao.queryBuilder().where(pkProperty.in(values)).list().size();
+                stopClockWithRate(count);
+                clearIdentityScopeIfAny();
+            }
+        } finally {
+            QueryBuilder.IN_TEMP_TABLE_THRESHOLD = thresholdBefore;
+        }
+    }
+
+    /**
+     * Each reader thread gets all entities of a cached lazy list passes times, starting at a different position; the
+     * first pass mostly loads from the cursor, the following ones hit the cache.
+     */
+    protected void runLazyListReadTests(int entityCount, final int passes, int... threadCounts) throws Exception {
+        List<T> list = new ArrayList<T>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            list.add(createEntity());
+        }
+        dao.deleteAll();
+        dao.insertInTx(list);
+        list = null;
+
+        DaoLog.d("####################");
+        DaoLog.d(getClass().getSimpleName() + ": lazy list reads of " + entityCount + " entities on " + new Date());
+        DaoLog.d("####################");
+        for (final int threadCount : threadCounts) {
+            clearIdentityScopeIfAny();
+            final LazyList<T> lazyList = dao.queryBuilder().listLazy();
+            final int size = lazyList.size();
+            final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+            Thread[] threads = new Thread[threadCount];
+            for (int t = 0; t < threadCount; t++) {
+                final int startIndex = t * size / threadCount;
+                threads[t] = new Thread() {
+                    @Override
+                    public void run() {
+                        try {
+                            for (int pass = 0; pass < passes; pass++) {
+                                for (int i = 0; i < size; i++) {
+                                    if (lazyList.get((startIndex + i) % size) == null) {
+                                        throw new IllegalStateException("Entity is null");
+                                    }
+                                }
+                            }
+                        } catch (Throwable th) {
+                            error.set(th);
+                        }
+                    }
+                };
+            }
+            startClock("lazy-list-read-" + threadCount + "-threads");
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            stopClockWithRate(size * passes * threadCount);
+            lazyList.close();
+            if (error.get() != null) {
+                throw new RuntimeException("Reader failed", error.get());
+            }
+        }
+    }
+
     protected List<T> runLoadAll(String traceName) {
         startClock(traceName);
         List<T> list = dao.loadAll();
@@ -165,5 +500,10 @@ public abstract class PerformanceTest<D extends AbstractDao<T, K>, T, K> extends
         System.gc();
     }
 
+    protected void stopClockWithRate(int entityCount) {
+        long time = Math.max(System.currentTimeMillis() - start, 1);
+        stopClock(entityCount + " entities, " + (entityCount * 1000L / time) + " entities/s");
+    }
+
     protected abstract T createEntity();
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2011 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * This file is part of greenDAO Generator.
+ * 
+ * greenDAO Generator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * greenDAO Generator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with greenDAO Generator.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.greenrobot.daotest.performance;
+
+import de.greenrobot.daotest.TestEntity;
+import de.greenrobot.daotest.TestEntityDao;
+
+public class PerformanceTestTestEntity extends PerformanceTest<TestEntityDao, TestEntity, Long> {
+
+    static long sequence;
+
+    public PerformanceTestTestEntity() {
+        super(TestEntityDao.class);
+    }
+
+    @Override
+    protected TestEntity createEntity() {
+        TestEntity entity = new TestEntity();
+        entity.setSimpleStringNotNull("string-" + sequence);
+        entity.setSimpleInteger((int) sequence++);
+        return entity;
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2013 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * This file is part of greenDAO Generator.
+ * 
+ * greenDAO Generator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * greenDAO Generator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with greenDAO Generator.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.greenrobot.daotest.query;
+
+import java.util.ArrayList;
+
+import de.greenrobot.dao.AggregateQuery;
+import de.greenrobot.dao.AggregateQuery.Function;
+import de.greenrobot.dao.ProjectionResult;
+import de.greenrobot.dao.QueryBuilder;
+import de.greenrobot.daotest.TestEntity;
+import de.greenrobot.daotest.TestEntityDao.Properties;
+import de.greenrobot.daotest.entity.TestEntityTestBase;
+
+public class AggregateQueryTest extends TestEntityTestBase {
+    @Override
+    protected void setUp() {
+        super.setUp();
+        QueryBuilder.LOG_SQL = true;
+        QueryBuilder.LOG_VALUES = true;
+    }
+
+    public void testSumMinMax() {
+        insert(4);
+        QueryBuilder<TestEntity> queryBuilder = dao.queryBuilder();
+        assertEquals(100 + 101 + 102 + 103, queryBuilder.buildAggregate(Properties.SimpleInteger, Function.SUM)
+                .longValue());
+        assertEquals(100, queryBuilder.buildAggregate(Properties.SimpleInteger, Function.MIN).longValue());
+        assertEquals(103, queryBuilder.buildAggregate(Properties.SimpleInteger, Function.MAX).longValue());
+        assertEquals(101.5, queryBuilder.buildAggregate(Properties.SimpleInteger, Function.AVG).doubleValue());
+        assertEquals(4, queryBuilder.buildAggregate(Properties.SimpleInteger, Function.COUNT).longValue());
+    }
+
+    public void testAggregateWhere() {
+        insert(4);
+        AggregateQuery<TestEntity> query = dao.queryBuilder().where(Properties.SimpleInteger.gt(101))
+                .buildAggregate(Properties.SimpleInteger, Function.SUM);
+        assertEquals(102 + 103, query.longValue());
+        query.setParameter(0, 102);
+        assertEquals(103, query.longValue());
+        query.setParameter(0, 1000);
+        assertEquals(0, query.longValue());
+    }
+
+    public void testCountDistinct() {
+        ArrayList<TestEntity> entities = new ArrayList<TestEntity>();
+        for (int i = 0; i < 6; i++) {
+            entities.add(createEntity(i, i % 2 == 0 ? "even" : (i == 5 ? null : "odd")));
+        }
+        dao.insertInTx(entities);
+        assertEquals(2, dao.queryBuilder().countDistinct(Properties.SimpleString));
+        assertEquals(6, dao.queryBuilder().countDistinct(Properties.SimpleInteger));
+    }
+
+    public void testAggregateDistinct() {
+        ArrayList<TestEntity> entities = new ArrayList<TestEntity>();
+        for (int i = 0; i < 4; i++) {
+            entities.add(createEntity(i % 2, "value"));
+        }
+        dao.insertInTx(entities);
+        // Distinct entities, not distinct values: equal values of different entities are all aggregated
+        QueryBuilder<TestEntity> queryBuilder = dao.queryBuilder().distinct();
+        assertEquals(0 + 1 + 0 + 1, queryBuilder.buildAggregate(Properties.SimpleInteger, Function.SUM).longValue());
+        assertEquals(0.5, queryBuilder.buildAggregate(Properties.SimpleInteger, Function.AVG).doubleValue());
+        assertEquals(4, queryBuilder.buildAggregate(Properties.SimpleInteger, Function.COUNT).longValue());
+        assertEquals(queryBuilder.count(), queryBuilder.buildAggregate(Properties.SimpleInteger, Function.COUNT)
+                .longValue());
+        assertEquals(2, queryBuilder.buildAggregate(Properties.SimpleInteger, Function.COUNT_DISTINCT).longValue());
+        assertEquals(1, queryBuilder.buildAggregate(Properties.SimpleInteger, Function.MAX).longValue());
+    }
+
+    public void testGroupedAggregate() {
+        ArrayList<TestEntity> entities = new ArrayList<TestEntity>();
+        for (int i = 0; i < 6; i++) {
+            entities.add(createEntity(i, i % 2 == 0 ? "even" : "odd"));
+        }
+        dao.insertInTx(entities);
+
+        ProjectionResult result = dao.queryBuilder().orderAsc(Properties.SimpleString)
+                .buildGroupedAggregate(Properties.SimpleString, Properties.SimpleInteger, Function.SUM).list();
+        assertEquals(2, result.size());
+        String[] groups = result.getStrings(0);
+        long[] sums = result.getLongs(1);
+        assertEquals("even", groups[0]);
+        assertEquals(0 + 2 + 4, sums[0]);
+        assertEquals("odd", groups[1]);
+        assertEquals(1 + 3 + 5, sums[1]);
+
+        result = dao.queryBuilder().where(Properties.SimpleInteger.lt(5)).orderAsc(Properties.SimpleString)
+                .buildGroupedAggregate(Properties.SimpleString, Properties.SimpleInteger, Function.AVG).list();
+        double[] avgs = result.getDoubles(1);
+        assertEquals(2.0, avgs[0]);
+        assertEquals(2.0, avgs[1]);
+    }
+
+}
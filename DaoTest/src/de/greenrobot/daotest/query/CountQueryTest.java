@@ -65,6 +65,17 @@ public class CountQueryTest extends TestEntityTestBase {
         assertEquals(0, query.count());
     }
 
+    public void testCountQueryChangeLongParameter() {
+        insert(3);
+
+        CountQuery<TestEntity> query = dao.queryBuilder().where(Properties.SimpleInteger.gt(-1)).buildCount();
+        assertEquals(3, query.count());
+        query.setParameter(0, (long) getSimpleInteger(0));
+        assertEquals(2, query.count());
+        query.setParameter(0, (double) getSimpleInteger(1) + 0.5);
+        assertEquals(1, query.count());
+    }
+
     public void testBuildQueryAndCountQuery() {
         insert(3);
         int value = getSimpleInteger(1);
@@ -20,10 +20,14 @@ package de.greenrobot.daotest.query;
 import java.util.ArrayList;
 import java.util.List;
 
+import de.greenrobot.dao.AbstractDao;
 import de.greenrobot.dao.DeleteQuery;
+import de.greenrobot.dao.IdentityScopeLong;
 import de.greenrobot.dao.Query;
 import de.greenrobot.dao.QueryBuilder;
+import de.greenrobot.dao.UnitTestDaoAccess;
 import de.greenrobot.daotest.TestEntity;
+import de.greenrobot.daotest.TestEntityDao;
 import de.greenrobot.daotest.TestEntityDao.Properties;
 import de.greenrobot.daotest.entity.TestEntityTestBase;
 
@@ -99,4 +103,57 @@ public class DeleteQueryTest extends TestEntityTestBase {
         assertEquals(0, query.list().size());
     }
 
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedConstructor() {
+        insert(3);
+
+        String sql = "DELETE FROM " + TestEntityDao.TABLENAME + " WHERE " + Properties.SimpleString.columnName + "=?";
+        List<Object> values = new ArrayList<Object>();
+        values.add(getSimpleString(1));
+        DeleteQuery<TestEntity> deleteQuery = new DeleteQuery<TestEntity>(dao, sql, values);
+        deleteQuery.executeDelete();
+        assertEquals(2, dao.count());
+
+        deleteQuery.setParameter(0, getSimpleString(0));
+        deleteQuery.executeDelete();
+        assertEquals(1, dao.count());
+        assertSame(deleteQuery, deleteQuery.forCurrentThread());
+    }
+
+    @SuppressWarnings("unchecked")
+    private TestEntityDao createDaoWithIdentityScope() throws Exception {
+        Class<?> testEntityDaoClass = TestEntityDao.class;
+        Class<AbstractDao<TestEntity, Long>> daoClass = (Class<AbstractDao<TestEntity, Long>>) testEntityDaoClass;
+        IdentityScopeLong<TestEntity> identityScope = new IdentityScopeLong<TestEntity>();
+        return (TestEntityDao) new UnitTestDaoAccess<TestEntity, Long>(db, daoClass, identityScope).getDao();
+    }
+
+    public void testDeleteQueryDetachesEntities() throws Exception {
+        TestEntityDao daoWithScope = createDaoWithIdentityScope();
+        ArrayList<TestEntity> inserted = new ArrayList<TestEntity>();
+        for (int i = 0; i < 3; i++) {
+            inserted.add(createEntity(getSimpleInteger(i), getSimpleString(i)));
+        }
+        daoWithScope.insertInTx(inserted);
+
+        DeleteQuery<TestEntity> deleteQuery = daoWithScope.queryBuilder()
+                .where(Properties.SimpleInteger.eq(getSimpleInteger(1))).buildDelete();
+        deleteQuery.executeDelete();
+        assertEquals(2, daoWithScope.count());
+        assertNull(daoWithScope.load(inserted.get(1).getId()));
+        // Other entities stay cached
+        assertSame(inserted.get(0), daoWithScope.load(inserted.get(0).getId()));
+        assertSame(inserted.get(2), daoWithScope.load(inserted.get(2).getId()));
+    }
+
+    public void testDeleteQueryWithoutDetachingKeepsStaleEntities() throws Exception {
+        TestEntityDao daoWithScope = createDaoWithIdentityScope();
+        TestEntity entity = createEntity(getSimpleInteger(0), getSimpleString(0));
+        daoWithScope.insert(entity);
+
+        daoWithScope.queryBuilder().buildDelete().executeDeleteWithoutDetachingEntities();
+        assertEquals(0, daoWithScope.count());
+        assertSame(entity, daoWithScope.load(entity.getId()));
+    }
+
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2013 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * This file is part of greenDAO Generator.
+ * 
+ * greenDAO Generator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * greenDAO Generator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with greenDAO Generator.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.greenrobot.daotest.query;
+
+import java.util.List;
+
+import de.greenrobot.dao.DaoException;
+import de.greenrobot.dao.QueryBuilder;
+import de.greenrobot.dao.test.AbstractDaoTest;
+import de.greenrobot.daotest.FullTextEntity;
+import de.greenrobot.daotest.FullTextEntityDao;
+import de.greenrobot.daotest.FullTextEntityDao.Properties;
+
+public class FullTextSearchTest extends AbstractDaoTest<FullTextEntityDao, FullTextEntity, Long> {
+
+    public FullTextSearchTest() {
+        super(FullTextEntityDao.class);
+    }
+
+    @Override
+    protected void setUp() {
+        super.setUp();
+        QueryBuilder.LOG_SQL = true;
+        QueryBuilder.LOG_VALUES = true;
+    }
+
+    public void testMatch() {
+        insertEntities();
+        List<FullTextEntity> result = dao.queryBuilder().where(Properties.Title.match("green*"))
+                .orderAsc(Properties.Id).list();
+        assertEquals(2, result.size());
+        assertEquals("greenDAO", result.get(0).getTitle());
+        assertEquals("Greenhouse", result.get(1).getTitle());
+
+        assertEquals(1, dao.queryBuilder().where(Properties.Body.match("fast ORM")).count());
+        assertEquals(0, dao.queryBuilder().where(Properties.Body.match("greenDAO")).count());
+    }
+
+    public void testMatchCombined() {
+        insertEntities();
+        List<FullTextEntity> result = dao.queryBuilder()
+                .where(Properties.Title.match("green*"), Properties.Author.eq("Markus")).list();
+        assertEquals(1, result.size());
+        assertEquals("greenDAO", result.get(0).getTitle());
+    }
+
+    public void testMatchAfterUpdateAndDelete() {
+        FullTextEntity[] entities = insertEntities();
+        FullTextEntity entity = entities[0];
+        entity.setTitle("Something else");
+        dao.update(entity);
+        assertEquals(1, dao.queryBuilder().where(Properties.Title.match("green*")).count());
+        assertEquals(1, dao.queryBuilder().where(Properties.Title.match("something")).count());
+
+        dao.delete(entities[1]);
+        assertEquals(0, dao.queryBuilder().where(Properties.Title.match("green*")).count());
+
+        dao.insertOrReplace(new FullTextEntity(entity.getId(), "greenDAO again", null, null));
+        assertEquals(1, dao.queryBuilder().where(Properties.Title.match("green*")).count());
+        assertEquals(0, dao.queryBuilder().where(Properties.Title.match("something")).count());
+
+        dao.deleteAll();
+        assertEquals(0, dao.queryBuilder().where(Properties.Title.match("green*")).count());
+    }
+
+    public void testMatchAfterBulkUpdate() {
+        insertEntities();
+        dao.queryBuilder().where(Properties.Author.eq("Markus")).buildUpdate().set(Properties.Body, "renamed")
+                .executeUpdate();
+        assertEquals(0, dao.queryBuilder().where(Properties.Body.match("ORM")).count());
+        assertEquals(2, dao.queryBuilder().where(Properties.Body.match("renamed")).count());
+    }
+
+    public void testMatchNonFullTextProperty() {
+        try {
+            Properties.Author.match("Markus");
+            fail("Should have thrown");
+        } catch (DaoException expected) {
+            // OK
+        }
+    }
+
+    private FullTextEntity[] insertEntities() {
+        FullTextEntity[] entities = {
+                new FullTextEntity(null, "greenDAO", "A fast ORM for Android", "Markus"),
+                new FullTextEntity(null, "Greenhouse", "Growing tomatoes all year", "Anna"),
+                new FullTextEntity(null, "Blue sky", "Clouds and weather", "Markus") };
+        dao.insertInTx(entities);
+        return entities;
+    }
+
+}
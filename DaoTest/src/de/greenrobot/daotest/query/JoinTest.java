@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2012 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * This file is part of greenDAO Generator.
+ * 
+ * greenDAO Generator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * greenDAO Generator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with greenDAO Generator.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.greenrobot.daotest.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import android.app.Application;
+import de.greenrobot.dao.AggregateQuery.Function;
+import de.greenrobot.dao.DeleteQuery;
+import de.greenrobot.dao.Join;
+import de.greenrobot.dao.ProjectionResult;
+import de.greenrobot.dao.Query;
+import de.greenrobot.dao.QueryBuilder;
+import de.greenrobot.dao.test.AbstractDaoSessionTest;
+import de.greenrobot.daotest.DaoMaster;
+import de.greenrobot.daotest.DaoSession;
+import de.greenrobot.daotest.RelationEntity;
+import de.greenrobot.daotest.RelationEntityDao;
+import de.greenrobot.daotest.TestEntity;
+import de.greenrobot.daotest.TestEntityDao;
+import de.greenrobot.daotest.ToManyEntity;
+import de.greenrobot.daotest.ToManyEntityDao;
+import de.greenrobot.daotest.ToManyTargetEntity;
+import de.greenrobot.daotest.ToManyTargetEntityDao;
+
+public class JoinTest extends AbstractDaoSessionTest<Application, DaoMaster, DaoSession> {
+
+    private RelationEntityDao relationEntityDao;
+    private TestEntityDao testEntityDao;
+
+    public JoinTest() {
+        super(DaoMaster.class);
+    }
+
+    @Override
+    protected void setUp() {
+        super.setUp();
+        QueryBuilder.LOG_SQL = true;
+        QueryBuilder.LOG_VALUES = true;
+        relationEntityDao = daoSession.getRelationEntityDao();
+        testEntityDao = daoSession.getTestEntityDao();
+    }
+
+    public void testJoinToOne() {
+        prepareData();
+        QueryBuilder<RelationEntity> queryBuilder = relationEntityDao.queryBuilder();
+        Join<RelationEntity, TestEntity> join = queryBuilder.join(TestEntity.class, RelationEntityDao.Properties.TestId);
+        join.where(TestEntityDao.Properties.SimpleString.eq("test2"));
+        List<RelationEntity> list = queryBuilder.list();
+        assertEquals(2, list.size());
+        for (RelationEntity entity : list) {
+            assertEquals("test2", entity.getTestEntity().getSimpleString());
+        }
+        assertEquals(2, queryBuilder.count());
+    }
+
+    public void testJoinWithWhereOnBothEntities() {
+        prepareData();
+        QueryBuilder<RelationEntity> queryBuilder = relationEntityDao.queryBuilder();
+        queryBuilder.where(RelationEntityDao.Properties.SimpleString.eq("relation-2-a"));
+        queryBuilder.join(TestEntity.class, RelationEntityDao.Properties.TestId).whereOr(
+                TestEntityDao.Properties.SimpleString.eq("test1"), TestEntityDao.Properties.SimpleString.eq("test2"));
+        RelationEntity entity = queryBuilder.uniqueOrThrow();
+        assertEquals("relation-2-a", entity.getSimpleString());
+    }
+
+    public void testJoinChangeParameter() {
+        prepareData();
+        QueryBuilder<RelationEntity> queryBuilder = relationEntityDao.queryBuilder();
+        queryBuilder.join(TestEntity.class, RelationEntityDao.Properties.TestId).where(
+                TestEntityDao.Properties.SimpleString.eq("test1"));
+        Query<RelationEntity> query = queryBuilder.build();
+        assertEquals(1, query.list().size());
+        query.setParameter(0, "test2");
+        assertEquals(2, query.list().size());
+        query.setParameter(0, "test3");
+        assertEquals(0, query.list().size());
+    }
+
+    public void testJoinPropertyOfWrongEntity() {
+        QueryBuilder<RelationEntity> queryBuilder = relationEntityDao.queryBuilder();
+        Join<RelationEntity, TestEntity> join = queryBuilder.join(TestEntity.class, RelationEntityDao.Properties.TestId);
+        try {
+            join.where(RelationEntityDao.Properties.SimpleString.eq("test1"));
+            fail("Property of another entity must not be accepted");
+        } catch (RuntimeException expected) {
+            // OK
+        }
+    }
+
+    public void testJoinDelete() {
+        prepareData();
+        QueryBuilder<RelationEntity> queryBuilder = relationEntityDao.queryBuilder();
+        queryBuilder.join(TestEntity.class, RelationEntityDao.Properties.TestId).where(
+                TestEntityDao.Properties.SimpleString.eq("test2"));
+        DeleteQuery<RelationEntity> deleteQuery = queryBuilder.buildDelete();
+        deleteQuery.executeDeleteWithoutDetachingEntities();
+        assertEquals(1, relationEntityDao.count());
+        assertEquals(2, testEntityDao.count());
+    }
+
+    public void testJoinToManyDistinct() {
+        ToManyEntityDao toManyEntityDao = daoSession.getToManyEntityDao();
+        ToManyTargetEntityDao targetDao = daoSession.getToManyTargetEntityDao();
+        ToManyEntity source1 = new ToManyEntity();
+        ToManyEntity source2 = new ToManyEntity();
+        toManyEntityDao.insert(source1);
+        toManyEntityDao.insert(source2);
+        List<ToManyTargetEntity> targets = new ArrayList<ToManyTargetEntity>();
+        for (int i = 0; i < 3; i++) {
+            ToManyTargetEntity target = new ToManyTargetEntity();
+            target.setToManyId(source1.getId());
+            target.setTargetJoinProperty("match");
+            targets.add(target);
+        }
+        ToManyTargetEntity target = new ToManyTargetEntity();
+        target.setToManyId(source2.getId());
+        target.setTargetJoinProperty("no match");
+        targets.add(target);
+        targetDao.insertInTx(targets);
+
+        QueryBuilder<ToManyEntity> queryBuilder = toManyEntityDao.queryBuilder();
+        queryBuilder.joinToMany(ToManyTargetEntity.class, ToManyTargetEntityDao.Properties.ToManyId).where(
+                ToManyTargetEntityDao.Properties.TargetJoinProperty.eq("match"));
+        assertEquals(3, queryBuilder.list().size());
+        assertEquals(3, queryBuilder.count());
+
+        queryBuilder.distinct();
+        List<ToManyEntity> list = queryBuilder.list();
+        assertEquals(1, list.size());
+        assertEquals(source1.getId(), list.get(0).getId());
+        assertEquals(1, queryBuilder.count());
+    }
+
+    public void testJoinToManyAggregateDistinct() {
+        prepareData();
+        for (TestEntity testEntity : testEntityDao.loadAll()) {
+            testEntity.setSimpleInt(10);
+            testEntityDao.update(testEntity);
+        }
+        QueryBuilder<TestEntity> queryBuilder = testEntityDao.queryBuilder();
+        queryBuilder.joinToMany(RelationEntity.class, RelationEntityDao.Properties.TestId);
+        // test2 is referenced twice
+        assertEquals(30, queryBuilder.buildAggregate(TestEntityDao.Properties.SimpleInt, Function.SUM).longValue());
+
+        queryBuilder.distinct();
+        assertEquals(20, queryBuilder.buildAggregate(TestEntityDao.Properties.SimpleInt, Function.SUM).longValue());
+        assertEquals(2, queryBuilder.buildAggregate(TestEntityDao.Properties.SimpleInt, Function.COUNT).longValue());
+        assertEquals(2, queryBuilder.count());
+        ProjectionResult result = queryBuilder.buildGroupedAggregate(TestEntityDao.Properties.SimpleInt,
+                TestEntityDao.Properties.SimpleInt, Function.SUM).list();
+        assertEquals(20, result.getLongs(1)[0]);
+    }
+
+    private void prepareData() {
+        TestEntity test1 = insertTestEntity("test1");
+        TestEntity test2 = insertTestEntity("test2");
+        insertRelationEntity(test1, "relation-1");
+        insertRelationEntity(test2, "relation-2-a");
+        insertRelationEntity(test2, "relation-2-b");
+    }
+
+    private TestEntity insertTestEntity(String simpleString) {
+        TestEntity entity = new TestEntity();
+        entity.setSimpleStringNotNull("green");
+        entity.setSimpleString(simpleString);
+        testEntityDao.insert(entity);
+        return entity;
+    }
+
+    private RelationEntity insertRelationEntity(TestEntity testEntity, String simpleString) {
+        RelationEntity entity = new RelationEntity();
+        entity.setTestNotNull(testEntity);
+        entity.setTestEntity(testEntity);
+        entity.setSimpleString(simpleString);
+        relationEntityDao.insert(entity);
+        return entity;
+    }
+
+}
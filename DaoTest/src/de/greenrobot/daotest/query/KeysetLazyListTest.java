@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2013 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * This file is part of greenDAO Generator.
+ * 
+ * greenDAO Generator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * greenDAO Generator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with greenDAO Generator.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.greenrobot.daotest.query;
+
+import java.util.List;
+
+import de.greenrobot.dao.DaoException;
+import de.greenrobot.dao.KeysetLazyList;
+import de.greenrobot.daotest.TestEntity;
+import de.greenrobot.daotest.TestEntityDao.Properties;
+import de.greenrobot.daotest.entity.TestEntityTestBase;
+
+public class KeysetLazyListTest extends TestEntityTestBase {
+
+    public void testSequential() {
+        insertWithDuplicates(50);
+        KeysetLazyList<TestEntity> list = dao.queryBuilder().orderDesc(Properties.SimpleInteger)
+                .orderAsc(Properties.SimpleString).listLazyKeyset(8);
+        List<TestEntity> expected = dao.queryBuilder().orderDesc(Properties.SimpleInteger)
+                .orderAsc(Properties.SimpleString, Properties.Id).list();
+        assertEquals(50, list.size());
+        int index = 0;
+        for (TestEntity entity : list) {
+            assertIds(expected.get(index++), entity);
+        }
+        assertEquals(50, index);
+        assertEquals(7, list.getKnownPageCount());
+    }
+
+    public void testRandomAccess() {
+        insertWithDuplicates(30);
+        KeysetLazyList<TestEntity> list = dao.queryBuilder().where(Properties.SimpleInteger.gt(1))
+                .orderAsc(Properties.SimpleString).listLazyKeyset(4);
+        List<TestEntity> expected = dao.queryBuilder().where(Properties.SimpleInteger.gt(1))
+                .orderAsc(Properties.SimpleString, Properties.Id).list();
+        assertEquals(expected.size(), list.size());
+
+        // Loads the pages before to find the start of page 3
+        assertIds(expected.get(13), list.get(13));
+        assertEquals(4, list.getKnownPageCount());
+        assertIds(expected.get(2), list.get(2));
+        assertIds(expected.get(expected.size() - 1), list.get(list.size() - 1));
+        assertIds(expected.get(5), list.get(5));
+        assertEquals(expected.get(7).getId(), list.subList(7, 8).get(0).getId());
+    }
+
+    public void testEmptyAndBounds() {
+        KeysetLazyList<TestEntity> list = dao.queryBuilder().listLazyKeyset(10);
+        assertTrue(list.isEmpty());
+        insert(3);
+        list = dao.queryBuilder().listLazyKeyset(10);
+        assertEquals(3, list.size());
+        try {
+            list.get(3);
+            fail("Out of bounds");
+        } catch (IndexOutOfBoundsException expected) {
+            // OK
+        }
+    }
+
+    public void testLimitNotSupported() {
+        try {
+            dao.queryBuilder().orderAsc(Properties.SimpleInt).limit(10).listLazyKeyset(5);
+            fail("Should have thrown");
+        } catch (DaoException expected) {
+            // OK
+        }
+    }
+
+    public void testRowsDeleted() {
+        insert(10);
+        KeysetLazyList<TestEntity> list = dao.queryBuilder().listLazyKeyset(3);
+        list.get(0);
+        dao.deleteAll();
+        assertNotNull(list.get(1));
+        try {
+            list.get(9);
+            fail("Rows were deleted");
+        } catch (DaoException expected) {
+            // OK
+        }
+    }
+
+}
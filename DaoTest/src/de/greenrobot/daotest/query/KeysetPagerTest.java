@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2013 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * This file is part of greenDAO Generator.
+ * 
+ * greenDAO Generator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * greenDAO Generator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with greenDAO Generator.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.greenrobot.daotest.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.greenrobot.dao.DaoException;
+import de.greenrobot.dao.KeysetPager;
+import de.greenrobot.dao.QueryBuilder;
+import de.greenrobot.daotest.TestEntity;
+import de.greenrobot.daotest.TestEntityDao.Properties;
+import de.greenrobot.daotest.entity.TestEntityTestBase;
+
+public class KeysetPagerTest extends TestEntityTestBase {
+    @Override
+    protected void setUp() {
+        super.setUp();
+        QueryBuilder.LOG_SQL = true;
+        QueryBuilder.LOG_VALUES = true;
+    }
+
+    public void testPagesMatchOrder() {
+        insertWithDuplicates(50);
+        KeysetPager<TestEntity> pager = dao.queryBuilder().orderDesc(Properties.SimpleInteger)
+                .orderAsc(Properties.SimpleString).buildKeysetPager(8);
+        // The pager adds the PK as the final order property
+        List<TestEntity> expected = dao.queryBuilder().orderDesc(Properties.SimpleInteger)
+                .orderAsc(Properties.SimpleString, Properties.Id).list();
+        assertPages(expected, pager, 8);
+    }
+
+    public void testPagesWithWhere() {
+        insertWithDuplicates(50);
+        KeysetPager<TestEntity> pager = dao.queryBuilder().where(Properties.SimpleInteger.gt(1))
+                .orderAsc(Properties.SimpleString).buildKeysetPager(5);
+        List<TestEntity> expected = dao.queryBuilder().where(Properties.SimpleInteger.gt(1))
+                .orderAsc(Properties.SimpleString, Properties.Id).list();
+        assertEquals(50 - 15, expected.size());
+        assertPages(expected, pager, 5);
+    }
+
+    public void testPagesWithoutOrder() {
+        insertWithDuplicates(10);
+        KeysetPager<TestEntity> pager = dao.queryBuilder().buildKeysetPager(3);
+        assertPages(dao.queryBuilder().orderAsc(Properties.Id).list(), pager, 3);
+
+        pager.reset();
+        assertTrue(pager.hasNextPage());
+        assertEquals(3, pager.nextPage().size());
+    }
+
+    private void assertPages(List<TestEntity> expected, KeysetPager<TestEntity> pager, int pageSize) {
+        List<TestEntity> paged = new ArrayList<TestEntity>();
+        int pages = 0;
+        while (pager.hasNextPage()) {
+            List<TestEntity> page = pager.nextPage();
+            assertTrue(page.size() <= pageSize);
+            paged.addAll(page);
+            pages++;
+        }
+        assertEquals(expected.size() / pageSize + 1, pages);
+        assertEquals(expected.size(), paged.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertIds(expected.get(i), paged.get(i));
+        }
+        assertTrue(pager.nextPage().isEmpty());
+    }
+
+    public void testLimitAndOffsetNotSupported() {
+        try {
+            dao.queryBuilder().orderAsc(Properties.SimpleInt).limit(10).buildKeysetPager(10);
+            fail("Should have thrown");
+        } catch (DaoException expected) {
+            // OK
+        }
+        try {
+            dao.queryBuilder().orderAsc(Properties.SimpleInt).limit(10).offset(5).buildKeysetPager(10);
+            fail("Should have thrown");
+        } catch (DaoException expected) {
+            // OK
+        }
+    }
+
+    public void testRawOrderNotSupported() {
+        try {
+            dao.queryBuilder().orderRaw("SIMPLE_INT").buildKeysetPager(10);
+            fail("Should have thrown");
+        } catch (DaoException expected) {
+            // OK
+        }
+    }
+
+}
@@ -18,8 +18,14 @@
 package de.greenrobot.daotest.query;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import de.greenrobot.dao.CloseableListIterator;
 import de.greenrobot.dao.DaoException;
@@ -63,6 +69,176 @@ public class LazyListTest extends TestEntityTestBase {
         listLazy.close();
     }
 
+    public void testGetAll100Windowed() {
+        ArrayList<TestEntity> list = insert(100);
+        LazyList<TestEntity> listLazy = dao.queryBuilder().orderAsc(Properties.SimpleInteger).build()
+                .listLazyWindowed(10);
+        assertTrue(listLazy.isWindowed());
+        assertIds(list, listLazy);
+        assertEquals(10, listLazy.getLoadedCount());
+        assertFalse(listLazy.isLoadedCompletely());
+        assertFalse(listLazy.isClosed());
+        listLazy.close();
+    }
+
+    public void testWindowedEviction() {
+        ArrayList<TestEntity> list = insert(5);
+        LazyList<TestEntity> listLazy = dao.queryBuilder().orderAsc(Properties.SimpleInteger).build()
+                .listLazyWindowed(2);
+        listLazy.get(0);
+        listLazy.get(1);
+        listLazy.get(0);
+        assertNotNull(listLazy.peak(1));
+
+        // 1 was used least recently
+        listLazy.get(2);
+        assertNotNull(listLazy.peak(0));
+        assertNull(listLazy.peak(1));
+        assertNotNull(listLazy.peak(2));
+        assertEquals(2, listLazy.getLoadedCount());
+
+        // Evicted entities are loaded again
+        assertEquals(list.get(1).getId(), listLazy.get(1).getId());
+        assertNotNull(listLazy.peak(1));
+        assertNull(listLazy.peak(0));
+        listLazy.close();
+    }
+
+    public void testWindowedNotSupported() {
+        insert(5);
+        LazyList<TestEntity> listLazy = dao.queryBuilder().build().listLazyWindowed(2);
+        try {
+            listLazy.loadRemaining();
+            fail("Should not load all entities");
+        } catch (DaoException expected) {
+            // OK
+        }
+        try {
+            listLazy.get(5);
+            fail("Out of bounds");
+        } catch (IndexOutOfBoundsException expected) {
+            // OK
+        }
+        listLazy.close();
+    }
+
+    public void testWindowedCapacityCoversSize() {
+        ArrayList<TestEntity> list = insert(10);
+        LazyList<TestEntity> listLazy = dao.queryBuilder().orderAsc(Properties.SimpleInteger).build()
+                .listLazyWindowed(10);
+        assertFalse(listLazy.isWindowed());
+        assertIds(list, listLazy);
+        assertTrue(listLazy.isLoadedCompletely());
+        assertTrue(listLazy.isClosed());
+    }
+
+    public void testSubListAndIndexOf() {
+        ArrayList<TestEntity> list = insert(10);
+        LazyList<TestEntity> listLazy = dao.queryBuilder().orderAsc(Properties.SimpleInteger).build().listLazy();
+        List<TestEntity> subList = listLazy.subList(2, 5);
+        assertEquals(3, subList.size());
+        assertEquals(list.get(2).getId(), subList.get(0).getId());
+        assertEquals(list.get(4).getId(), subList.get(2).getId());
+        assertEquals(3, listLazy.getLoadedCount());
+        assertEquals(3, listLazy.indexOf(subList.get(1)));
+        assertTrue(listLazy.isLoadedCompletely());
+    }
+
+    public void testContainsAndToArray() {
+        insert(5);
+        LazyList<TestEntity> listLazy = dao.queryBuilder().orderAsc(Properties.SimpleInteger).build().listLazy();
+        TestEntity first = listLazy.get(0);
+        TestEntity last = listLazy.get(4);
+        assertTrue(listLazy.contains(last));
+        assertFalse(listLazy.contains(null));
+        assertFalse(listLazy.contains(new TestEntity()));
+        assertTrue(listLazy.containsAll(Arrays.asList(first, last)));
+        assertEquals(4, listLazy.lastIndexOf(last));
+        assertEquals(-1, listLazy.lastIndexOf("no entity"));
+        Object[] array = listLazy.toArray();
+        assertEquals(5, array.length);
+        assertSame(first, array[0]);
+        assertSame(last, array[4]);
+        assertEquals(5, listLazy.toArray(new TestEntity[0]).length);
+        listLazy.close();
+    }
+
+    public void testConcurrentGet() throws InterruptedException {
+        insert(100);
+        final LazyList<TestEntity> listLazy = dao.queryBuilder().build().listLazy();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 100; j++) {
+                        listLazy.get(j);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(listLazy.isLoadedCompletely());
+        assertTrue(listLazy.isClosed());
+        for (int i = 0; i < 100; i++) {
+            assertNotNull(listLazy.peak(i));
+        }
+    }
+
+    public void testReadAhead() {
+        insert(20);
+        LazyList<TestEntity> listLazy = dao.queryBuilder().orderAsc(Properties.SimpleInteger).build().listLazy();
+        listLazy.setReadAhead(5, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        });
+        listLazy.get(0);
+        assertEquals(6, listLazy.getLoadedCount());
+        assertNotNull(listLazy.peak(5));
+        assertNull(listLazy.peak(6));
+
+        // Still within the previous read ahead
+        listLazy.get(1);
+        assertEquals(6, listLazy.getLoadedCount());
+
+        listLazy.get(3);
+        assertEquals(9, listLazy.getLoadedCount());
+        assertNotNull(listLazy.peak(8));
+        listLazy.close();
+    }
+
+    public void testReadAheadIterator() throws InterruptedException {
+        ArrayList<TestEntity> list = insert(100);
+        LazyList<TestEntity> listLazy = dao.queryBuilder().orderAsc(Properties.SimpleInteger).build().listLazy();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            listLazy.setReadAhead(10, executor);
+            assertIds(list, listLazy);
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertTrue(listLazy.isLoadedCompletely());
+        assertTrue(listLazy.isClosed());
+    }
+
+    public void testReadAheadUncached() {
+        insert(1);
+        LazyList<TestEntity> listLazy = dao.queryBuilder().build().listLazyUncached();
+        try {
+            listLazy.setReadAhead(10, Executors.newSingleThreadExecutor());
+            fail("Read ahead requires cached list");
+        } catch (DaoException expected) {
+            // OK
+        }
+        listLazy.close();
+    }
+
     public void testIterator() {
         ArrayList<TestEntity> list = insert(100);
         LazyList<TestEntity> listLazy = dao.queryBuilder().orderAsc(Properties.SimpleInteger).build().listLazy();
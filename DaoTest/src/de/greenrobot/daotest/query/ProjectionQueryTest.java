@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2013 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * This file is part of greenDAO Generator.
+ * 
+ * greenDAO Generator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * greenDAO Generator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with greenDAO Generator.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.greenrobot.daotest.query;
+
+import java.util.ArrayList;
+import java.util.Date;
+
+import de.greenrobot.dao.DaoException;
+import de.greenrobot.dao.ProjectionQuery;
+import de.greenrobot.dao.ProjectionResult;
+import de.greenrobot.dao.ProjectionRow;
+import de.greenrobot.dao.QueryBuilder;
+import de.greenrobot.daotest.TestEntity;
+import de.greenrobot.daotest.TestEntityDao.Properties;
+import de.greenrobot.daotest.entity.TestEntityTestBase;
+
+public class ProjectionQueryTest extends TestEntityTestBase {
+    @Override
+    protected void setUp() {
+        super.setUp();
+        QueryBuilder.LOG_SQL = true;
+        QueryBuilder.LOG_VALUES = true;
+    }
+
+    public void testSelectColumns() {
+        ArrayList<TestEntity> inserted = insert(3);
+        inserted.get(1).setSimpleString(null);
+        inserted.get(1).setSimpleDate(new Date(4711));
+        dao.update(inserted.get(1));
+
+        ProjectionQuery<TestEntity> query = dao.queryBuilder().orderAsc(Properties.SimpleInteger)
+                .select(Properties.Id, Properties.SimpleString, Properties.SimpleDate);
+        ProjectionResult result = query.list();
+        assertEquals(3, result.size());
+        assertEquals(3, result.getColumnCount());
+
+        long[] ids = result.getLongs(0);
+        String[] strings = result.getStrings(1);
+        long[] dates = result.getLongs(2);
+        for (int i = 0; i < 3; i++) {
+            assertEquals((long) inserted.get(i).getId(), ids[i]);
+        }
+        assertEquals(getSimpleString(0), strings[0]);
+        assertNull(strings[1]);
+        assertTrue(result.isNull(1, 1));
+        assertEquals(getSimpleString(2), strings[2]);
+        assertTrue(result.isNull(0, 2));
+        assertFalse(result.isNull(1, 2));
+        assertEquals(4711, dates[1]);
+    }
+
+    public void testSelectWhereLimitOffset() {
+        insert(5);
+        ProjectionQuery<TestEntity> query = dao.queryBuilder().where(Properties.SimpleInteger.gt(getSimpleInteger(0)))
+                .orderDesc(Properties.SimpleInteger).limit(2).offset(1).select(Properties.SimpleInteger);
+        int[] expected = { getSimpleInteger(3), getSimpleInteger(2) };
+        long[] values = query.list().getLongs(0);
+        assertEquals(2, values.length);
+        assertEquals(expected[0], values[0]);
+        assertEquals(expected[1], values[1]);
+
+        query.setParameter(0, getSimpleInteger(2));
+        query.setOffset(0);
+        query.setLimit(5);
+        values = query.list().getLongs(0);
+        assertEquals(2, values.length);
+        assertEquals(getSimpleInteger(4), values[0]);
+        assertEquals(getSimpleInteger(3), values[1]);
+    }
+
+    public void testSelectWrongColumnType() {
+        insert(1);
+        ProjectionResult result = dao.queryBuilder().select(Properties.SimpleString).list();
+        try {
+            result.getLongs(0);
+            fail("Should have thrown");
+        } catch (DaoException expected) {
+            // OK
+        }
+    }
+
+    public void testForEachRow() {
+        final ArrayList<TestEntity> inserted = insert(5);
+        ProjectionQuery<TestEntity> query = dao.queryBuilder().orderAsc(Properties.SimpleInteger)
+                .select(Properties.Id, Properties.SimpleString);
+        final ArrayList<String> strings = new ArrayList<String>();
+        query.forEachRow(new ProjectionQuery.RowHandler() {
+            @Override
+            public boolean handleRow(ProjectionRow row) {
+                assertEquals((long) inserted.get(row.getPosition()).getId(), row.getLong(0));
+                strings.add(row.getString(1));
+                return strings.size() < 3;
+            }
+        });
+        assertEquals(3, strings.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(getSimpleString(i), strings.get(i));
+        }
+    }
+
+}
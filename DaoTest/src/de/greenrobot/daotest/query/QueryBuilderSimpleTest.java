@@ -21,8 +21,11 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import android.database.DatabaseUtils;
+import de.greenrobot.dao.DaoException;
 import de.greenrobot.dao.Query;
 import de.greenrobot.dao.QueryBuilder;
+import de.greenrobot.dao.WhereCondition.StringCondition;
 import de.greenrobot.daotest.TestEntity;
 import de.greenrobot.daotest.TestEntityDao.Properties;
 import de.greenrobot.daotest.entity.TestEntityTestBase;
@@ -99,6 +102,106 @@ public class QueryBuilderSimpleTest extends TestEntityTestBase {
         assertEquals(inserted.get(3).getId(), resultEntity2.getId());
     }
 
+    public void testInManyValues() {
+        ArrayList<TestEntity> inserted = insert(10);
+        List<Object> values = new ArrayList<Object>();
+        for (int i = 0; i < 5000; i++) {
+            values.add(getSimpleInteger(i * 3));
+        }
+        assertTrue(values.size() > QueryBuilder.IN_TEMP_TABLE_THRESHOLD);
+
+        QueryBuilder<TestEntity> queryBuilder = dao.queryBuilder().where(Properties.SimpleInteger.in(values),
+                Properties.SimpleString.notEq(getSimpleString(3)));
+        List<TestEntity> result = queryBuilder.orderAsc(Properties.SimpleInteger).list();
+        assertEquals(3, result.size());
+        assertEquals(inserted.get(0).getId(), result.get(0).getId());
+        assertEquals(inserted.get(6).getId(), result.get(1).getId());
+        assertEquals(inserted.get(9).getId(), result.get(2).getId());
+        assertEquals(3, queryBuilder.count());
+
+        // Parameters of other conditions keep working; the IN condition takes a single parameter
+        Query<TestEntity> query = queryBuilder.build();
+        query.setParameter(1, getSimpleString(6));
+        assertEquals(3, query.list().size());
+        try {
+            query.setParameter(0, getSimpleInteger(1));
+            fail("Parameter of IN values must not be set");
+        } catch (DaoException expected) {
+            // OK
+        }
+    }
+
+    public void testInManyValuesDeletedAfterExecution() {
+        insert(10);
+        List<Object> values = new ArrayList<Object>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(getSimpleInteger(i));
+        }
+        QueryBuilder<TestEntity> queryBuilder = dao.queryBuilder().where(Properties.SimpleInteger.in(values));
+        assertEquals(10, queryBuilder.count());
+        assertEquals(10, queryBuilder.buildCount().count());
+        assertTempValueCount(0);
+
+        assertEquals(10, queryBuilder.list().size());
+        assertEquals(10, queryBuilder.build().listKeys().length);
+        assertTempValueCount(0);
+
+        try {
+            queryBuilder.listLazy();
+            fail("Lazy lists must not support large IN conditions");
+        } catch (DaoException expected) {
+            // OK
+        }
+
+        queryBuilder.buildDelete().executeDeleteWithoutDetachingEntities();
+        assertTempValueCount(0);
+        assertEquals(0, dao.count());
+    }
+
+    public void testInManyValuesInsideTransaction() {
+        insert(10);
+        List<Object> values = new ArrayList<Object>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(getSimpleInteger(i));
+        }
+        db.beginTransaction();
+        try {
+            assertEquals(10, dao.queryBuilder().where(Properties.SimpleInteger.in(values)).list().size());
+            dao.insert(createEntity(getSimpleInteger(10), getSimpleString(10)));
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        assertEquals(11, dao.count());
+        assertTempValueCount(0);
+    }
+
+    private void assertTempValueCount(long expected) {
+        assertEquals(expected, DatabaseUtils.longForQuery(db, "SELECT COUNT(*) FROM temp.GREENDAO_IN_VALUES", null));
+    }
+
+    public void testNotInManyValues() {
+        ArrayList<TestEntity> inserted = insert(10);
+        List<Object> values = new ArrayList<Object>();
+        for (int i = 1; i < 2000; i++) {
+            values.add(getSimpleString(i));
+        }
+        List<TestEntity> result = dao.queryBuilder().where(Properties.SimpleString.notIn(values)).list();
+        assertEquals(1, result.size());
+        assertEquals(inserted.get(0).getId(), result.get(0).getId());
+    }
+
+    public void testInManyValuesCombinedWithOr() {
+        insert(10);
+        List<Object> values = new ArrayList<Object>();
+        for (int i = 0; i < 2000; i++) {
+            values.add(getSimpleInteger(i * 2));
+        }
+        QueryBuilder<TestEntity> queryBuilder = dao.queryBuilder();
+        queryBuilder.whereOr(Properties.SimpleInteger.in(values), Properties.SimpleInteger.eq(getSimpleInteger(1)));
+        assertEquals(6, queryBuilder.list().size());
+    }
+
     public void testEqStringAndInteger() {
         ArrayList<TestEntity> inserted = insert(3);
         String valueStr = getSimpleString(1);
@@ -179,6 +282,29 @@ public class QueryBuilderSimpleTest extends TestEntityTestBase {
         assertEquals(testEntityNotNull.getId(), testEntityNotNull2.getId());
     }
 
+    public void testNumericParameterWithoutColumnAffinity() {
+        ArrayList<TestEntity> inserted = insert(3);
+        int value = getSimpleInteger(1);
+
+        // An expression has no column affinity: a number bound as text would never compare greater than a number
+        StringCondition condition = new StringCondition("T.'SIMPLE_INTEGER'+0>?", value);
+        TestEntity resultEntity = dao.queryBuilder().where(condition).uniqueOrThrow();
+        assertEquals(inserted.get(2).getId(), resultEntity.getId());
+    }
+
+    public void testSetParameterLongAndDouble() {
+        ArrayList<TestEntity> inserted = insert(3);
+
+        Query<TestEntity> query = dao.queryBuilder().where(Properties.SimpleInteger.eq(-1)).build();
+        assertNull(query.unique());
+        query.setParameter(0, (long) getSimpleInteger(1));
+        assertEquals(inserted.get(1).getId(), query.uniqueOrThrow().getId());
+        query.setParameter(0, (double) getSimpleInteger(2));
+        assertEquals(inserted.get(2).getId(), query.uniqueOrThrow().getId());
+        query.setParameter(0, null);
+        assertNull(query.unique());
+    }
+
     public void testBuildTwice() {
         insert(3);
         String value = getSimpleString(1);
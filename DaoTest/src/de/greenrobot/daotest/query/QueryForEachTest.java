@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2013 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * This file is part of greenDAO Generator.
+ * 
+ * greenDAO Generator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * greenDAO Generator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with greenDAO Generator.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.greenrobot.daotest.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.greenrobot.dao.EntityVisitor;
+import de.greenrobot.dao.Query;
+import de.greenrobot.daotest.TestEntity;
+import de.greenrobot.daotest.TestEntityDao.Properties;
+import de.greenrobot.daotest.entity.TestEntityTestBase;
+
+public class QueryForEachTest extends TestEntityTestBase {
+
+    public void testForEach() {
+        ArrayList<TestEntity> inserted = insert(5);
+        Query<TestEntity> query = dao.queryBuilder().orderAsc(Properties.SimpleInteger).build();
+        final List<TestEntity> visited = new ArrayList<TestEntity>();
+        query.forEach(new EntityVisitor<TestEntity>() {
+            @Override
+            public boolean visit(TestEntity entity) {
+                visited.add(entity);
+                return true;
+            }
+        });
+        assertEquals(5, visited.size());
+        for (int i = 0; i < 5; i++) {
+            assertIds(inserted.get(i), visited.get(i));
+        }
+    }
+
+    public void testForEachStop() {
+        insert(5);
+        final int[] count = { 0 };
+        dao.queryBuilder().build().forEach(new EntityVisitor<TestEntity>() {
+            @Override
+            public boolean visit(TestEntity entity) {
+                return ++count[0] < 2;
+            }
+        });
+        assertEquals(2, count[0]);
+    }
+
+    public void testForEachReuseEntity() {
+        final ArrayList<TestEntity> inserted = insert(5);
+        Query<TestEntity> query = dao.queryBuilder().orderAsc(Properties.SimpleInteger).build();
+        final TestEntity reusable = new TestEntity();
+        final int[] index = { 0 };
+        query.forEach(new EntityVisitor<TestEntity>() {
+            @Override
+            public boolean visit(TestEntity entity) {
+                assertSame(reusable, entity);
+                TestEntity expected = inserted.get(index[0]++);
+                assertEquals(expected.getId(), entity.getId());
+                assertEquals(expected.getSimpleString(), entity.getSimpleString());
+                assertEquals(expected.getSimpleInteger(), entity.getSimpleInteger());
+                return true;
+            }
+        }, reusable);
+        assertEquals(5, index[0]);
+    }
+
+}
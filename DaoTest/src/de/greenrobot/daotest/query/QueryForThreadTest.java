@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2012 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * This file is part of greenDAO Generator.
+ * 
+ * greenDAO Generator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * greenDAO Generator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with greenDAO Generator.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.greenrobot.daotest.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.greenrobot.dao.DaoException;
+import de.greenrobot.dao.Query;
+import de.greenrobot.dao.QueryBuilder;
+import de.greenrobot.daotest.TestEntity;
+import de.greenrobot.daotest.TestEntityDao.Properties;
+import de.greenrobot.daotest.entity.TestEntityTestBase;
+
+public class QueryForThreadTest extends TestEntityTestBase {
+    private Query<TestEntity> queryFromOtherThread;
+
+    @Override
+    protected void setUp() {
+        super.setUp();
+        QueryBuilder.LOG_SQL = true;
+        QueryBuilder.LOG_VALUES = true;
+    }
+
+    public void testGetForCurrentThread_SameInstance() {
+        Query<TestEntity> query = dao.queryBuilder().build();
+        assertSame(query, query.forCurrentThread());
+    }
+
+    public void testGetForCurrentThread_ParametersAreReset() {
+        insert(5);
+        int value = getSimpleInteger(1);
+        Query<TestEntity> query = dao.queryBuilder().where(Properties.SimpleInteger.eq(value)).build();
+        query.setParameter(0, value + 1);
+        TestEntity entityFor2 = query.unique();
+        query = query.forCurrentThread();
+        TestEntity entityFor1 = query.unique();
+        assertTrue(entityFor1.getSimpleInteger() == value);
+        assertTrue(entityFor2.getSimpleInteger() == value + 1);
+    }
+
+    public void testGetForCurrentThread_ManyThreadsDontLeak() throws Exception {
+        final Query<TestEntity> query = dao.queryBuilder().build();
+        for (int i = 1; i <= 100; i++) {
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    query.forCurrentThread();
+                }
+            };
+            thread.start();
+            thread.join();
+            if (i % 10 == 0) {
+                System.gc();
+            }
+        }
+    }
+
+    public void testQueryFromOtherThread() throws Exception {
+        insert(3);
+        final int value = getSimpleInteger(1);
+        final Query<TestEntity> query = dao.queryBuilder().where(Properties.SimpleInteger.eq(value)).build();
+        final List<Object> results = new ArrayList<Object>();
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    query.list();
+                    results.add("Using a query of another thread must fail");
+                } catch (DaoException expected) {
+                    // OK
+                }
+                Query<TestEntity> queryForThread = query.forCurrentThread();
+                queryFromOtherThread = queryForThread;
+                queryForThread.setParameter(0, value + 1);
+                results.add(queryForThread.unique());
+            }
+        };
+        thread.start();
+        thread.join();
+
+        assertEquals(1, results.size());
+        assertEquals(value + 1, (int) ((TestEntity) results.get(0)).getSimpleInteger());
+        assertNotSame(query, queryFromOtherThread);
+        assertEquals(value, (int) query.unique().getSimpleInteger());
+        try {
+            queryFromOtherThread.list();
+            fail("Using a query of another thread must fail");
+        } catch (DaoException expected) {
+            // OK
+        }
+    }
+
+}
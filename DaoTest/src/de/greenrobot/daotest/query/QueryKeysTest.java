@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2013 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * This file is part of greenDAO Generator.
+ * 
+ * greenDAO Generator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * greenDAO Generator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with greenDAO Generator.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.greenrobot.daotest.query;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+
+import de.greenrobot.dao.CloseableKeyIterator;
+import de.greenrobot.dao.Query;
+import de.greenrobot.dao.QueryBuilder;
+import de.greenrobot.daotest.TestEntity;
+import de.greenrobot.daotest.TestEntityDao.Properties;
+import de.greenrobot.daotest.entity.TestEntityTestBase;
+
+public class QueryKeysTest extends TestEntityTestBase {
+    @Override
+    protected void setUp() {
+        super.setUp();
+        QueryBuilder.LOG_SQL = true;
+        QueryBuilder.LOG_VALUES = true;
+    }
+
+    public void testListKeys() {
+        ArrayList<TestEntity> inserted = insert(5);
+        Query<TestEntity> query = dao.queryBuilder().where(Properties.SimpleInteger.gt(getSimpleInteger(1)))
+                .orderDesc(Properties.SimpleInteger).build();
+        long[] keys = query.listKeys();
+        assertEquals(3, keys.length);
+        assertEquals((long) inserted.get(4).getId(), keys[0]);
+        assertEquals((long) inserted.get(3).getId(), keys[1]);
+        assertEquals((long) inserted.get(2).getId(), keys[2]);
+
+        query.setParameter(0, getSimpleInteger(3));
+        keys = query.listKeys();
+        assertEquals(1, keys.length);
+        assertEquals((long) inserted.get(4).getId(), keys[0]);
+    }
+
+    public void testListKeysLimitOffset() {
+        ArrayList<TestEntity> inserted = insert(5);
+        Query<TestEntity> query = dao.queryBuilder().orderAsc(Properties.SimpleInteger).limit(2).offset(1).build();
+        long[] keys = query.listKeys();
+        assertEquals(2, keys.length);
+        assertEquals((long) inserted.get(1).getId(), keys[0]);
+        assertEquals((long) inserted.get(2).getId(), keys[1]);
+    }
+
+    public void testListKeysAsIterator() {
+        ArrayList<TestEntity> inserted = insert(3);
+        CloseableKeyIterator iterator = dao.queryBuilder().orderAsc(Properties.SimpleInteger).build()
+                .listKeysAsIterator();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(iterator.hasNext());
+            assertEquals((long) inserted.get(i).getId(), iterator.nextKey());
+        }
+        assertFalse(iterator.hasNext());
+        try {
+            iterator.nextKey();
+            fail("Should have thrown");
+        } catch (NoSuchElementException expected) {
+            // OK
+        }
+        iterator.close();
+    }
+
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (C) 2013 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * This file is part of greenDAO Generator.
+ * 
+ * greenDAO Generator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * greenDAO Generator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with greenDAO Generator.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.greenrobot.daotest.query;
+
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import android.app.Application;
+import de.greenrobot.dao.ChangeTracker;
+import de.greenrobot.dao.Query;
+import de.greenrobot.dao.QueryBuilder;
+import de.greenrobot.dao.QueryObservation;
+import de.greenrobot.dao.QueryObserver;
+import de.greenrobot.dao.test.AbstractDaoSessionTest;
+import de.greenrobot.daotest.DaoMaster;
+import de.greenrobot.daotest.DaoSession;
+import de.greenrobot.daotest.RelationEntity;
+import de.greenrobot.daotest.RelationEntityDao;
+import de.greenrobot.daotest.SimpleEntity;
+import de.greenrobot.daotest.TestEntity;
+import de.greenrobot.daotest.TestEntityDao;
+import de.greenrobot.daotest.TestEntityDao.Properties;
+
+public class QueryObserveTest extends AbstractDaoSessionTest<Application, DaoMaster, DaoSession> {
+
+    private TestEntityDao dao;
+    private ChangeTracker changeTracker;
+    private QueryObservation<?> observation;
+
+    public QueryObserveTest() {
+        super(DaoMaster.class);
+    }
+
+    @Override
+    protected void setUp() {
+        super.setUp();
+        QueryBuilder.LOG_SQL = true;
+        QueryBuilder.LOG_VALUES = true;
+        dao = daoSession.getTestEntityDao();
+        changeTracker = daoSession.getChangeTracker();
+        changeTracker.setDebounceMillis(10);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        if (observation != null) {
+            observation.cancel();
+        }
+        super.tearDown();
+    }
+
+    public void testObserve() throws InterruptedException {
+        ResultQueue<TestEntity> results = new ResultQueue<TestEntity>();
+        observation = dao.queryBuilder().where(Properties.SimpleInteger.gt(10)).build().observe(results);
+        assertEquals(0, results.next().size());
+
+        dao.insert(createEntity(42));
+        assertEquals(1, results.next().size());
+        dao.insert(createEntity(1));
+        assertEquals(1, results.next().size());
+        results.assertNone();
+        assertSame(dao.getChangeTracker(), changeTracker);
+        assertEquals(1, changeTracker.getObservationCount());
+    }
+
+    public void testObserveTransactionCoalesced() throws InterruptedException {
+        ResultQueue<TestEntity> results = new ResultQueue<TestEntity>();
+        observation = dao.queryBuilder().build().observe(results);
+        assertEquals(0, results.next().size());
+
+        daoSession.runInTx(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 100; i++) {
+                    dao.insert(createEntity(i));
+                }
+                try {
+                    // Longer than the debounce time
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                dao.deleteByKey(1L);
+            }
+        });
+        assertEquals(99, results.next().size());
+        results.assertNone();
+    }
+
+    public void testObserveCallerTransaction() throws InterruptedException {
+        ResultQueue<TestEntity> results = new ResultQueue<TestEntity>();
+        observation = dao.queryBuilder().build().observe(results);
+        assertEquals(0, results.next().size());
+
+        long version = changeTracker.getVersion(TestEntityDao.TABLENAME);
+        db.beginTransaction();
+        try {
+            dao.insert(createEntity(1));
+            dao.insertInTx(createEntity(2), createEntity(3));
+            dao.queryBuilder().where(Properties.SimpleInteger.eq(2)).buildDelete().executeDelete();
+            changeTracker.onTransactionEnded(db);
+            // Not committed yet
+            assertEquals(version, changeTracker.getVersion(TestEntityDao.TABLENAME));
+            results.assertNone();
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        changeTracker.onTransactionEnded(db);
+        assertEquals(version + 1, changeTracker.getVersion(TestEntityDao.TABLENAME));
+        assertEquals(2, results.next().size());
+        results.assertNone();
+    }
+
+    public void testObserveOtherTableChanged() throws InterruptedException {
+        ResultQueue<TestEntity> results = new ResultQueue<TestEntity>();
+        observation = dao.queryBuilder().build().observe(results);
+        results.next();
+
+        long version = changeTracker.getVersion(TestEntityDao.TABLENAME);
+        daoSession.insert(new SimpleEntity());
+        results.assertNone();
+        assertEquals(version, changeTracker.getVersion(TestEntityDao.TABLENAME));
+    }
+
+    public void testObserveJoinedTable() throws InterruptedException {
+        TestEntity testEntity = createEntity(1);
+        testEntity.setSimpleString("green");
+        dao.insert(testEntity);
+        RelationEntity relationEntity = new RelationEntity();
+        relationEntity.setTestEntity(testEntity);
+        daoSession.insert(relationEntity);
+
+        QueryBuilder<RelationEntity> builder = daoSession.getRelationEntityDao().queryBuilder();
+        builder.join(TestEntity.class, RelationEntityDao.Properties.TestId).where(
+                Properties.SimpleString.eq("green"));
+        ResultQueue<RelationEntity> results = new ResultQueue<RelationEntity>();
+        observation = builder.build().observe(results);
+        assertEquals(1, results.next().size());
+
+        testEntity.setSimpleString("blue");
+        dao.update(testEntity);
+        assertEquals(0, results.next().size());
+    }
+
+    public void testObserveDeep() throws InterruptedException {
+        TestEntity testEntity = createEntity(1);
+        testEntity.setSimpleString("green");
+        dao.insert(testEntity);
+        RelationEntity relationEntity = new RelationEntity();
+        relationEntity.setTestEntity(testEntity);
+        daoSession.insert(relationEntity);
+
+        ResultQueue<RelationEntity> results = new ResultQueue<RelationEntity>();
+        observation = daoSession.getRelationEntityDao().queryBuilder().deep().build().observe(results);
+        assertEquals("green", results.next().get(0).getTestEntity().getSimpleString());
+
+        testEntity.setSimpleString("blue");
+        dao.update(testEntity);
+        assertEquals("blue", results.next().get(0).getTestEntity().getSimpleString());
+    }
+
+    public void testObserveBulkQueries() throws InterruptedException {
+        dao.insertInTx(createEntity(1), createEntity(2), createEntity(3));
+        ResultQueue<TestEntity> results = new ResultQueue<TestEntity>();
+        observation = dao.queryBuilder().where(Properties.SimpleString.isNull()).build().observe(results);
+        assertEquals(3, results.next().size());
+
+        dao.queryBuilder().where(Properties.SimpleInteger.eq(1)).buildUpdate().set(Properties.SimpleString, "x")
+                .executeUpdate();
+        assertEquals(2, results.next().size());
+
+        dao.queryBuilder().where(Properties.SimpleInteger.eq(2)).buildDelete().executeDelete();
+        assertEquals(1, results.next().size());
+
+        dao.deleteAll();
+        assertEquals(0, results.next().size());
+    }
+
+    public void testObserveKeepsParameters() throws InterruptedException {
+        dao.insertInTx(createEntity(1), createEntity(2));
+        Query<TestEntity> query = dao.queryBuilder().where(Properties.SimpleInteger.eq(0)).build();
+        query.setParameter(0, 1);
+        ResultQueue<TestEntity> results = new ResultQueue<TestEntity>();
+        observation = query.observe(results);
+        query.setParameter(0, 2);
+        List<TestEntity> result = results.next();
+        assertEquals(1, result.size());
+        assertEquals(1, (int) result.get(0).getSimpleInteger());
+
+        dao.insert(createEntity(3));
+        assertEquals(1, (int) results.next().get(0).getSimpleInteger());
+    }
+
+    public void testCancel() throws InterruptedException {
+        ResultQueue<TestEntity> results = new ResultQueue<TestEntity>();
+        observation = dao.queryBuilder().build().observe(results);
+        results.next();
+        observation.cancel();
+        assertTrue(observation.isCanceled());
+        assertEquals(0, changeTracker.getObservationCount());
+
+        dao.insert(createEntity(1));
+        results.assertNone();
+    }
+
+    public void testVersion() {
+        long version = changeTracker.getVersion(TestEntityDao.TABLENAME);
+        TestEntity entity = createEntity(1);
+        dao.insert(entity);
+        assertEquals(version + 1, changeTracker.getVersion(TestEntityDao.TABLENAME));
+        dao.insertInTx(createEntity(2), createEntity(3));
+        assertEquals(version + 2, changeTracker.getVersion(TestEntityDao.TABLENAME));
+        dao.delete(entity);
+        assertEquals(version + 3, changeTracker.getVersion(TestEntityDao.TABLENAME));
+        assertEquals(0, changeTracker.getVersion("NO_SUCH_TABLE"));
+    }
+
+    private TestEntity createEntity(int simpleInteger) {
+        TestEntity entity = new TestEntity();
+        entity.setSimpleStringNotNull("green");
+        entity.setSimpleInteger(simpleInteger);
+        return entity;
+    }
+
+    private static class ResultQueue<T> implements QueryObserver<T> {
+        private final LinkedBlockingQueue<List<T>> results = new LinkedBlockingQueue<List<T>>();
+
+        @Override
+        public void onQueryResult(List<T> result) {
+            results.add(result);
+        }
+
+        List<T> next() throws InterruptedException {
+            List<T> result = results.poll(5, TimeUnit.SECONDS);
+            assertNotNull("No result", result);
+            return result;
+        }
+
+        void assertNone() throws InterruptedException {
+            assertNull(results.poll(200, TimeUnit.MILLISECONDS));
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2013 Markus Junginger, greenrobot (http://greenrobot.de)
+ *
+ * This file is part of greenDAO Generator.
+ * 
+ * greenDAO Generator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * greenDAO Generator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with greenDAO Generator.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.greenrobot.daotest.query;
+
+import java.util.ArrayList;
+
+import de.greenrobot.dao.DaoException;
+import de.greenrobot.dao.IdentityScopeLong;
+import de.greenrobot.dao.QueryBuilder;
+import de.greenrobot.dao.UpdateQuery;
+import de.greenrobot.daotest.TestEntity;
+import de.greenrobot.daotest.TestEntityDao.Properties;
+import de.greenrobot.daotest.entity.TestEntityTestBase;
+
+public class UpdateQueryTest extends TestEntityTestBase {
+    @Override
+    protected void setUp() {
+        setIdentityScopeBeforeSetUp(new IdentityScopeLong<TestEntity>());
+        super.setUp();
+        QueryBuilder.LOG_SQL = true;
+        QueryBuilder.LOG_VALUES = true;
+    }
+
+    public void testUpdate() {
+        ArrayList<TestEntity> inserted = insert(5);
+        UpdateQuery<TestEntity> query = dao.queryBuilder().where(Properties.SimpleInteger.gt(getSimpleInteger(2)))
+                .buildUpdate();
+        query.set(Properties.SimpleString, "updated").set(Properties.SimpleBoolean, true).executeUpdate();
+
+        assertEquals(2, dao.queryBuilder().where(Properties.SimpleString.eq("updated")).count());
+        assertEquals(2, dao.queryBuilder().where(Properties.SimpleBoolean.eq(true)).count());
+        TestEntity updated = dao.load(inserted.get(4).getId());
+        assertNotSame(inserted.get(4), updated);
+        assertEquals("updated", updated.getSimpleString());
+        assertSame(inserted.get(1), dao.load(inserted.get(1).getId()));
+    }
+
+    public void testUpdateChangesConditionColumn() {
+        ArrayList<TestEntity> inserted = insert(3);
+        dao.queryBuilder().where(Properties.SimpleInteger.eq(getSimpleInteger(0))).buildUpdate()
+                .set(Properties.SimpleInteger, 42).executeUpdate();
+        TestEntity updated = dao.load(inserted.get(0).getId());
+        assertNotSame(inserted.get(0), updated);
+        assertEquals(42, (int) updated.getSimpleInteger());
+    }
+
+    public void testUpdateChangeParameterAndValue() {
+        insert(5);
+        UpdateQuery<TestEntity> query = dao.queryBuilder().where(Properties.SimpleInteger.eq(0)).buildUpdate();
+        query.set(Properties.SimpleString, "first");
+        query.setParameter(0, getSimpleInteger(1));
+        query.executeUpdate();
+        query.set(Properties.SimpleString, "second");
+        query.setParameter(0, getSimpleInteger(2));
+        query.executeUpdate();
+        query.set(Properties.SimpleString, null);
+        query.setParameter(0, getSimpleInteger(3));
+        query.executeUpdate();
+
+        assertEquals(1, dao.queryBuilder().where(Properties.SimpleString.eq("first")).count());
+        assertEquals(1, dao.queryBuilder().where(Properties.SimpleString.eq("second")).count());
+        assertEquals(1, dao.queryBuilder().where(Properties.SimpleString.isNull()).count());
+    }
+
+    public void testUpdateChecksValueForType() {
+        UpdateQuery<TestEntity> query = dao.queryBuilder().buildUpdate();
+        try {
+            query.set(Properties.SimpleBoolean, 2);
+            fail("Should have thrown");
+        } catch (DaoException expected) {
+            // OK
+        }
+        try {
+            query.set(Properties.SimpleDate, "2026-10-18");
+            fail("Should have thrown");
+        } catch (DaoException expected) {
+            // OK
+        }
+    }
+
+    public void testUpdateWithoutValues() {
+        try {
+            dao.queryBuilder().buildUpdate().executeUpdate();
+            fail("Should have thrown");
+        } catch (DaoException expected) {
+            // OK
+        }
+    }
+
+}